@@ -0,0 +1,31 @@
+package me.friedhof.hyperbuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of the benchmark jar.
+ *
+ * Runs JMH with the given command line and adds the GC profiler unless a profiler was
+ * chosen, so every run reports {@code gc.alloc.rate.norm}, the bytes allocated per
+ * operation, next to the time.
+ *
+ * Usage: {@code java -jar target/benchmarks.jar [JMH options] [benchmark regex]}
+ */
+public class BenchmarkMain {
+    /**
+     * Command line entry point.
+     *
+     * @param args JMH command line options
+     * @throws Exception If JMH fails to run
+     */
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-prof") && !options.contains("-lprof") && !options.contains("-h")) {
+            options.add(0, "-prof");
+            options.add(1, "gc");
+        }
+        org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+    }
+}
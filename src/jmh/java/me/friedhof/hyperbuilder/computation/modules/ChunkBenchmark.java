@@ -0,0 +1,79 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import me.friedhof.hyperbuilder.save.ChunkSaveData;
+import me.friedhof.hyperbuilder.save.SaveFormat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of creating, generating and saving single chunks.
+ *
+ * {@link #generateChunk()} generates the surface chunks around the origin of a world
+ * with a fixed seed in turn, terrain, caves, ores, trees and vegetation included.
+ * Generated chunks are never installed, so the world stays the same throughout.
+ * {@link #saveRoundTrip()} encodes a generated surface chunk the way the save manager
+ * writes it, compressed and checksummed, and decodes it back into a chunk.
+ *
+ * Usage: {@code java -jar target/benchmarks.jar ChunkBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkBenchmark {
+    // Generated chunks, a power of two; chunk Y -1 and 0 hold the surface
+    private static final int GENERATED_CHUNKS = 16;
+
+    private World world;
+    private Vector4DInt[] generated;
+    private ChunkSaveData saved;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ItemRegistry.registerDefaultItems();
+        generated = new Vector4DInt[GENERATED_CHUNKS];
+        for (int i = 0; i < GENERATED_CHUNKS; i++) {
+            generated[i] = new Vector4DInt(i & 1, -((i >> 1) & 1), (i >> 2) & 1, (i >> 3) & 1);
+        }
+        world = new World("chunk-benchmark", WorldAccessBenchmark.WORLD_SEED);
+        saved = new ChunkSaveData(world.getChunk(new Vector4DInt(0, 0, 0, 0)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        world.getChunkPrefetcher().shutdown();
+    }
+
+    @Benchmark
+    public Chunk4D construct() {
+        return new Chunk4D(generated[next++ & (GENERATED_CHUNKS - 1)]);
+    }
+
+    @Benchmark
+    public Chunk4D generateChunk() {
+        return world.generateChunk(generated[next++ & (GENERATED_CHUNKS - 1)]);
+    }
+
+    @Benchmark
+    public Chunk4D saveRoundTrip() throws IOException, ClassNotFoundException {
+        byte[] data = SaveFormat.encode(SaveFormat.PayloadType.CHUNK, saved, true);
+        return SaveFormat.decode(data, SaveFormat.PayloadType.CHUNK, ChunkSaveData.class).toChunk();
+    }
+}
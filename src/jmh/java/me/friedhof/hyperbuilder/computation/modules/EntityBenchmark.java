@@ -0,0 +1,111 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time for the entity update to run many dropped items for a fixed number of ticks,
+ * with the compute phase on one thread or on all cores.
+ *
+ * The world has a dirt floor with {@link #items} dropped items scattered above it with
+ * seeded velocities. The benchmark runs {@value #TICKS} entity updates while the items
+ * fall onto the floor, come to rest and go to sleep; the item positions and velocities
+ * of every run are checked against the single-threaded one, see {@link SimulationFixture}.
+ *
+ * Usage: {@code java -jar target/benchmarks.jar EntityBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EntityBenchmark extends SimulationFixture {
+    // Floor size in chunks along X, Z and W
+    private static final int FLOOR_CHUNKS = 3;
+
+    // Entity updates per invocation
+    private static final int TICKS = 300;
+
+    @Param({"10000"})
+    private int items;
+
+    private World world;
+    private List<DroppedItem> dropped;
+
+    @Benchmark
+    public int simulate() {
+        for (int tick = 0; tick < TICKS; tick++) {
+            world.updateEntities(TickScheduler.TICK_SECONDS);
+        }
+        return world.getSleepingEntityCount();
+    }
+
+    @Override
+    protected int run() {
+        return simulate();
+    }
+
+    @Override
+    protected void prepare(ForkJoinPool scenarioPool) {
+        world = new World("entity-benchmark", WorldAccessBenchmark.WORLD_SEED);
+        world.setEntityPool(scenarioPool);
+        int size = FLOOR_CHUNKS * Chunk4D.CHUNK_SIZE;
+        buildFloor(world, 0, size, Material.DIRT);
+
+        // Same items with the same velocities in every run
+        Random random = new Random(WorldAccessBenchmark.POSITION_SEED);
+        dropped = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Vector4D position = new Vector4D(
+                1 + random.nextDouble() * (size - 2),
+                FLOOR_Y + 1.5 + random.nextDouble() * 4,
+                1 + random.nextDouble() * (size - 2),
+                1 + random.nextDouble() * (size - 2));
+            DroppedItem item = new DroppedItem(world.getNextEntityId(), position, ItemRegistry.createItem(Material.DIRT, 1));
+            item.setVelocity(new Vector4D(
+                (random.nextDouble() - 0.5) * 0.1, 0.1, (random.nextDouble() - 0.5) * 0.1, (random.nextDouble() - 0.5) * 0.1));
+            world.addEntity(item);
+            dropped.add(item);
+        }
+    }
+
+    /**
+     * Computes a checksum over the positions and velocities of the items in spawn order.
+     */
+    @Override
+    protected long checksum() {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(8 * Double.BYTES);
+        for (DroppedItem item : dropped) {
+            Vector4D position = item.getPosition();
+            Vector4D velocity = item.getVelocity();
+            buffer.clear();
+            buffer.putDouble(position.getX()).putDouble(position.getY()).putDouble(position.getZ()).putDouble(position.getW());
+            buffer.putDouble(velocity.getX()).putDouble(velocity.getY()).putDouble(velocity.getZ()).putDouble(velocity.getW());
+            crc.update(buffer.array());
+        }
+        return crc.getValue();
+    }
+
+    @Override
+    protected World getWorld() {
+        return world;
+    }
+}
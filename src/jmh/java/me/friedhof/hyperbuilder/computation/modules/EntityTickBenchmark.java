@@ -0,0 +1,113 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Steady-state cost of one entity update tick.
+ *
+ * A player stands on the benchmark dirt floor (see {@link SimulationFixture}), next
+ * to a cloud of dropped items that float without gravity. Floating items never come to rest, so the world
+ * keeps updating every one of them without them ever moving to another grid cell.
+ * A second set of items lies on the floor; the world would put them to sleep, so
+ * {@link #restingItems()} updates them directly to measure the gravity and collision
+ * path of an item on the ground. Run with {@code -prof gc}: {@code gc.alloc.rate.norm}
+ * is the number of bytes allocated per tick and should be close to zero.
+ *
+ * Usage: {@code java -jar target/benchmarks.jar EntityTickBenchmark -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityTickBenchmark {
+    // Floor size in blocks along X, Z and W
+    private static final int FLOOR_SIZE = 2 * Chunk4D.CHUNK_SIZE;
+
+    @Param({"1000", "10000"})
+    private int itemCount;
+
+    private World world;
+    private DroppedItem[] resting;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ItemRegistry.registerDefaultItems();
+        world = new World("entity-tick-benchmark", 1L);
+        // Serial compute phase, the fork/join tasks of the parallel one allocate
+        world.setEntityPool(null);
+        SimulationFixture.buildFloor(world, 0, FLOOR_SIZE, Material.DIRT);
+
+        Random random = new Random(42);
+        for (int i = 0; i < itemCount; i++) {
+            Vector4D position = new Vector4D(
+                1 + random.nextDouble() * (FLOOR_SIZE - 2),
+                SimulationFixture.FLOOR_Y + 1.5 + random.nextDouble() * 4,
+                1 + random.nextDouble() * (FLOOR_SIZE - 2),
+                1 + random.nextDouble() * (FLOOR_SIZE - 2));
+            DroppedItem item = new DroppedItem(world.getNextEntityId(), position, ItemRegistry.createItem(Material.DIRT, 1));
+            item.setGravity(false);
+            item.setVelocity(0, 0, 0, 0);
+            world.addEntity(item);
+        }
+
+        resting = new DroppedItem[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            Vector4D position = new Vector4D(
+                1 + random.nextDouble() * (FLOOR_SIZE - 2),
+                SimulationFixture.FLOOR_Y + 1.2,
+                1 + random.nextDouble() * (FLOOR_SIZE - 2),
+                1 + random.nextDouble() * (FLOOR_SIZE - 2));
+            resting[i] = new DroppedItem(world.getNextEntityId(), position, ItemRegistry.createItem(Material.DIRT, 1));
+            resting[i].setVelocity(0, 0, 0, 0);
+            world.addEntity(resting[i]);
+        }
+
+        // Out of pickup range of every item, standing on the floor
+        world.setBlock(new Vector4DInt(FLOOR_SIZE + 4, SimulationFixture.FLOOR_Y, 0, 0), ItemRegistry.createBlock(Material.DIRT));
+        world.createPlayer("benchmark", new Vector4D(FLOOR_SIZE + 4.5, SimulationFixture.FLOOR_Y + 1.5, 0.5, 0.5));
+
+        // Let the player land, the resting items fall asleep and every cell and list
+        // reach its final size
+        for (int tick = 0; tick < 100; tick++) {
+            world.updateEntities(TickScheduler.TICK_SECONDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        world.getChunkPrefetcher().shutdown();
+    }
+
+    @Benchmark
+    public int tick() {
+        world.updateEntities(TickScheduler.TICK_SECONDS);
+        return world.getSleepingEntityCount();
+    }
+
+    @Benchmark
+    public double restingItems() {
+        double sum = 0;
+        for (DroppedItem item : resting) {
+            item.update(TickScheduler.TICK_SECONDS, world);
+            sum += item.getY();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,97 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time for a large flood to settle, with the fluid engine on one thread or on all cores.
+ *
+ * The world has a stone floor spanning {@link #chunksPerAxis} chunks along X, Z and W,
+ * and a grid of water sources on it. The benchmark runs fluid passes until nothing
+ * changes anymore; the fluid levels of every run are checked against the
+ * single-threaded one, see {@link SimulationFixture}.
+ *
+ * Usage: {@code java -jar target/benchmarks.jar FluidBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FluidBenchmark extends SimulationFixture {
+    // Distance between sources; 8 fills the whole floor with every cell fed
+    private static final int SOURCE_SPACING = 8;
+
+    @Param({"4"})
+    private int chunksPerAxis;
+
+    private World world;
+    private FluidEngine engine;
+
+    @Benchmark
+    public int settle() {
+        return settle(engine);
+    }
+
+    @Override
+    protected int run() {
+        return settle();
+    }
+
+    @Override
+    protected void prepare(ForkJoinPool scenarioPool) {
+        world = new World("fluid-benchmark", WorldAccessBenchmark.WORLD_SEED);
+        engine = new FluidEngine(world, scenarioPool);
+        int size = chunksPerAxis * Chunk4D.CHUNK_SIZE;
+        buildFloor(world, 0, size, Material.STONE);
+
+        for (int x = SOURCE_SPACING / 2; x < size; x += SOURCE_SPACING) {
+            for (int z = SOURCE_SPACING / 2; z < size; z += SOURCE_SPACING) {
+                for (int w = SOURCE_SPACING / 2; w < size; w += SOURCE_SPACING) {
+                    Vector4DInt position = new Vector4DInt(x, FLOOR_Y + 1, z, w);
+                    world.setBlock(position, ItemRegistry.createBlock(Material.WATER));
+                    engine.onBlockChanged(position);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes a checksum over the fluid levels of all loaded chunks in position order.
+     */
+    @Override
+    protected long checksum() {
+        List<Map.Entry<Vector4DInt, Chunk4D>> entries = new ArrayList<>(world.getLoadedChunks().entrySet());
+        entries.sort(Comparator.comparingInt((Map.Entry<Vector4DInt, Chunk4D> entry) -> entry.getKey().getX())
+            .thenComparingInt(entry -> entry.getKey().getY())
+            .thenComparingInt(entry -> entry.getKey().getZ())
+            .thenComparingInt(entry -> entry.getKey().getW()));
+        CRC32C crc = new CRC32C();
+        for (Map.Entry<Vector4DInt, Chunk4D> entry : entries) {
+            crc.update(entry.getValue().getFluidLevels());
+        }
+        return crc.getValue();
+    }
+
+    @Override
+    protected World getWorld() {
+        return world;
+    }
+}
@@ -0,0 +1,84 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.util.concurrent.TimeUnit;
+
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.Block;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time for water to settle in a canned pool.
+ *
+ * Every invocation gets a fresh world with a stone basin on the benchmark floor (see
+ * {@link SimulationFixture}), one chunk wide along X, Z and W and walled on every side, and a few water sources in it.
+ * The benchmark runs fluid passes on the calling thread until nothing changes anymore,
+ * which covers the flow levels spreading from the sources and the basin filling up.
+ *
+ * Usage: {@code java -jar target/benchmarks.jar FluidPoolBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 20)
+@Fork(1)
+public class FluidPoolBenchmark {
+    // Inner size of the basin along X, Z and W
+    private static final int POOL_SIZE = Chunk4D.CHUNK_SIZE;
+
+    private World world;
+    private FluidEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUpRegistry() {
+        ItemRegistry.registerDefaultItems();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        world = new World("fluid-pool-benchmark", WorldAccessBenchmark.WORLD_SEED);
+        engine = new FluidEngine(world, null);
+        SimulationFixture.buildFloor(world, -1, POOL_SIZE + 1, Material.STONE);
+        Block stone = ItemRegistry.createBlock(Material.STONE);
+        for (int x = -1; x <= POOL_SIZE; x++) {
+            for (int z = -1; z <= POOL_SIZE; z++) {
+                for (int w = -1; w <= POOL_SIZE; w++) {
+                    boolean wall = x < 0 || x == POOL_SIZE || z < 0 || z == POOL_SIZE || w < 0 || w == POOL_SIZE;
+                    if (wall) {
+                        world.setBlock(new Vector4DInt(x, SimulationFixture.FLOOR_Y + 1, z, w), stone);
+                    }
+                }
+            }
+        }
+
+        int[] sources = {2, POOL_SIZE / 2, POOL_SIZE - 3};
+        for (int x : sources) {
+            for (int w : sources) {
+                Vector4DInt position = new Vector4DInt(x, SimulationFixture.FLOOR_Y + 1, POOL_SIZE / 2, w);
+                world.setBlock(position, ItemRegistry.createBlock(Material.WATER));
+                engine.onBlockChanged(position);
+            }
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        world.getChunkPrefetcher().shutdown();
+    }
+
+    @Benchmark
+    public int settle() {
+        return SimulationFixture.settle(engine);
+    }
+}
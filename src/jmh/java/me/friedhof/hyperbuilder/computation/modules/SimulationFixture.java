@@ -0,0 +1,137 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.util.concurrent.ForkJoinPool;
+
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.Block;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Shared setup of the simulation benchmarks.
+ *
+ * Subclasses describe a scenario that runs on one thread or, with {@code parallel},
+ * on all cores. Every invocation gets a fresh scenario through {@link #prepare}.
+ * Before the first invocation the scenario is run once on the calling thread, and
+ * every measured run must end with the same {@link #checksum()}, which confirms the
+ * parallel code is deterministic; a run that differs fails the benchmark.
+ *
+ * The static helpers build the floor the scenarios play on and settle fluids, for
+ * benchmarks that do not compare against a single-threaded run as well.
+ */
+@State(Scope.Thread)
+public abstract class SimulationFixture {
+    // Height of the floor, well above generated terrain
+    static final int FLOOR_Y = 96;
+
+    // Safety limit for fluid runs that never settle
+    private static final int MAX_FLUID_PASSES = 10_000;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private ForkJoinPool pool;
+    private long serialChecksum;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        ItemRegistry.registerDefaultItems();
+        pool = parallel ? new ForkJoinPool(Runtime.getRuntime().availableProcessors()) : null;
+
+        // Reference result every measured run is compared with
+        prepare(null);
+        run();
+        serialChecksum = checksum();
+        getWorld().getChunkPrefetcher().shutdown();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        prepare(pool);
+    }
+
+    @TearDown(Level.Invocation)
+    public void verifyInvocation() {
+        getWorld().getChunkPrefetcher().shutdown();
+        long checksum = checksum();
+        if (checksum != serialChecksum) {
+            throw new IllegalStateException(String.format(
+                "%s differs from the single-threaded run: checksum %08x, expected %08x",
+                getClass().getSimpleName(), checksum, serialChecksum));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Creates a fresh world with the scenario.
+     *
+     * @param scenarioPool The pool the simulation uses, or null to run it on the calling thread
+     */
+    protected abstract void prepare(ForkJoinPool scenarioPool);
+
+    /**
+     * Runs the scenario; the benchmark method of the subclass.
+     *
+     * @return A value derived from the run, so it is not optimized away
+     */
+    protected abstract int run();
+
+    /**
+     * Computes a checksum over the state the scenario ended in.
+     *
+     * @return The checksum
+     */
+    protected abstract long checksum();
+
+    /**
+     * Gets the world of the current scenario.
+     *
+     * @return The world created by the last {@link #prepare} call
+     */
+    protected abstract World getWorld();
+
+    /**
+     * Fills the square from {@code from} (inclusive) to {@code to} (exclusive) along X, Z
+     * and W at {@link #FLOOR_Y} with a block.
+     *
+     * @param world The world to build in
+     * @param from The lowest X, Z and W coordinate of the floor
+     * @param to The coordinate past the highest X, Z and W coordinate of the floor
+     * @param material The material of the floor
+     */
+    static void buildFloor(World world, int from, int to, Material material) {
+        Block block = ItemRegistry.createBlock(material);
+        for (int x = from; x < to; x++) {
+            for (int z = from; z < to; z++) {
+                for (int w = from; w < to; w++) {
+                    world.setBlock(new Vector4DInt(x, FLOOR_Y, z, w), block);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs fluid passes until nothing changes anymore.
+     *
+     * @param engine The engine to run
+     * @return The number of passes
+     */
+    static int settle(FluidEngine engine) {
+        int passes = 0;
+        do {
+            engine.runPass();
+            passes++;
+        } while (engine.getLastChangedCount() > 0 && passes < MAX_FLUID_PASSES);
+        return passes;
+    }
+}
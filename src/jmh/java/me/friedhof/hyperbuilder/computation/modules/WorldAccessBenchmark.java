@@ -0,0 +1,181 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.Block;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of reading and writing single blocks through the world.
+ *
+ * The world is generated from a fixed seed around the origin, and the accessed
+ * positions come from a fixed random sequence:
+ * <ul>
+ *   <li>{@link #getBlockHit()} reads positions inside one loaded chunk,</li>
+ *   <li>{@link #getBlockCrossChunk()} reads positions whose chunk changes on every
+ *       read, across all loaded chunks,</li>
+ *   <li>{@link #getBlockMiss(MissState)} reads a block of a chunk that was unloaded
+ *       before, so the read generates the chunk,</li>
+ *   <li>{@link #setBlock()} toggles blocks between dirt and air, including the entity
+ *       wake-ups and fluid checks the changes cause in the next tick.</li>
+ * </ul>
+ *
+ * Usage: {@code java -jar target/benchmarks.jar WorldAccessBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldAccessBenchmark {
+    static final long WORLD_SEED = 1L;
+    static final long POSITION_SEED = 42L;
+
+    // Loaded chunks per axis, centered on the origin
+    private static final int CHUNKS_PER_AXIS = 2;
+
+    // Number of positions each benchmark cycles through, a power of two
+    private static final int POSITIONS = 1024;
+
+    // Blocks set per invocation of setBlock, before the world drains their wake-ups
+    private static final int SETS_PER_INVOCATION = 256;
+
+    private World world;
+    private Vector4DInt[] sameChunk;
+    private Vector4DInt[] crossChunk;
+    private Vector4DInt[] toggled;
+    private Block dirt;
+    private Block air;
+    private int next;
+    private boolean toggle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ItemRegistry.registerDefaultItems();
+        world = new World("world-access-benchmark", WORLD_SEED);
+        int from = -CHUNKS_PER_AXIS / 2;
+        for (int x = from; x < from + CHUNKS_PER_AXIS; x++) {
+            for (int y = from; y < from + CHUNKS_PER_AXIS; y++) {
+                for (int z = from; z < from + CHUNKS_PER_AXIS; z++) {
+                    for (int w = from; w < from + CHUNKS_PER_AXIS; w++) {
+                        world.getChunk(new Vector4DInt(x, y, z, w));
+                    }
+                }
+            }
+        }
+
+        Random random = new Random(POSITION_SEED);
+        int size = CHUNKS_PER_AXIS * Chunk4D.CHUNK_SIZE;
+        int origin = from * Chunk4D.CHUNK_SIZE;
+        sameChunk = new Vector4DInt[POSITIONS];
+        crossChunk = new Vector4DInt[POSITIONS];
+        toggled = new Vector4DInt[SETS_PER_INVOCATION];
+        for (int i = 0; i < POSITIONS; i++) {
+            sameChunk[i] = new Vector4DInt(random.nextInt(Chunk4D.CHUNK_SIZE), random.nextInt(Chunk4D.CHUNK_SIZE),
+                                           random.nextInt(Chunk4D.CHUNK_SIZE), random.nextInt(Chunk4D.CHUNK_SIZE));
+        }
+        Vector4DInt previous = null;
+        for (int i = 0; i < POSITIONS; i++) {
+            Vector4DInt position;
+            do {
+                position = new Vector4DInt(origin + random.nextInt(size), origin + random.nextInt(size),
+                                           origin + random.nextInt(size), origin + random.nextInt(size));
+            } while (previous != null && chunkOf(position).equals(chunkOf(previous)));
+            crossChunk[i] = position;
+            previous = position;
+        }
+        for (int i = 0; i < SETS_PER_INVOCATION; i++) {
+            toggled[i] = new Vector4DInt(origin + random.nextInt(size), origin + random.nextInt(size),
+                                         origin + random.nextInt(size), origin + random.nextInt(size));
+        }
+        dirt = ItemRegistry.createBlock(Material.DIRT);
+        air = ItemRegistry.createBlock(Material.AIR);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        world.getChunkPrefetcher().shutdown();
+    }
+
+    @Benchmark
+    public Block getBlockHit() {
+        return world.getBlock(sameChunk[next++ & (POSITIONS - 1)]);
+    }
+
+    @Benchmark
+    public Block getBlockCrossChunk() {
+        return world.getBlock(crossChunk[next++ & (POSITIONS - 1)]);
+    }
+
+    @Benchmark
+    public Block getBlockMiss(MissState state) {
+        return state.world.getBlock(state.position);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SETS_PER_INVOCATION)
+    public int setBlock() {
+        Block block = toggle ? air : dirt;
+        toggle = !toggle;
+        int changed = 0;
+        for (Vector4DInt position : toggled) {
+            if (world.setBlock(position, block)) {
+                changed++;
+            }
+        }
+        // Every change queues a wake-up region and fluid cells; without a tick they pile up
+        world.updateEntities(TickScheduler.TICK_SECONDS);
+        world.getFluidEngine().runPass();
+        return changed;
+    }
+
+    private static Vector4DInt chunkOf(Vector4DInt position) {
+        return new Vector4DInt(Math.floorDiv(position.getX(), Chunk4D.CHUNK_SIZE),
+                               Math.floorDiv(position.getY(), Chunk4D.CHUNK_SIZE),
+                               Math.floorDiv(position.getZ(), Chunk4D.CHUNK_SIZE),
+                               Math.floorDiv(position.getW(), Chunk4D.CHUNK_SIZE));
+    }
+
+    /**
+     * A world whose chunk at the origin is unloaded before every read. A fresh world per
+     * iteration keeps the leaves that every install of the chunk queues for its unloaded
+     * neighbours from piling up.
+     */
+    @State(Scope.Thread)
+    public static class MissState {
+        private World world;
+        private final Vector4DInt position = new Vector4DInt(3, 5, 7, 1);
+        private final Vector4DInt chunkPosition = new Vector4DInt(0, 0, 0, 0);
+
+        @Setup(Level.Iteration)
+        public void setUpWorld() {
+            ItemRegistry.registerDefaultItems();
+            world = new World("world-miss-benchmark", WORLD_SEED);
+        }
+
+        @Setup(Level.Invocation)
+        public void unload() {
+            world.unloadChunk(chunkPosition);
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDownWorld() {
+            world.getChunkPrefetcher().shutdown();
+        }
+    }
+}
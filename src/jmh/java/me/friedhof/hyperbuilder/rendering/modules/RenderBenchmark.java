@@ -0,0 +1,212 @@
+package me.friedhof.hyperbuilder.rendering.modules;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import me.friedhof.hyperbuilder.Game;
+import me.friedhof.hyperbuilder.computation.modules.Chunk4D;
+import me.friedhof.hyperbuilder.computation.modules.FluidEngine;
+import me.friedhof.hyperbuilder.computation.modules.ItemRegistry;
+import me.friedhof.hyperbuilder.computation.modules.Material;
+import me.friedhof.hyperbuilder.computation.modules.Player;
+import me.friedhof.hyperbuilder.computation.modules.TickScheduler;
+import me.friedhof.hyperbuilder.computation.modules.Vector4D;
+import me.friedhof.hyperbuilder.computation.modules.Vector4DInt;
+import me.friedhof.hyperbuilder.computation.modules.World;
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.Block;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of rendering the slice grid without a window.
+ *
+ * Every scene creates a game from a fixed seed, initializes it headlessly and generates
+ * every chunk its camera can see; one world tick then publishes the snapshot rendering
+ * reads from. {@link #renderSlice(SpawnScene)} and {@link #renderGrid(SpawnScene)} look
+ * from a fixed position next to the spawn point. {@link #renderWaterSlice(PoolScene)}
+ * builds a stone basin holding settled water of every flow level high above the
+ * terrain and moves the player into it, so the slice draws flowing water through its
+ * transparency path with the same short sight tests as in play. Cameras look along the
+ * {@link Camera.HorizontalDimension} given by {@link Scene#dimension}. The mouse hovers
+ * over the middle of the grid, so the hover outline is drawn as well.
+ *
+ * Usage: {@code java -Djava.awt.headless=true -jar target/benchmarks.jar RenderBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+    private static final long WORLD_SEED = 1L;
+
+    // Height of the basin floor, well above generated terrain
+    private static final int FLOOR_Y = 96;
+
+    // Inner size of the basin along X, Z and W
+    private static final int POOL_SIZE = 8;
+
+    // Chunks generated around the camera along every axis; the grid reaches 8 blocks
+    // out from a camera in the middle of a chunk
+    private static final int VIEW_CHUNK_RADIUS = 1;
+
+    @Benchmark
+    public BufferedImage renderSlice(SpawnScene scene) {
+        int center = SliceRenderer.getSliceCenter();
+        return scene.sliceRenderer.renderSlice(scene.world, center, center, scene.camera, scene.player, scene.game,
+                                               scene.mouseX, scene.mouseY);
+    }
+
+    @Benchmark
+    public BufferedImage renderGrid(SpawnScene scene) {
+        return scene.gridRenderer.renderGrid(scene.world, scene.camera, scene.player, scene.game,
+                                             scene.mouseX, scene.mouseY);
+    }
+
+    @Benchmark
+    public BufferedImage renderWaterSlice(PoolScene scene) {
+        int center = SliceRenderer.getSliceCenter();
+        return scene.sliceRenderer.renderSlice(scene.world, center, center, scene.camera, scene.player, scene.game,
+                                               scene.mouseX, scene.mouseY);
+    }
+
+    /**
+     * A headless game with its renderers and a camera, set up by the scene subclasses.
+     */
+    @State(Scope.Benchmark)
+    public abstract static class Scene {
+        @Param({"X", "Z", "W"})
+        Camera.HorizontalDimension dimension;
+
+        Game game;
+        World world;
+        Player player;
+        Camera camera;
+        SliceRenderer sliceRenderer;
+        GridRenderer gridRenderer;
+        int mouseX;
+        int mouseY;
+
+        /**
+         * Creates the game and initializes it headlessly.
+         */
+        void createGame() {
+            ItemRegistry.registerDefaultItems();
+            game = new Game("render-benchmark", WORLD_SEED, null);
+            game.initHeadless();
+            world = game.getWorld();
+            player = game.getPlayer();
+            camera = game.getCamera();
+        }
+
+        /**
+         * Generates the chunks the camera can see in any dimension, publishes the
+         * snapshot and creates the renderers.
+         */
+        void finishSetUp() {
+            camera.setHorizontalDimension(dimension);
+            Vector4D view = camera.getWorldOffset();
+            int size = Chunk4D.CHUNK_SIZE;
+            Vector4DInt center = new Vector4DInt(
+                Math.floorDiv((int) Math.floor(view.getX()), size), Math.floorDiv((int) Math.floor(view.getY()), size),
+                Math.floorDiv((int) Math.floor(view.getZ()), size), Math.floorDiv((int) Math.floor(view.getW()), size));
+            for (int x = -VIEW_CHUNK_RADIUS; x <= VIEW_CHUNK_RADIUS; x++) {
+                for (int y = -VIEW_CHUNK_RADIUS; y <= VIEW_CHUNK_RADIUS; y++) {
+                    for (int z = -VIEW_CHUNK_RADIUS; z <= VIEW_CHUNK_RADIUS; z++) {
+                        for (int w = -VIEW_CHUNK_RADIUS; w <= VIEW_CHUNK_RADIUS; w++) {
+                            world.getChunk(new Vector4DInt(center.getX() + x, center.getY() + y,
+                                                           center.getZ() + z, center.getW() + w));
+                        }
+                    }
+                }
+            }
+
+            // Publish the snapshot rendering reads from, keeping every chunk the camera
+            // can see loaded even if the player stands in a neighboring chunk
+            world.setChunkRadii(1, 1, VIEW_CHUNK_RADIUS + 2);
+            world.update(TickScheduler.TICK_SECONDS);
+
+            sliceRenderer = new SliceRenderer();
+            gridRenderer = game.getRenderer().getGridRenderer();
+            mouseX = game.getRenderer().getViewportWidth() / 2;
+            mouseY = game.getRenderer().getViewportHeight() / 2;
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            sliceRenderer.dispose();
+            game.getRenderer().dispose();
+            world.getChunkPrefetcher().shutdown();
+        }
+    }
+
+    /**
+     * The player at the spawn point, with the camera at a fixed position next to it.
+     */
+    @State(Scope.Benchmark)
+    public static class SpawnScene extends Scene {
+        @Setup(Level.Trial)
+        public void setUp() {
+            createGame();
+
+            // Fixed fractional offsets exercise the interpolated textures
+            int spawnY = (int) Math.floor(player.getY());
+            camera.setWorldOffset(new Vector4D(0.25, spawnY + 0.5, 0.375, 0.625));
+            finishSetUp();
+        }
+    }
+
+    /**
+     * The player standing in a basin of flowing water, with the camera at its position.
+     */
+    @State(Scope.Benchmark)
+    public static class PoolScene extends Scene {
+        @Setup(Level.Trial)
+        public void setUp() {
+            createGame();
+            Vector4D feet = new Vector4D(POOL_SIZE / 2 + 0.25, FLOOR_Y + 1, POOL_SIZE / 2 + 0.375, POOL_SIZE / 2 + 0.625);
+            player.setPosition(feet);
+            camera.setWorldOffset(new Vector4D(feet.getX(), feet.getY() + 1.5, feet.getZ(), feet.getW()));
+            buildPool();
+            finishSetUp();
+        }
+
+        /**
+         * Builds a walled stone basin with one water source at one side and lets the
+         * water spread, so the basin holds every flow level.
+         */
+        private void buildPool() {
+            Block stone = ItemRegistry.createBlock(Material.STONE);
+            for (int x = -1; x <= POOL_SIZE; x++) {
+                for (int z = -1; z <= POOL_SIZE; z++) {
+                    for (int w = -1; w <= POOL_SIZE; w++) {
+                        world.setBlock(new Vector4DInt(x, FLOOR_Y, z, w), stone);
+                        boolean wall = x < 0 || x == POOL_SIZE || z < 0 || z == POOL_SIZE || w < 0 || w == POOL_SIZE;
+                        if (wall) {
+                            world.setBlock(new Vector4DInt(x, FLOOR_Y + 1, z, w), stone);
+                        }
+                    }
+                }
+            }
+            world.setBlock(new Vector4DInt(0, FLOOR_Y + 1, POOL_SIZE / 2, POOL_SIZE / 2),
+                           ItemRegistry.createBlock(Material.WATER));
+
+            FluidEngine engine = world.getFluidEngine();
+            do {
+                engine.runPass();
+            } while (engine.getLastChangedCount() > 0);
+        }
+    }
+}
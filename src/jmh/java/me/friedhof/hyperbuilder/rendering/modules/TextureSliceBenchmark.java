@@ -0,0 +1,76 @@
+package me.friedhof.hyperbuilder.rendering.modules;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import me.friedhof.hyperbuilder.computation.modules.Material;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of an interpolated texture slice of the grass block texture.
+ *
+ * The slice cache of a texture rounds coordinates to 1/8 and holds up to 100 slices.
+ * {@link #cold()} cycles through 128 distinct rounded coordinates, so the cache is
+ * cleared between two requests of the same slice and every request interpolates a new
+ * one. {@link #warm()} cycles through 16 coordinates that stay cached after the first
+ * round.
+ *
+ * Usage: {@code java -Djava.awt.headless=true -jar target/benchmarks.jar TextureSliceBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TextureSliceBenchmark {
+    // Distinct slices requested by each benchmark, powers of two
+    private static final int COLD_SLICES = 128;
+    private static final int WARM_SLICES = 16;
+
+    private Texture4D texture;
+    private final double[] coldZ = new double[COLD_SLICES];
+    private final double[] coldW = new double[COLD_SLICES];
+    private final double[] warmZ = new double[WARM_SLICES];
+    private final double[] warmW = new double[WARM_SLICES];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        texture = TextureManager.loadTexture4D(Material.GRASS_BLOCK + ".png");
+        // Offsets inside the 1/8 steps, as produced by fractional camera positions
+        for (int i = 0; i < COLD_SLICES; i++) {
+            coldZ[i] = (i % 16) / 8.0 + 0.01;
+            coldW[i] = (i / 16) / 8.0 + 0.02;
+        }
+        for (int i = 0; i < WARM_SLICES; i++) {
+            warmZ[i] = (i % 4) / 8.0 + 0.01;
+            warmW[i] = (i / 4) / 8.0 + 0.02;
+        }
+        texture.clearCache();
+    }
+
+    @Benchmark
+    public BufferedImage cold() {
+        int i = next++ & (COLD_SLICES - 1);
+        return texture.getSlice2DFractional(coldZ[i], coldW[i]);
+    }
+
+    @Benchmark
+    public BufferedImage warm() {
+        int i = next++ & (WARM_SLICES - 1);
+        return texture.getSlice2DFractional(warmZ[i], warmW[i]);
+    }
+}
@@ -2,6 +2,7 @@ package me.friedhof.hyperbuilder;
 
 import java.awt.Component;
 import java.awt.Dimension;
+import java.awt.GraphicsEnvironment;
 import java.awt.Toolkit;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
@@ -17,10 +18,17 @@ import javax.swing.SwingUtilities;
 
 import me.friedhof.hyperbuilder.computation.modules.items.blocks.AirItem;
 import me.friedhof.hyperbuilder.computation.modules.items.blocks.Block;
+import me.friedhof.hyperbuilder.computation.modules.ChunkLoadStats;
 import me.friedhof.hyperbuilder.computation.modules.Player;
+import me.friedhof.hyperbuilder.computation.modules.TickProfiler;
+import me.friedhof.hyperbuilder.computation.modules.TickScheduler;
 import me.friedhof.hyperbuilder.computation.modules.Vector4D;
 import me.friedhof.hyperbuilder.computation.modules.Vector4DInt;
+import me.friedhof.hyperbuilder.computation.modules.VoxelRaycast;
 import me.friedhof.hyperbuilder.computation.modules.World;
+import me.friedhof.hyperbuilder.computation.modules.WorldSnapshot;
+import me.friedhof.hyperbuilder.diagnostics.FrameEvent;
+import me.friedhof.hyperbuilder.diagnostics.TickEvent;
 import me.friedhof.hyperbuilder.rendering.modules.Camera;
 import me.friedhof.hyperbuilder.rendering.modules.Renderer;
 import me.friedhof.hyperbuilder.rendering.modules.SliceRenderer;
@@ -59,8 +67,10 @@ public class Game {
     private static final String GAME_TITLE = "Hyperbuilder";
     private static final String VERSION = MainMenu.VERSION;
     
-    // Window dimensions - automatically fit screen size with padding
-    private static final Dimension SCREEN_SIZE = Toolkit.getDefaultToolkit().getScreenSize();
+    // Window dimensions - automatically fit screen size with padding; without a screen
+    // (java.awt.headless) a full HD screen is assumed
+    private static final Dimension SCREEN_SIZE = GraphicsEnvironment.isHeadless()
+        ? new Dimension(1920, 1080) : Toolkit.getDefaultToolkit().getScreenSize();
     private static final int SCREEN_PADDING = 100; // Padding from screen edges
     private static final int WIDTH = (int) SCREEN_SIZE.getWidth() - (SCREEN_PADDING * 2);
     private static final int HEIGHT = (int) SCREEN_SIZE.getHeight() - (SCREEN_PADDING * 2);
@@ -69,7 +79,8 @@ public class Game {
     private Player player;
     private Renderer renderer;
     private Camera camera;
-    private boolean running;
+    private volatile boolean running;
+    private Thread gameThread;
     private GameState currentState;
     private MainMenu mainMenu;
     private WorldSaveManager saveManager;
@@ -88,6 +99,9 @@ public class Game {
     private boolean leftMousePressed = false; // Track if left mouse button is held down
     private BaseItem lastSelectedItem = null; // Track the last selected item to detect switches
     
+    // Line of sight is checked from the input and the render thread, each gets its own traversal
+    private final ThreadLocal<VoxelRaycast> sightRaycast = ThreadLocal.withInitial(VoxelRaycast::new);
+    
     /**
      * Gets whether a block is currently being broken.
      * 
@@ -126,6 +140,18 @@ public class Game {
     // Rendering synchronization
     private volatile boolean renderPending = false;
     
+    // Target rate at which frames are requested from the EDT
+    private static final int TARGET_FPS = 60;
+    
+    // Fixed-timestep simulation clock, independent of the frame rate
+    private final TickScheduler tickScheduler = new TickScheduler();
+    
+    // Frames actually rendered on the EDT since the last FPS update
+    private final java.util.concurrent.atomic.AtomicInteger renderedFrames = new java.util.concurrent.atomic.AtomicInteger();
+    
+    // Interpolation factor between the last two ticks for the frame being rendered
+    private volatile double renderAlpha = 1.0;
+    
     /**
      * Constructor for creating a game from menu.
      */
@@ -201,6 +227,15 @@ public class Game {
         }
     }
     
+    /**
+     * Initializes the game for rendering without a window or input handling, e.g. with
+     * {@code java.awt.headless=true} in benchmarks. Frames are rendered by calling the
+     * renderer directly instead of through the game loop.
+     */
+    public void initHeadless() {
+        renderer = new Renderer(WIDTH, HEIGHT);
+    }
+    
     /**
      * Initializes game world components.
      */
@@ -458,12 +493,28 @@ public class Game {
                 break;
             case KeyEvent.VK_S:
                 // Manual save with Ctrl+S
-                if (pressedKeys.contains(KeyEvent.VK_CONTROL)) {
-                    manualSave();
+                if (pressedKeys.contains(KeyEvent.VK_CONTROL) && world != null) {
+                    world.submit(this::manualSave);
                 }
                 break;
             case KeyEvent.VK_C:
-                dropSelectedItem();
+                if (world != null) {
+                    world.submit(this::dropSelectedItem);
+                }
+                break;
+            case KeyEvent.VK_F3:
+                // Toggle the tick profiler overlay
+                if (world != null) {
+                    TickProfiler profiler = world.getProfiler();
+                    profiler.setEnabled(!profiler.isEnabled());
+                    System.out.println("Tick profiler " + (profiler.isEnabled() ? "enabled" : "disabled"));
+                }
+                break;
+            case KeyEvent.VK_F4:
+                // Write the tick profile to a file
+                if (world != null) {
+                    world.submit(this::dumpTickProfile);
+                }
                 break;
         }
         
@@ -524,8 +575,8 @@ public class Game {
             // If zoom changed, recalculate block size and update renderer
              if (zoomChanged && renderer != null) {
                  // Get current window dimensions
-                 int windowWidth = renderer.getFrame().getContentPane().getWidth();
-                 int windowHeight = renderer.getFrame().getContentPane().getHeight();
+                 int windowWidth = renderer.getViewportWidth();
+                 int windowHeight = renderer.getViewportHeight();
                  
                  // Recalculate block size with new slice size
                  SliceRenderer.setDynamicBlockSize(windowWidth, windowHeight);
@@ -626,17 +677,18 @@ public class Game {
             return; // Inventory UI handled the click, don't process block interaction
         }
         
+        // Block interaction reads and changes the world, so it runs on the simulation thread
         if (button == 1) { // Left click - set flag for continuous breaking
             leftMousePressed = true;
             // Convert screen coordinates to world coordinates for block interaction
             Vector4DInt worldPos = screenToWorldCoordinates(x, y);
             if (worldPos != null) {
-                startBlockBreaking(worldPos.getX(), worldPos.getY(), worldPos.getZ(), worldPos.getW());
+                world.submit(() -> startBlockBreaking(worldPos.getX(), worldPos.getY(), worldPos.getZ(), worldPos.getW()));
             }
         } else if (button == 3) { // Right click - place block
             Vector4DInt worldPos = screenToWorldCoordinates(x, y);
             if (worldPos != null) {
-                handleBlockPlacement(worldPos.getX(), worldPos.getY(), worldPos.getZ(), worldPos.getW());
+                world.submit(() -> handleBlockPlacement(worldPos.getX(), worldPos.getY(), worldPos.getZ(), worldPos.getW()));
             }
         }
     }
@@ -663,7 +715,10 @@ public class Game {
         
         if (button == 1) { // Left click released - stop breaking block
             leftMousePressed = false;
-            stopBlockBreaking();
+            // Queued behind a start of breaking submitted by the press
+            if (world != null) {
+                world.submit(this::stopBlockBreaking);
+            }
         }
     }
     
@@ -847,8 +902,8 @@ public class Game {
         // Get grid dimensions and positioning
         int gridSizePixels = renderer.getGridRenderer().getGridSizePixels();
         // Use actual current window dimensions instead of static constants
-        int currentWidth = renderer.getFrame().getContentPane().getWidth();
-        int currentHeight = renderer.getFrame().getContentPane().getHeight();
+        int currentWidth = renderer.getViewportWidth();
+        int currentHeight = renderer.getViewportHeight();
         int gridX = (currentWidth - gridSizePixels) / 2;
         int gridY = (currentHeight - gridSizePixels) / 2;
         
@@ -949,8 +1004,8 @@ public class Game {
         // Get grid dimensions and positioning
         int gridSizePixels = renderer.getGridRenderer().getGridSizePixels();
         // Use actual current window dimensions instead of static constants
-        int currentWidth = renderer.getFrame().getContentPane().getWidth();
-        int currentHeight = renderer.getFrame().getContentPane().getHeight();
+        int currentWidth = renderer.getViewportWidth();
+        int currentHeight = renderer.getViewportHeight();
         int gridX = (currentWidth - gridSizePixels) / 2;
         int gridY = (currentHeight - gridSizePixels) / 2;
         
@@ -1158,6 +1213,7 @@ public class Game {
             // Start processing if there are items in the input slot
             if (poweredSmelter instanceof SmelterPoweredItem && currentInventory != null && currentInventory.getInputItem() != null) {
                 ((SmelterPoweredItem) poweredSmelter).startProcessing();
+                world.scheduleBlockEvents(position);
             }
             
         } else {
@@ -1170,7 +1226,33 @@ public class Game {
         }
     }
 
+    /**
+     * Checks whether the player can see a block: no solid block may lie on the line from
+     * the player to the block's center. The target block itself may be solid. Blocks in
+     * chunks that are not loaded block the view.
+     * 
+     * @param x World X coordinate
+     * @param y World Y coordinate
+     * @param z World Z coordinate
+     * @param w World W coordinate
+     * @return true if nothing blocks the view
+     */
     public boolean isInSightOfPlayer(int x, int y, int z, int w){
+        return isInSightOfPlayer(null, x, y, z, w);
+    }
+
+    /**
+     * Checks whether the player can see a block like {@link #isInSightOfPlayer(int, int, int, int)},
+     * reading blocks from a snapshot. Used while rendering, which must not touch the live chunks.
+     * 
+     * @param snapshot The snapshot to read, or null to read the world's loaded chunks
+     * @param x World X coordinate
+     * @param y World Y coordinate
+     * @param z World Z coordinate
+     * @param w World W coordinate
+     * @return true if nothing blocks the view
+     */
+    public boolean isInSightOfPlayer(WorldSnapshot snapshot, int x, int y, int z, int w){
         // Get player's position
         Vector4D playerPos = player.getPosition();
         
@@ -1186,41 +1268,15 @@ public class Game {
             return true;
         }
         
-        // Normalize the direction vector
-        direction = direction.normalize();
-        
-        // Step size for ray marching (smaller = more accurate, larger = faster)
-        double stepSize = 0.1;
-        int steps = (int) Math.ceil(distance / stepSize);
-        
-        // March along the ray from player to target
-        for (int i = 1; i < steps; i++) { // Start from 1 to skip player's position
-            // Calculate current position along the ray
-            Vector4D currentPos = playerPos.add(direction.scale(i * stepSize));
-            
-            // Convert to block coordinates
-            int blockX = (int) Math.floor(currentPos.getX());
-            int blockY = (int) Math.floor(currentPos.getY());
-            int blockZ = (int) Math.floor(currentPos.getZ());
-            int blockW = (int) Math.floor(currentPos.getW());
-            
-            // Skip checking the target block itself (it's allowed to be solid)
-            if (blockX == x && blockY == y && blockZ == z && blockW == w) {
-                continue;
-            }
-            
-            // Check if there's a solid block at this position
-            Vector4DInt blockPos = new Vector4DInt(blockX, blockY, blockZ, blockW);
-            Block block = world.getBlock(blockPos);
-            
-            // If there's a solid block (not null and not air), the view is blocked
-            if (block != null && block.isSolid()) {
-                return false;
-            }
-        }
-        
-        // No obstructions found, target is visible
-        return true;
+        // Walk every block on the line once; the view is blocked by the first solid one
+        // that is not the target itself
+        VoxelRaycast.BlockTest blocksView = (block, blockX, blockY, blockZ, blockW) -> block != null && block.isSolid()
+            && !(blockX == x && blockY == y && blockZ == z && blockW == w);
+        VoxelRaycast raycast = sightRaycast.get();
+        boolean blocked = (snapshot != null)
+            ? raycast.cast(snapshot, playerPos, direction, distance, blocksView)
+            : raycast.cast(world, playerPos, direction, distance, blocksView);
+        return !blocked;
     }
     
      /**
@@ -1233,6 +1289,21 @@ public class Game {
      * @return true if there's an adjacent block, false otherwise
      */
     public boolean hasAdjacentBlock(int x, int y, int z, int w) {
+        return hasAdjacentBlock(null, x, y, z, w);
+    }
+
+    /**
+     * Checks if there's at least one adjacent block to the specified position, reading
+     * blocks from a snapshot so rendering never loads chunks.
+     * 
+     * @param snapshot The snapshot to read, or null to read the world
+     * @param x World X coordinate
+     * @param y World Y coordinate
+     * @param z World Z coordinate
+     * @param w World W coordinate
+     * @return true if there's an adjacent block, false otherwise
+     */
+    public boolean hasAdjacentBlock(WorldSnapshot snapshot, int x, int y, int z, int w) {
         // Check all 8 adjacent positions in 4D space (±1 in each dimension)
         int[][] offsets = {
             {-1, 0, 0, 0}, {1, 0, 0, 0},  // X axis
@@ -1251,7 +1322,7 @@ public class Game {
             Vector4DInt adjacentPos = new Vector4DInt(checkX, checkY, checkZ, checkW);
             
             // Get the block at the adjacent position
-            Block adjacentBlock = world.getBlock(adjacentPos);
+            Block adjacentBlock = (snapshot != null) ? snapshot.getBlock(adjacentPos) : world.getBlock(adjacentPos);
             
             // Check if there's a solid block (not null and not air)
             if (adjacentBlock != null && adjacentBlock.isSolid()) {
@@ -1275,48 +1346,67 @@ public class Game {
     }
     
     /**
-     * Main game loop.
+     * Main game loop. The simulation advances in fixed ticks on the game thread,
+     * while frames are requested from the EDT at their own rate.
      */
     private void run() {
         System.out.println("Game is running...");
         
         // Run the game loop in a separate thread to avoid blocking the EDT
-        Thread gameThread = new Thread(() -> {
-            long lastTime = System.currentTimeMillis();
-            long timer = System.currentTimeMillis();
-            int frames = 0;
-            final int targetFPS = 60;
-            final long frameTime = 1000 / targetFPS; // 16.67ms per frame
+        gameThread = new Thread(() -> {
+            final long frameNanos = 1_000_000_000L / TARGET_FPS;
+            long statsTimer = System.nanoTime();
+            long nextFrameTime = System.nanoTime();
+            tickScheduler.reset();
             
             while (running) {
-                long currentTime = System.currentTimeMillis();
+                // Advance the simulation by however many fixed ticks are due
+                tickScheduler.runDueTicks(this::runTick);
                 
-                // Update game logic
-                update(1.0 / targetFPS);
+                long currentTime = System.nanoTime();
                 
-                // Render on EDT with queue management
-                if (!renderPending) {
+                // Render on EDT with queue management, the EDT interpolates between ticks
+                if (currentTime >= nextFrameTime && !renderPending) {
                     renderPending = true;
+                    nextFrameTime = currentTime + frameNanos;
                     SwingUtilities.invokeLater(() -> {
+                        FrameEvent frameEvent = new FrameEvent();
+                        frameEvent.begin();
                         render();
+                        frameEvent.end();
+                        if (frameEvent.shouldCommit()) {
+                            frameEvent.alpha = renderAlpha;
+                            frameEvent.commit();
+                        }
+                        renderedFrames.incrementAndGet();
                         renderPending = false;
                     });
                 }
-                frames++;
                 
-                // Update FPS counter every second
-                if (currentTime - timer >= 1000) {
-                    renderer.getHUD().updateFPS(frames);
-                    frames = 0;
-                    timer = currentTime;
+                // Update FPS and tick counters every second
+                if (currentTime - statsTimer >= 1_000_000_000L) {
+                    renderer.getHUD().updateFPS(renderedFrames.getAndSet(0));
+                    renderer.getHUD().updateTickStats(tickScheduler.getTicksPerSecond(), tickScheduler.getAverageTickMillis());
+                    if (world != null) {
+                        ChunkLoadStats chunkStats = world.getChunkLoadStats();
+                        renderer.getHUD().updateChunkStats(chunkStats.getLoadsPerSecond(),
+                            chunkStats.getRestoresPerSecond(), chunkStats.getEvictionsPerSecond());
+                        TickProfiler profiler = world.getProfiler();
+                        renderer.getHUD().updateTickProfile(profiler.isEnabled() ? profiler.getReport() : null);
+                    }
+                    statsTimer = currentTime;
                 }
                 
-                // Sleep to maintain target FPS
-                long elapsed = System.currentTimeMillis() - currentTime;
-                long sleepTime = frameTime - elapsed;
-                if (sleepTime > 0) {
+                // Sleep until the next tick or frame is due; if the EDT is still busy
+                // with the previous frame, check back shortly instead of spinning
+                long untilFrame = nextFrameTime - System.nanoTime();
+                if (untilFrame <= 0) {
+                    untilFrame = 1_000_000L;
+                }
+                long sleepNanos = Math.min(tickScheduler.getNanosUntilNextTick(), untilFrame);
+                if (sleepNanos > 0) {
                     try {
-                        Thread.sleep(sleepTime);
+                        Thread.sleep(sleepNanos / 1_000_000L, (int) (sleepNanos % 1_000_000L));
                     } catch (InterruptedException e) {
                         Thread.currentThread().interrupt();
                         break;
@@ -1333,6 +1423,25 @@ public class Game {
     
 
     
+    /**
+     * Runs one fixed simulation tick and records it as a JFR event.
+     */
+    private void runTick() {
+        TickEvent event = new TickEvent();
+        event.begin();
+        update(TickScheduler.TICK_SECONDS);
+        event.end();
+        if (event.shouldCommit()) {
+            World tickWorld = world;
+            if (tickWorld != null) {
+                event.worldTick = tickWorld.getWorldTick();
+                event.loadedChunks = tickWorld.getSnapshot().getChunkCount();
+                event.sleepingEntities = tickWorld.getSleepingEntityCount();
+            }
+            event.commit();
+        }
+    }
+    
     /**
      * Updates the game state.
      * 
@@ -1344,24 +1453,35 @@ public class Game {
                 // Update menu (if needed)
                 break;
             case PLAYING:
+                TickProfiler profiler = world.getProfiler();
+                profiler.beginTick();
+                
                 // Update movement input continuously for smooth movement
                 updateMovementInput();
                 
-                // Sync camera to follow player - keep player centered
-                Vector4D playerPos = player.getPosition();
-                camera.setWorldOffset(playerPos);
-                
                 // Update the world
                 world.update(deltaTime);
                 
+                // Start loading the chunks the player is heading into
+                profiler.push("prefetch");
+                world.getChunkPrefetcher().update(player, camera.getHorizontalDimension());
+                profiler.pop();
+                
                 // Update block breaking progress
+                profiler.push("block breaking");
                 updateBlockBreaking();
+                profiler.pop();
                 
                 // Check for periodic auto-save
+                profiler.push("auto-save");
                 checkAutoSave();
+                profiler.pop();
+                
+                profiler.endTick();
                 break;
             case PAUSED:
-                // Game is paused, don't update game logic
+                // Game is paused, don't update game logic, but make queued world changes
+                world.runCommands();
                 break;
         }
     }
@@ -1377,12 +1497,34 @@ public class Game {
                 break;
             case PLAYING:
             case PAUSED:
+                // Sync camera to follow player - keep player centered between ticks
+                renderAlpha = (currentState == GameState.PLAYING) ? tickScheduler.getInterpolationAlpha() : 1.0;
+                camera.setWorldOffset(player.getInterpolatedPosition(renderAlpha));
+                
                 // Render the world using our renderer with camera and player
                 renderer.render(world, camera, player, this, mouseX, mouseY);
                 break;
         }
     }
     
+    /**
+     * Gets the interpolation factor between the last two simulation ticks for the frame being rendered.
+     * 
+     * @return The interpolation factor from 0.0 to 1.0
+     */
+    public double getRenderAlpha() {
+        return renderAlpha;
+    }
+    
+    /**
+     * Gets the scheduler that runs the simulation at a fixed tick rate.
+     * 
+     * @return The tick scheduler
+     */
+    public TickScheduler getTickScheduler() {
+        return tickScheduler;
+    }
+    
     /**
      * Stops the game.
      */
@@ -1395,6 +1537,23 @@ public class Game {
         System.out.println("Game stopped");
     }
     
+    /**
+     * Stops the game loop and waits for its thread to finish the current tick and exit.
+     */
+    private void stopGameLoop() {
+        running = false;
+        Thread loop = gameThread;
+        if (loop == null || loop == Thread.currentThread()) {
+            return;
+        }
+        try {
+            loop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Interrupted while waiting for the game loop to stop");
+        }
+    }
+    
     /**
      * Cleans up resources.
      */
@@ -1407,9 +1566,19 @@ public class Game {
      * Returns to the main menu.
      */
     public void returnToMenu() {
+        // Let the current tick finish and end the loop, so no tick changes the world
+        // while it is saved
+        stopGameLoop();
         currentState = GameState.MENU;
-        // Clean up current game state if needed
+        
         if (world != null) {
+            // Stop background chunk loading
+            world.getChunkPrefetcher().shutdown();
+            
+            // Make the changes that are still queued, such as a block placement; with
+            // the loop stopped this thread becomes the simulation thread for the save
+            world.runCommands();
+            
             // Auto-save before returning to menu
             try {
                 saveManager.saveWorld(world, player);
@@ -1417,10 +1586,16 @@ public class Game {
             } catch (Exception e) {
                 System.err.println("Failed to auto-save world: " + e.getMessage());
             }
+
+            // Release the block change journal file
+            if (world.getBlockChangeJournal() != null) {
+                world.getBlockChangeJournal().close();
+                world.setBlockChangeJournal(null);
+            }
         }
-        
+
         // Hide the game window
-        if (renderer != null) {
+        if (renderer != null && renderer.getFrame() != null) {
             renderer.getFrame().setVisible(false);
         }
         
@@ -1599,6 +1774,26 @@ public class Game {
         }
     }
     
+    /**
+     * Writes the tick profile of the current world to a file in the profiles directory.
+     * Runs on the simulation thread, which owns the profiler's data.
+     */
+    private void dumpTickProfile() {
+        TickProfiler profiler = world.getProfiler();
+        if (profiler.getWindowTicks() == 0) {
+            System.out.println("No tick profile recorded yet, press F3 to start the profiler");
+            return;
+        }
+        java.nio.file.Path file = java.nio.file.Paths.get("profiles",
+            "tick-profile-" + System.currentTimeMillis() + ".txt");
+        try {
+            profiler.dump(file);
+            System.out.println("Tick profile written to " + file.toAbsolutePath());
+        } catch (java.io.IOException e) {
+            System.err.println("Failed to write tick profile: " + e.getMessage());
+        }
+    }
+    
     /**
      * Performs periodic auto-save if enough time has passed.
      */
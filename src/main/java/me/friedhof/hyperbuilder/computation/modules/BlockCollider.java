@@ -0,0 +1,214 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+/**
+ * Moves an entity's axis-aligned box through the world without entering solid blocks.
+ *
+ * Movement is resolved one axis at a time. Instead of testing the box at its target
+ * position, a move sweeps the leading face of the box across every block layer it
+ * would pass and stops the box flush against the first layer holding a solid block,
+ * so fast entities cannot skip over thin walls. Solidity is read from the chunks'
+ * solid bitmaps, and the chunk of the previous lookup is reused, so a move costs a
+ * few bit tests and allocates nothing.
+ *
+ * Boxes touching a block face do not collide with it, so an entity resting on the
+ * ground can still move sideways. An instance holds the box being moved and is not
+ * thread-safe; entities updated in parallel each need their own.
+ */
+public class BlockCollider {
+    /** Axis index of X, as used by {@link #move} and {@link #sweep}. */
+    public static final int X = 0;
+    /** Axis index of Y. */
+    public static final int Y = 1;
+    /** Axis index of Z. */
+    public static final int Z = 2;
+    /** Axis index of W. */
+    public static final int W = 3;
+
+    // Tolerance for boxes that end up a rounding error inside the face they rest on
+    private static final double EPSILON = 1e-7;
+
+    // Whether unloaded chunks are loaded, or count as solid so nothing moves into them
+    private final boolean loadChunks;
+
+    // Center and half size of the box per axis
+    private final double[] center = new double[4];
+    private final double[] half = new double[4];
+
+    // Chunk of the previous lookup, null if it was not loaded. It stays valid across
+    // ticks until the world's chunk set changes, so a resting entity allocates no key.
+    private boolean chunkCached;
+    private World chunkWorld;
+    private long chunkVersion;
+    private Chunk4D chunk;
+    private int chunkX;
+    private int chunkY;
+    private int chunkZ;
+    private int chunkW;
+
+    /**
+     * Creates a collider.
+     *
+     * @param loadChunks true to load chunks the box moves into; false to treat unloaded
+     *                   chunks as solid, which is required off the simulation thread
+     */
+    public BlockCollider(boolean loadChunks) {
+        this.loadChunks = loadChunks;
+    }
+
+    /**
+     * Sets the box to an entity's collision box at its current position.
+     *
+     * @param entity The entity to move
+     */
+    public void setBox(Entity entity) {
+        center[X] = entity.getX();
+        center[Y] = entity.getY();
+        center[Z] = entity.getZ();
+        center[W] = entity.getW();
+        half[X] = entity.getSizeX() / 2.0;
+        half[Y] = entity.getSizeY() / 2.0;
+        half[Z] = entity.getSizeZ() / 2.0;
+        half[W] = entity.getSizeW() / 2.0;
+    }
+
+    /**
+     * Moves the box along one axis as far as it gets before touching a solid block.
+     *
+     * @param world The world to collide with
+     * @param axis The axis to move along, {@link #X} to {@link #W}
+     * @param distance The intended movement, negative to move towards lower coordinates
+     * @return The movement that was made; equals {@code distance} unless a block was in the way
+     */
+    public double move(World world, int axis, double distance) {
+        double moved = sweep(world, axis, distance);
+        center[axis] += moved;
+        return moved;
+    }
+
+    /**
+     * Computes how far the box could move along one axis without moving it, i.e. the
+     * time of impact of the sweep in blocks.
+     *
+     * @param world The world to collide with
+     * @param axis The axis to move along, {@link #X} to {@link #W}
+     * @param distance The intended movement, negative to move towards lower coordinates
+     * @return The possible movement, between 0 and {@code distance}
+     */
+    public double sweep(World world, int axis, double distance) {
+        if (distance == 0.0) {
+            return 0.0;
+        }
+
+        // Blocks the box overlaps on the other three axes
+        int axis1 = (axis == X) ? Y : X;
+        int axis2 = (axis <= Y) ? Z : Y;
+        int axis3 = (axis <= Z) ? W : Z;
+        int from1 = (int) Math.floor(center[axis1] - half[axis1] + EPSILON);
+        int to1 = (int) Math.ceil(center[axis1] + half[axis1] - EPSILON) - 1;
+        int from2 = (int) Math.floor(center[axis2] - half[axis2] + EPSILON);
+        int to2 = (int) Math.ceil(center[axis2] + half[axis2] - EPSILON) - 1;
+        int from3 = (int) Math.floor(center[axis3] - half[axis3] + EPSILON);
+        int to3 = (int) Math.ceil(center[axis3] + half[axis3] - EPSILON) - 1;
+
+        if (distance > 0) {
+            // Layers whose lower face the leading face would pass
+            double face = center[axis] + half[axis];
+            int last = (int) Math.ceil(face + distance) - 1;
+            for (int layer = (int) Math.ceil(face - EPSILON); layer <= last; layer++) {
+                if (isLayerSolid(world, axis, layer, from1, to1, from2, to2, from3, to3)) {
+                    return Math.max(0.0, Math.min(distance, layer - face));
+                }
+            }
+        } else {
+            // Layers whose upper face the leading face would pass
+            double face = center[axis] - half[axis];
+            int last = (int) Math.floor(face + distance);
+            for (int layer = (int) Math.floor(face + EPSILON) - 1; layer >= last; layer--) {
+                if (isLayerSolid(world, axis, layer, from1, to1, from2, to2, from3, to3)) {
+                    return Math.min(0.0, Math.max(distance, layer + 1 - face));
+                }
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Checks whether any block of the box's cross section in one layer is solid.
+     */
+    private boolean isLayerSolid(World world, int axis, int layer,
+                                 int from1, int to1, int from2, int to2, int from3, int to3) {
+        for (int i = from1; i <= to1; i++) {
+            for (int j = from2; j <= to2; j++) {
+                for (int k = from3; k <= to3; k++) {
+                    boolean solid;
+                    switch (axis) {
+                        case X:
+                            solid = isSolid(world, layer, i, j, k);
+                            break;
+                        case Y:
+                            solid = isSolid(world, i, layer, j, k);
+                            break;
+                        case Z:
+                            solid = isSolid(world, i, j, layer, k);
+                            break;
+                        default:
+                            solid = isSolid(world, i, j, k, layer);
+                            break;
+                    }
+                    if (solid) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the block at a world position is solid, looking its chunk up only
+     * when it differs from the previous one.
+     */
+    private boolean isSolid(World world, int x, int y, int z, int w) {
+        int cx = Math.floorDiv(x, Chunk4D.CHUNK_SIZE);
+        int cy = Math.floorDiv(y, Chunk4D.CHUNK_SIZE);
+        int cz = Math.floorDiv(z, Chunk4D.CHUNK_SIZE);
+        int cw = Math.floorDiv(w, Chunk4D.CHUNK_SIZE);
+        long version = world.getChunkSetVersion();
+        if (!chunkCached || world != chunkWorld || version != chunkVersion
+                || cx != chunkX || cy != chunkY || cz != chunkZ || cw != chunkW) {
+            Vector4DInt chunkPosition = new Vector4DInt(cx, cy, cz, cw);
+            chunk = loadChunks ? world.getChunk(chunkPosition) : world.getLoadedChunk(chunkPosition);
+            chunkX = cx;
+            chunkY = cy;
+            chunkZ = cz;
+            chunkW = cw;
+            chunkWorld = world;
+            chunkVersion = version;
+            chunkCached = true;
+        }
+        if (chunk == null) {
+            return true;
+        }
+        return chunk.isSolid(Math.floorMod(x, Chunk4D.CHUNK_SIZE), Math.floorMod(y, Chunk4D.CHUNK_SIZE),
+                             Math.floorMod(z, Chunk4D.CHUNK_SIZE), Math.floorMod(w, Chunk4D.CHUNK_SIZE));
+    }
+
+    /**
+     * Gets the center of the box along one axis.
+     *
+     * @param axis The axis, {@link #X} to {@link #W}
+     * @return The center coordinate
+     */
+    public double getCenter(int axis) {
+        return center[axis];
+    }
+
+    /**
+     * Gets the current center of the box as a position.
+     *
+     * @return The position of the moved box
+     */
+    public Vector4D getPosition() {
+        return new Vector4D(center[X], center[Y], center[Z], center[W]);
+    }
+}
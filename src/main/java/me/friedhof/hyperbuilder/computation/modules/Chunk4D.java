@@ -5,6 +5,8 @@ import java.util.Map;
 
 import me.friedhof.hyperbuilder.computation.modules.items.blocks.AirItem;
 import me.friedhof.hyperbuilder.computation.modules.items.blocks.Block;
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.Water;
+import me.friedhof.hyperbuilder.computation.modules.interfaces.HasRandomTick;
 
 /**
  * Represents a 4D chunk in the voxel world.
@@ -27,6 +29,34 @@ public class Chunk4D {
     // Dirty flag to track if the chunk needs to be saved
     private boolean dirty;
     
+    // Fluid level of every cell, two cells per byte (see FluidEngine for the encoding)
+    private final byte[] fluidLevels;
+    
+    // Cells the fluid engine evaluates in its next pass, one bit per cell.
+    // The spare set is handed to the engine while the active one collects new cells.
+    private long[] activeFluid;
+    private long[] spareActiveFluid;
+    private boolean hasActiveFluid;
+    
+    // Cells holding a solid block, one bit per cell, for collision tests without block lookups
+    private final long[] solid;
+    
+    // Face neighbors cached by the fluid engine during a pass
+    final Chunk4D[] fluidNeighbors = new Chunk4D[8];
+    
+    // Cells holding blocks with random ticks, packed densely, and the slot of every
+    // such cell in that list (-1 if none). Both are only allocated once needed.
+    private int[] randomTickCells;
+    private short[] randomTickSlots;
+    private int randomTickCount;
+    
+    // Per-chunk generator for picking random tick cells
+    private long randomTickState;
+    
+    // World positions of leaves generation placed outside this chunk, until the
+    // world hands them to their chunks on installing this one (null if none)
+    private PositionList overhangingLeaves;
+    
     /**
      * Creates a new chunk at the specified position.
      * 
@@ -37,6 +67,11 @@ public class Chunk4D {
         this.blocks = new Block[CHUNK_SIZE][CHUNK_SIZE][CHUNK_SIZE][CHUNK_SIZE];
         this.entities = new HashMap<>();
         this.dirty = false;
+        this.fluidLevels = new byte[CHUNK_VOLUME / 2];
+        this.activeFluid = new long[CHUNK_VOLUME / 64];
+        this.spareActiveFluid = new long[CHUNK_VOLUME / 64];
+        this.solid = new long[CHUNK_VOLUME / 64];
+        this.randomTickState = Vector4DInt.hash(position.getX(), position.getY(), position.getZ(), position.getW()) | 1L;
         
         // Initialize all blocks as air
         for (int x = 0; x < CHUNK_SIZE; x++) {
@@ -99,7 +134,22 @@ public class Chunk4D {
     public boolean setBlock(int x, int y, int z, int w, Block block) {
         if (isValidLocalCoordinate(x) && isValidLocalCoordinate(y) && 
             isValidLocalCoordinate(z) && isValidLocalCoordinate(w)) {
+            int index = localIndex(x, y, z, w);
+            boolean wasTicking = blocks[x][y][z][w] instanceof HasRandomTick;
             blocks[x][y][z][w] = block;
+            setFluidNibble(index, FluidEngine.nibbleOf(block));
+            if (block != null && block.isSolid()) {
+                solid[index >> 6] |= 1L << index;
+            } else {
+                solid[index >> 6] &= ~(1L << index);
+            }
+            if (block instanceof HasRandomTick) {
+                if (!wasTicking) {
+                    addRandomTickCell(index);
+                }
+            } else if (wasTicking) {
+                removeRandomTickCell(index);
+            }
             dirty = true;
             return true;
         }
@@ -117,6 +167,259 @@ public class Chunk4D {
         return setBlock(localPos.getX(), localPos.getY(), localPos.getZ(), localPos.getW(), block);
     }
     
+    private void addRandomTickCell(int index) {
+        if (randomTickCells == null) {
+            randomTickCells = new int[16];
+            randomTickSlots = new short[CHUNK_VOLUME];
+            java.util.Arrays.fill(randomTickSlots, (short) -1);
+        } else if (randomTickCount == randomTickCells.length) {
+            randomTickCells = java.util.Arrays.copyOf(randomTickCells, randomTickCount * 2);
+        }
+        randomTickSlots[index] = (short) randomTickCount;
+        randomTickCells[randomTickCount++] = index;
+    }
+    
+    private void removeRandomTickCell(int index) {
+        // Move the last cell into the freed slot to keep the list dense
+        int slot = randomTickSlots[index];
+        int last = randomTickCells[--randomTickCount];
+        randomTickCells[slot] = last;
+        randomTickSlots[last] = (short) slot;
+        randomTickSlots[index] = -1;
+    }
+    
+    /**
+     * Gets the number of blocks in this chunk that take random ticks.
+     * 
+     * @return The number of indexed cells
+     */
+    public int getRandomTickCount() {
+        return randomTickCount;
+    }
+    
+    /**
+     * Picks the cells with random ticks hit by {@code picks} random picks over the whole
+     * chunk, using the chunk's own generator. Instead of drawing every pick, the number
+     * of hits is drawn from Binomial(picks, count / volume) and that many cells are
+     * picked from the index, so each indexed block is hit as often as with picks over
+     * the whole chunk, and a chunk whose picks all miss costs a single draw.
+     * 
+     * @param picks The number of picks over the whole chunk
+     * @param out The array receiving the cell indices from {@link #localIndex}, at least {@code picks} long
+     * @return The number of cells written to {@code out}
+     */
+    int nextRandomTickCells(int picks, int[] out) {
+        if (randomTickCount == 0) {
+            return 0;
+        }
+        
+        int hits = picks;
+        if (randomTickCount < CHUNK_VOLUME) {
+            // Invert the binomial distribution function at a uniform draw
+            double p = (double) randomTickCount / CHUNK_VOLUME;
+            double u = (nextRandom() >>> 11) * 0x1.0p-53;
+            double probability = Math.pow(1 - p, picks);
+            double cumulative = probability;
+            hits = 0;
+            while (u >= cumulative && hits < picks) {
+                probability *= (double) (picks - hits) / (hits + 1) * p / (1 - p);
+                hits++;
+                cumulative += probability;
+            }
+        }
+        
+        for (int i = 0; i < hits; i++) {
+            int slot = (int) (((nextRandom() >>> 32) * randomTickCount) >>> 32);
+            out[i] = randomTickCells[slot];
+        }
+        return hits;
+    }
+    
+    private long nextRandom() {
+        // xorshift64
+        long x = randomTickState;
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        randomTickState = x;
+        return x;
+    }
+    
+    /**
+     * Checks whether a cell holds a solid block, using the solid bitmap.
+     * 
+     * @param x Local X coordinate, must be valid
+     * @param y Local Y coordinate, must be valid
+     * @param z Local Z coordinate, must be valid
+     * @param w Local W coordinate, must be valid
+     * @return true if the block at the position is solid
+     */
+    boolean isSolid(int x, int y, int z, int w) {
+        int index = localIndex(x, y, z, w);
+        return (solid[index >> 6] & (1L << index)) != 0;
+    }
+    
+    /**
+     * Computes the index of a cell in the flat per-cell arrays of this chunk.
+     * 
+     * @param x Local X coordinate
+     * @param y Local Y coordinate
+     * @param z Local Z coordinate
+     * @param w Local W coordinate
+     * @return The cell index from 0 to CHUNK_VOLUME - 1
+     */
+    static int localIndex(int x, int y, int z, int w) {
+        return ((x * CHUNK_SIZE + y) * CHUNK_SIZE + z) * CHUNK_SIZE + w;
+    }
+    
+    /**
+     * Gets the encoded fluid level of a cell.
+     * 
+     * @param index The cell index from {@link #localIndex}
+     * @return The fluid nibble (0 if the cell holds no fluid)
+     */
+    int getFluidNibble(int index) {
+        int packed = fluidLevels[index >> 1];
+        return ((index & 1) == 0) ? (packed & 0x0F) : ((packed >> 4) & 0x0F);
+    }
+    
+    private void setFluidNibble(int index, int nibble) {
+        int i = index >> 1;
+        if ((index & 1) == 0) {
+            fluidLevels[i] = (byte) ((fluidLevels[i] & 0xF0) | nibble);
+        } else {
+            fluidLevels[i] = (byte) ((fluidLevels[i] & 0x0F) | (nibble << 4));
+        }
+    }
+    
+    /**
+     * Gets a copy of the packed fluid levels, for saving.
+     * 
+     * @return The fluid levels, two cells per byte
+     */
+    public byte[] getFluidLevels() {
+        return fluidLevels.clone();
+    }
+    
+    /**
+     * Restores saved fluid levels. Water blocks are replaced by the engine's block for their
+     * level, and all fluid is queued for evaluation so flows that were under way continue.
+     * 
+     * @param levels The fluid levels as returned by {@link #getFluidLevels()}
+     */
+    public void restoreFluidLevels(byte[] levels) {
+        if (levels == null || levels.length != fluidLevels.length) {
+            return;
+        }
+        boolean wasDirty = dirty;
+        for (int x = 0; x < CHUNK_SIZE; x++) {
+            for (int y = 0; y < CHUNK_SIZE; y++) {
+                for (int z = 0; z < CHUNK_SIZE; z++) {
+                    for (int w = 0; w < CHUNK_SIZE; w++) {
+                        if (blocks[x][y][z][w] instanceof Water) {
+                            int index = localIndex(x, y, z, w);
+                            int nibble = ((index & 1) == 0) ? (levels[index >> 1] & 0x0F) : ((levels[index >> 1] >> 4) & 0x0F);
+                            if (nibble != FluidEngine.DRY) {
+                                setBlock(x, y, z, w, FluidEngine.blockForNibble(nibble));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        dirty = wasDirty;
+        activateFluidNeighborhood();
+    }
+    
+    /**
+     * Queues every fluid cell of this chunk and its neighbors inside the chunk for the
+     * next fluid pass. Used after the chunk's content was replaced wholesale.
+     */
+    public void activateFluidNeighborhood() {
+        for (int x = 0; x < CHUNK_SIZE; x++) {
+            for (int y = 0; y < CHUNK_SIZE; y++) {
+                for (int z = 0; z < CHUNK_SIZE; z++) {
+                    for (int w = 0; w < CHUNK_SIZE; w++) {
+                        if (getFluidNibble(localIndex(x, y, z, w)) != FluidEngine.DRY) {
+                            activateFluid(x, y, z, w);
+                            if (x > 0) activateFluid(x - 1, y, z, w);
+                            if (x < CHUNK_SIZE - 1) activateFluid(x + 1, y, z, w);
+                            if (y > 0) activateFluid(x, y - 1, z, w);
+                            if (y < CHUNK_SIZE - 1) activateFluid(x, y + 1, z, w);
+                            if (z > 0) activateFluid(x, y, z - 1, w);
+                            if (z < CHUNK_SIZE - 1) activateFluid(x, y, z + 1, w);
+                            if (w > 0) activateFluid(x, y, z, w - 1);
+                            if (w < CHUNK_SIZE - 1) activateFluid(x, y, z, w + 1);
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Queues a cell for evaluation in the next fluid pass.
+     * 
+     * @param x Local X coordinate
+     * @param y Local Y coordinate
+     * @param z Local Z coordinate
+     * @param w Local W coordinate
+     */
+    void activateFluid(int x, int y, int z, int w) {
+        int index = localIndex(x, y, z, w);
+        activeFluid[index >> 6] |= 1L << index;
+        hasActiveFluid = true;
+    }
+    
+    /**
+     * Checks whether any cell is queued for the next fluid pass.
+     * 
+     * @return true if the fluid engine has work in this chunk
+     */
+    boolean hasActiveFluid() {
+        return hasActiveFluid;
+    }
+    
+    /**
+     * Hands the queued cells to the fluid engine and starts collecting cells for the pass after.
+     * The engine must clear every word of the returned set once it has read it.
+     * 
+     * @return The set of queued cells, one bit per cell index
+     */
+    long[] takeActiveFluid() {
+        long[] taken = activeFluid;
+        activeFluid = spareActiveFluid;
+        spareActiveFluid = taken;
+        hasActiveFluid = false;
+        return taken;
+    }
+    
+    /**
+     * Remembers a leaf generation placed outside this chunk.
+     * 
+     * @param x The world X coordinate of the leaf
+     * @param y The world Y coordinate of the leaf
+     * @param z The world Z coordinate of the leaf
+     * @param w The world W coordinate of the leaf
+     */
+    void addOverhangingLeaf(int x, int y, int z, int w) {
+        if (overhangingLeaves == null) {
+            overhangingLeaves = new PositionList(64);
+        }
+        overhangingLeaves.add(x, y, z, w);
+    }
+    
+    /**
+     * Hands over the leaves generation placed outside this chunk and forgets them.
+     * 
+     * @return The world positions of the leaves, or null if there are none
+     */
+    PositionList takeOverhangingLeaves() {
+        PositionList taken = overhangingLeaves;
+        overhangingLeaves = null;
+        return taken;
+    }
+    
     /**
      * Adds an entity to this chunk.
      * 
@@ -0,0 +1,124 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Open-addressing index of chunks by chunk position, for lookups on hot simulation
+ * paths that must not allocate a {@link Vector4DInt} key. The index is a copy of a chunk
+ * set and is rebuilt whenever that set changes; once it has grown to the number of
+ * chunks, rebuilding and lookups allocate nothing. Not thread-safe.
+ */
+class ChunkIndex {
+    private static final float MAX_LOAD = 0.5f;
+
+    // Slots are free where the chunk is null; the chunks' own positions serve as keys
+    private Chunk4D[] slots;
+    private int mask;
+
+    // The indexed chunks in the order they were added
+    private Chunk4D[] chunks;
+    private int size;
+
+    /**
+     * Creates an empty index sized for the given number of chunks.
+     *
+     * @param expectedSize The number of chunks expected without resizing
+     */
+    ChunkIndex(int expectedSize) {
+        allocate(expectedSize);
+    }
+
+    /**
+     * Replaces the contents of the index with the given chunks.
+     *
+     * @param source The chunks to index, keyed by their positions
+     */
+    void rebuild(Collection<Chunk4D> source) {
+        Arrays.fill(slots, null);
+        Arrays.fill(chunks, 0, size, null);
+        size = 0;
+        for (Chunk4D chunk : source) {
+            add(chunk);
+        }
+    }
+
+    /**
+     * Gets the chunk at a chunk position.
+     *
+     * @param x Chunk X coordinate
+     * @param y Chunk Y coordinate
+     * @param z Chunk Z coordinate
+     * @param w Chunk W coordinate
+     * @return The chunk, or null if it is not indexed
+     */
+    Chunk4D get(int x, int y, int z, int w) {
+        int slot = slotOf(x, y, z, w);
+        Chunk4D chunk;
+        while ((chunk = slots[slot]) != null) {
+            Vector4DInt position = chunk.getPosition();
+            if (position.getX() == x && position.getY() == y && position.getZ() == z && position.getW() == w) {
+                return chunk;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of indexed chunks.
+     *
+     * @return The number of chunks
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets an indexed chunk by its insertion index, for iterating over all chunks.
+     *
+     * @param index The index, from 0 to {@link #size()} - 1
+     * @return The chunk
+     */
+    Chunk4D chunkAt(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return chunks[index];
+    }
+
+    private void add(Chunk4D chunk) {
+        if (size + 1 > slots.length * MAX_LOAD) {
+            grow();
+        }
+        Vector4DInt position = chunk.getPosition();
+        int slot = slotOf(position.getX(), position.getY(), position.getZ(), position.getW());
+        while (slots[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = chunk;
+        chunks[size++] = chunk;
+    }
+
+    private void grow() {
+        Chunk4D[] indexed = chunks;
+        int count = size;
+        allocate(slots.length);
+        for (int i = 0; i < count; i++) {
+            add(indexed[i]);
+        }
+    }
+
+    private void allocate(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(8, (int) (expectedSize / MAX_LOAD)) - 1) << 1;
+        slots = new Chunk4D[capacity];
+        chunks = new Chunk4D[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private int slotOf(int x, int y, int z, int w) {
+        long hash = Vector4DInt.hash(x, y, z, w);
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
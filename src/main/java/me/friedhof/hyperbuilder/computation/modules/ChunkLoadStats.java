@@ -0,0 +1,153 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts how chunks enter and leave a world, for tuning the load and unload radii.
+ *
+ * A chunk enters by being read from disk, by being generated, or by being restored
+ * from the world's cache of recently evicted chunks. It leaves by being evicted into
+ * that cache, and is released for good once the cache drops it. The counters may be
+ * incremented from any thread (chunks are also loaded by the prefetcher's threads);
+ * the per-second rates are computed over one second windows rolled by the simulation.
+ */
+public class ChunkLoadStats {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final AtomicLong diskLoads = new AtomicLong();
+    private final AtomicLong generations = new AtomicLong();
+    private final AtomicLong restores = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong releases = new AtomicLong();
+
+    // Totals at the start of the current window
+    private long windowStart = System.nanoTime();
+    private long windowLoads;
+    private long windowRestores;
+    private long windowEvictions;
+    private long windowReleases;
+
+    // Rates of the last completed window
+    private volatile double loadsPerSecond;
+    private volatile double restoresPerSecond;
+    private volatile double evictionsPerSecond;
+    private volatile double releasesPerSecond;
+
+    void recordDiskLoad() {
+        diskLoads.incrementAndGet();
+    }
+
+    void recordGeneration() {
+        generations.incrementAndGet();
+    }
+
+    void recordRestore() {
+        restores.incrementAndGet();
+    }
+
+    void recordEviction() {
+        evictions.incrementAndGet();
+    }
+
+    void recordRelease() {
+        releases.incrementAndGet();
+    }
+
+    /**
+     * Rolls the rate window over once a second has passed. Called by the simulation thread.
+     *
+     * @param now The current {@link System#nanoTime()}
+     */
+    void update(long now) {
+        long windowLength = now - windowStart;
+        if (windowLength < NANOS_PER_SECOND) {
+            return;
+        }
+        double seconds = windowLength / (double) NANOS_PER_SECOND;
+        long loads = getLoads();
+        long restored = restores.get();
+        long evicted = evictions.get();
+        long released = releases.get();
+        loadsPerSecond = (loads - windowLoads) / seconds;
+        restoresPerSecond = (restored - windowRestores) / seconds;
+        evictionsPerSecond = (evicted - windowEvictions) / seconds;
+        releasesPerSecond = (released - windowReleases) / seconds;
+        windowStart = now;
+        windowLoads = loads;
+        windowRestores = restored;
+        windowEvictions = evicted;
+        windowReleases = released;
+    }
+
+    /**
+     * Gets the chunks read from disk or generated per second, during the last full second.
+     * Restores from the eviction cache are not included.
+     *
+     * @return The load rate
+     */
+    public double getLoadsPerSecond() {
+        return loadsPerSecond;
+    }
+
+    /**
+     * Gets the chunks restored from the eviction cache per second, during the last full second.
+     *
+     * @return The restore rate
+     */
+    public double getRestoresPerSecond() {
+        return restoresPerSecond;
+    }
+
+    /**
+     * Gets the chunks evicted past the unload radius per second, during the last full second.
+     *
+     * @return The unload rate
+     */
+    public double getEvictionsPerSecond() {
+        return evictionsPerSecond;
+    }
+
+    /**
+     * Gets the chunks dropped from the eviction cache per second, during the last full second.
+     *
+     * @return The release rate
+     */
+    public double getReleasesPerSecond() {
+        return releasesPerSecond;
+    }
+
+    /**
+     * Gets the total number of chunks read from disk or generated.
+     *
+     * @return The number of loads
+     */
+    public long getLoads() {
+        return diskLoads.get() + generations.get();
+    }
+
+    public long getDiskLoads() {
+        return diskLoads.get();
+    }
+
+    public long getGenerations() {
+        return generations.get();
+    }
+
+    public long getRestores() {
+        return restores.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getReleases() {
+        return releases.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d disk loads, %d generated, %d restored, %d evicted, %d released",
+            getDiskLoads(), getGenerations(), getRestores(), getEvictions(), getReleases());
+    }
+}
@@ -0,0 +1,313 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import me.friedhof.hyperbuilder.rendering.modules.Camera;
+import me.friedhof.hyperbuilder.rendering.modules.SliceRenderer;
+
+/**
+ * Predicts which chunks the player is about to enter and loads or generates them
+ * in the background, so crossing a chunk boundary does not stall on disk or generation.
+ *
+ * The prediction casts the player's position along its velocity in all four axes and
+ * computes, for every chunk around the player, the time until the visible area around
+ * the player first touches that chunk. Chunks are then requested in order of that
+ * time-to-arrival. Disk loads go through the world's LazyChunkLoader, everything
+ * else is generated.
+ */
+public class ChunkPrefetcher {
+    // How far ahead (in seconds) the player's movement is extrapolated
+    private static final double LOOKAHEAD_SECONDS = 2.0;
+
+    // Chebyshev radius (in chunks) of the candidate area around the player's chunk
+    private static final int CANDIDATE_RADIUS = 2;
+
+    // Arrival times along the camera's horizontal dimension are weighted by this factor,
+    // because that is the axis the player is currently looking along
+    private static final double VIEW_AXIS_WEIGHT = 0.75;
+
+    // Maximum number of chunk loads queued or running at the same time
+    private static final int MAX_IN_FLIGHT = 8;
+
+    private final World world;
+    private final ExecutorService executor;
+
+    // Chunks currently queued or being loaded in the background
+    private final Set<Vector4DInt> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Chunks that were prefetched and have not been accessed yet
+    private final Set<Vector4DInt> prefetchedUnused = ConcurrentHashMap.newKeySet();
+
+    // Latest prediction, kept loaded by the world even if outside the active radius
+    private volatile Set<Vector4DInt> predictedChunks = Collections.emptySet();
+
+    // Metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong chunksPrefetched = new AtomicLong();
+
+    /**
+     * Creates a new prefetcher for the given world.
+     *
+     * @param world The world to prefetch chunks for
+     */
+    public ChunkPrefetcher(World world) {
+        this.world = world;
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ChunkPrefetcher");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+    }
+
+    /**
+     * Re-evaluates the prediction for a player and enqueues background loads
+     * for the chunks it is about to enter, ordered by estimated time-to-arrival.
+     *
+     * @param player The player to predict for
+     * @param horizontalDimension The camera's current horizontal dimension
+     */
+    public void update(Player player, Camera.HorizontalDimension horizontalDimension) {
+        Vector4D position = player.getPosition();
+        Vector4D velocity = player.getVelocity();
+        Vector4DInt playerChunk = world.getChunkPosition(position);
+        int viewAxis = axisOf(horizontalDimension);
+
+        double[] p = { position.getX(), position.getY(), position.getZ(), position.getW() };
+        double[] v = { velocity.getX(), velocity.getY(), velocity.getZ(), velocity.getW() };
+        int[] c = { playerChunk.getX(), playerChunk.getY(), playerChunk.getZ(), playerChunk.getW() };
+
+        // The player sees SLICE_CENTER blocks in every direction, so a chunk is "entered"
+        // as soon as it comes within that margin
+        double margin = SliceRenderer.getSliceCenter();
+
+        List<Candidate> candidates = new ArrayList<>();
+        int[] offset = new int[4];
+        for (offset[0] = -CANDIDATE_RADIUS; offset[0] <= CANDIDATE_RADIUS; offset[0]++) {
+            for (offset[1] = -CANDIDATE_RADIUS; offset[1] <= CANDIDATE_RADIUS; offset[1]++) {
+                for (offset[2] = -CANDIDATE_RADIUS; offset[2] <= CANDIDATE_RADIUS; offset[2]++) {
+                    for (offset[3] = -CANDIDATE_RADIUS; offset[3] <= CANDIDATE_RADIUS; offset[3]++) {
+                        double arrival = timeToArrival(p, v, c, offset, margin);
+                        if (arrival > LOOKAHEAD_SECONDS) {
+                            continue;
+                        }
+
+                        // Prefer chunks that lie along the axis the camera looks along
+                        boolean alongViewAxis = offset[viewAxis] != 0;
+                        for (int axis = 0; axis < 4; axis++) {
+                            if (axis != viewAxis && axis != 1 && offset[axis] != 0) {
+                                alongViewAxis = false;
+                            }
+                        }
+                        if (alongViewAxis) {
+                            arrival *= VIEW_AXIS_WEIGHT;
+                        }
+
+                        candidates.add(new Candidate(new Vector4DInt(
+                            c[0] + offset[0], c[1] + offset[1], c[2] + offset[2], c[3] + offset[3]), arrival));
+                    }
+                }
+            }
+        }
+
+        candidates.sort((a, b) -> Double.compare(a.arrival, b.arrival));
+
+        Set<Vector4DInt> predicted = new java.util.HashSet<>();
+        for (Candidate candidate : candidates) {
+            predicted.add(candidate.chunkPos);
+        }
+        predictedChunks = predicted;
+
+        // Enqueue the soonest chunks that are neither loaded nor already on their way
+        for (Candidate candidate : candidates) {
+            if (inFlight.size() >= MAX_IN_FLIGHT) {
+                break;
+            }
+            Vector4DInt chunkPos = candidate.chunkPos;
+            if (world.isChunkLoaded(chunkPos) || !inFlight.add(chunkPos)) {
+                continue;
+            }
+            executor.submit(() -> prefetch(chunkPos));
+        }
+    }
+
+    /**
+     * Enqueues a background load of a chunk the world wants loaded, unless it is
+     * already on its way or too many loads are queued.
+     *
+     * @param chunkPos The chunk position
+     * @return true if the load was enqueued
+     */
+    boolean request(Vector4DInt chunkPos) {
+        if (inFlight.size() >= MAX_IN_FLIGHT || !inFlight.add(chunkPos)) {
+            return false;
+        }
+        executor.submit(() -> prefetch(chunkPos));
+        return true;
+    }
+
+    /**
+     * Loads or generates a single chunk in the background and hands it to the world,
+     * which installs it at the start of its next tick. The chunk stays in flight until
+     * then, so it is not requested a second time in between.
+     */
+    private void prefetch(Vector4DInt chunkPos) {
+        try {
+            if (world.isChunkLoaded(chunkPos)) {
+                inFlight.remove(chunkPos);
+                return;
+            }
+            Chunk4D chunk = world.loadOrGenerateChunk(chunkPos);
+            if (chunk == null) {
+                // Its file could not be read, the world retries after a delay
+                inFlight.remove(chunkPos);
+                return;
+            }
+            world.submit(() -> {
+                if (world.installPrefetchedChunk(chunkPos, chunk)) {
+                    prefetchedUnused.add(chunkPos);
+                    chunksPrefetched.incrementAndGet();
+                }
+                inFlight.remove(chunkPos);
+            });
+        } catch (Exception e) {
+            System.err.println("Failed to prefetch chunk " + chunkPos + ": " + e.getMessage());
+            inFlight.remove(chunkPos);
+        }
+    }
+
+    /**
+     * Computes when the visible area around the player will first overlap a chunk,
+     * assuming the player keeps its current velocity.
+     *
+     * @return The time in seconds, 0 if it already overlaps, or infinity if it never will
+     */
+    private double timeToArrival(double[] p, double[] v, int[] playerChunk, int[] offset, double margin) {
+        double entry = 0.0;
+        double exit = Double.POSITIVE_INFINITY;
+
+        for (int axis = 0; axis < 4; axis++) {
+            double min = (playerChunk[axis] + offset[axis]) * (double) Chunk4D.CHUNK_SIZE - margin;
+            double max = min + Chunk4D.CHUNK_SIZE + 2 * margin;
+
+            if (Math.abs(v[axis]) < 1e-6) {
+                if (p[axis] < min || p[axis] >= max) {
+                    return Double.POSITIVE_INFINITY;
+                }
+                continue;
+            }
+
+            double t1 = (min - p[axis]) / v[axis];
+            double t2 = (max - p[axis]) / v[axis];
+            entry = Math.max(entry, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+
+        return (entry <= exit) ? entry : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Maps a camera dimension to its axis index (0 = X, 2 = Z, 3 = W).
+     */
+    private static int axisOf(Camera.HorizontalDimension dimension) {
+        switch (dimension) {
+            case Z: return 2;
+            case W: return 3;
+            case X:
+            default: return 0;
+        }
+    }
+
+    /**
+     * Records an access to a loaded chunk. The first access to a prefetched chunk counts as a hit.
+     *
+     * @param chunkPos The accessed chunk position
+     */
+    void recordLoadedAccess(Vector4DInt chunkPos) {
+        if (!prefetchedUnused.isEmpty() && prefetchedUnused.remove(chunkPos)) {
+            hits.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records that a chunk had to be loaded or generated synchronously on access.
+     */
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    /**
+     * Forgets a chunk that was unloaded before it was ever used.
+     *
+     * @param chunkPos The unloaded chunk position
+     */
+    void forget(Vector4DInt chunkPos) {
+        prefetchedUnused.remove(chunkPos);
+    }
+
+    /**
+     * Checks whether a chunk is part of the latest prediction.
+     *
+     * @param chunkPos The chunk position
+     * @return true if the chunk is expected to be entered soon
+     */
+    public boolean isPredicted(Vector4DInt chunkPos) {
+        return predictedChunks.contains(chunkPos);
+    }
+
+    /**
+     * Gets the fraction of chunk accesses that were served by a prefetched chunk
+     * instead of a synchronous load or generation.
+     *
+     * @return The hit rate from 0.0 to 1.0, or 0.0 if no accesses were recorded
+     */
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getChunksPrefetched() {
+        return chunksPrefetched.get();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Stops the background loader threads.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A chunk together with its estimated time-to-arrival.
+     */
+    private static class Candidate {
+        private final Vector4DInt chunkPos;
+        private final double arrival;
+
+        Candidate(Vector4DInt chunkPos, double arrival) {
+            this.chunkPos = chunkPos;
+            this.arrival = arrival;
+        }
+    }
+}
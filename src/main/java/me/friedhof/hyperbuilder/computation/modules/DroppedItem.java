@@ -1,7 +1,6 @@
 package me.friedhof.hyperbuilder.computation.modules;
 
 import me.friedhof.hyperbuilder.computation.modules.items.BaseItem;
-import me.friedhof.hyperbuilder.computation.modules.interfaces.HasCollision;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Iterator;
@@ -16,6 +15,7 @@ public class DroppedItem extends Entity {
     private static final double DROPPED_ITEM_GRAVITY = 0.02; // Same gravity as player
     private static final long DESPAWN_TIME_MS = 300000; // 5 minutes in milliseconds
     private static final long PICKUP_DELAY_MS = 500; // 2 seconds pickup delay
+    private static final int SLEEP_AFTER_RESTING_TICKS = 30; // Half a second lying still
     
     private BaseItem item; // The item this entity represents
     private int count; // Number of items in this stack
@@ -23,6 +23,23 @@ public class DroppedItem extends Entity {
     private boolean shouldDespawn; // Flag to mark for removal
     private Map<Integer, Long> playerPickupTimers; // Per-player pickup timers (playerId -> timer start time)
     
+    // State computed by computeUpdate and committed by applyUpdate
+    private boolean hasNextState;
+    private double nextX;
+    private double nextY;
+    private double nextZ;
+    private double nextW;
+    private double nextVelocityX;
+    private double nextVelocityY;
+    private double nextVelocityZ;
+    private double nextVelocityW;
+    
+    // Consecutive ticks this item lay on solid ground without moving
+    private int restingTicks;
+    
+    // Resolves movement against solid blocks without loading chunks
+    private final BlockCollider collider = new BlockCollider(false);
+    
     /**
      * Creates a new dropped item entity.
      * 
@@ -83,8 +100,25 @@ public class DroppedItem extends Entity {
      */
     @Override
     public void update(double deltaTime, World world) {
+        computeUpdate(deltaTime, world);
+        applyUpdate(world);
+    }
+    
+    @Override
+    public boolean isParallelUpdatable() {
+        return true;
+    }
+    
+    /**
+     * Runs the despawn timer, physics and player proximity timers into this item's own state.
+     * 
+     * @param deltaTime The time elapsed since last update
+     * @param world The world this entity exists in
+     */
+    @Override
+    public void computeUpdate(double deltaTime, World world) {
+        hasNextState = false;
         
-
         // Check despawn timer
         long currentTime = System.currentTimeMillis();
         if (currentTime - spawnTime >= DESPAWN_TIME_MS) {
@@ -93,107 +127,129 @@ public class DroppedItem extends Entity {
         }
         
         // Apply gravity
+        double velocityY = getVelocityY();
         if (hasGravity()) {
-            Vector4D velocity = getVelocity();
-            velocity = velocity.add(new Vector4D(0, -DROPPED_ITEM_GRAVITY, 0, 0));
-            setVelocity(velocity);
+            velocityY -= DROPPED_ITEM_GRAVITY;
         }
         
         // Handle movement with collision detection
-        handleMovementWithCollision(world);
+        boolean resting = handleMovementWithCollision(world, getVelocityX(), velocityY, getVelocityZ(), getVelocityW());
+        restingTicks = resting ? restingTicks + 1 : 0;
         
         // Update player proximity timers
         updatePlayerProximity(world);
     }
     
+    /**
+     * Commits the position and velocity computed in {@link #computeUpdate}.
+     * 
+     * @param world The world this entity exists in
+     */
+    @Override
+    public void applyUpdate(World world) {
+        if (hasNextState) {
+            setPosition(nextX, nextY, nextZ, nextW);
+            setVelocity(nextVelocityX, nextVelocityY, nextVelocityZ, nextVelocityW);
+            hasNextState = false;
+        }
+    }
+    
     /**
      * Handles movement with collision detection for the dropped item.
-     * Similar to player movement but simpler.
+     * Similar to player movement but simpler. The result is stored as the next
+     * position and velocity, it becomes visible in {@link #applyUpdate}.
+     * Blocks in unloaded chunks count as solid, so items far from players rest where
+     * they are instead of loading chunks from a worker thread.
      * 
      * @param world The world to check collisions against
+     * @param velocityX The X velocity for this tick
+     * @param velocityY The Y velocity for this tick, with gravity applied
+     * @param velocityZ The Z velocity for this tick
+     * @param velocityW The W velocity for this tick
+     * @return true if the item lies on solid ground and did not move
      */
-    private void handleMovementWithCollision(World world) {
-        Vector4D velocity = getVelocity();
-        Vector4D position = getPosition();
+    private boolean handleMovementWithCollision(World world, double velocityX, double velocityY,
+                                                double velocityZ, double velocityW) {
+        boolean moved = false;
+        boolean grounded = false;
+        collider.setBox(this);
         
         // Handle X axis movement
-        Vector4D newPos = position.add(new Vector4D(velocity.getX(), 0, 0, 0));
-        if (!checkCollision(world, newPos)) {
-            position = newPos;
-        } else {
+        double step = collider.move(world, BlockCollider.X, velocityX);
+        moved |= step != 0;
+        if (step != velocityX) {
             // Stop all horizontal movement when hitting a wall
-            velocity = new Vector4D(0, velocity.getY(), 0, 0);
+            velocityX = velocityZ = velocityW = 0;
         }
         
         // Handle Y axis movement
-        newPos = position.add(new Vector4D(0, velocity.getY(), 0, 0));
-        if (!checkCollision(world, newPos)) {
-            position = newPos;
-        } else {
+        step = collider.move(world, BlockCollider.Y, velocityY);
+        moved |= step != 0;
+        if (step != velocityY) {
             // Stop all movement when hitting ground or ceiling
-            velocity = new Vector4D(0, 0, 0, 0);
+            grounded = velocityY < 0;
+            velocityX = velocityY = velocityZ = velocityW = 0;
         }
         
         // Handle Z axis movement
-        newPos = position.add(new Vector4D(0, 0, velocity.getZ(), 0));
-        if (!checkCollision(world, newPos)) {
-            position = newPos;
-        } else {
+        step = collider.move(world, BlockCollider.Z, velocityZ);
+        moved |= step != 0;
+        if (step != velocityZ) {
             // Stop all horizontal movement when hitting a wall
-            velocity = new Vector4D(0, velocity.getY(), 0, 0);
+            velocityX = velocityZ = velocityW = 0;
         }
         
         // Handle W axis movement
-        newPos = position.add(new Vector4D(0, 0, 0, velocity.getW()));
-        if (!checkCollision(world, newPos)) {
-            position = newPos;
-        } else {
+        step = collider.move(world, BlockCollider.W, velocityW);
+        moved |= step != 0;
+        if (step != velocityW) {
             // Stop all horizontal movement when hitting a wall
-            velocity = new Vector4D(0, velocity.getY(), 0, 0);
+            velocityX = velocityZ = velocityW = 0;
         }
         
-        setPosition(position);
-        setVelocity(velocity);
+        if (moved) {
+            nextX = collider.getCenter(BlockCollider.X);
+            nextY = collider.getCenter(BlockCollider.Y);
+            nextZ = collider.getCenter(BlockCollider.Z);
+            nextW = collider.getCenter(BlockCollider.W);
+        } else {
+            nextX = getX();
+            nextY = getY();
+            nextZ = getZ();
+            nextW = getW();
+        }
+        nextVelocityX = velocityX;
+        nextVelocityY = velocityY;
+        nextVelocityZ = velocityZ;
+        nextVelocityW = velocityW;
+        hasNextState = true;
+        return grounded && !moved;
     }
     
     /**
-     * Checks if the dropped item would collide with blocks at the given position.
+     * Checks whether this item has lain still on solid ground long enough to sleep.
+     * Items with players nearby stay awake so their pickup timers keep running.
      * 
-     * @param world The world to check against
-     * @param position The position to check
-     * @return true if there would be a collision
+     * @return true if the item may go to sleep
      */
-    private boolean checkCollision(World world, Vector4D position) {
-        // Get the bounding box of the dropped item
-        double minX = position.getX() - getSizeX() / 2;
-        double maxX = position.getX() + getSizeX() / 2;
-        double minY = position.getY() - getSizeY() / 2;
-        double maxY = position.getY() + getSizeY() / 2;
-        double minZ = position.getZ() - getSizeZ() / 2;
-        double maxZ = position.getZ() + getSizeZ() / 2;
-        double minW = position.getW() - getSizeW() / 2;
-        double maxW = position.getW() + getSizeW() / 2;
-        
-        // Check all blocks that the dropped item might intersect with
-        for (int x = (int) Math.floor(minX); x <= (int) Math.floor(maxX); x++) {
-            for (int y = (int) Math.floor(minY); y <= (int) Math.floor(maxY); y++) {
-                for (int z = (int) Math.floor(minZ); z <= (int) Math.floor(maxZ); z++) {
-                    for (int w = (int) Math.floor(minW); w <= (int) Math.floor(maxW); w++) {
-                        Vector4DInt blockPos = new Vector4DInt(x, y, z, w);
-                        me.friedhof.hyperbuilder.computation.modules.items.blocks.Block block = world.getBlock(blockPos);
-                        
-                        if (block != null && block instanceof HasCollision) {
-                            HasCollision collisionBlock = (HasCollision) block;
-                            if (collisionBlock.isSolid()) {
-                                return true;
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        
-        return false;
+    @Override
+    public boolean canSleep() {
+        return restingTicks >= SLEEP_AFTER_RESTING_TICKS && playerPickupTimers.isEmpty() && !shouldDespawn;
+    }
+    
+    /**
+     * Gets how long this item may sleep: it wakes up in time to despawn.
+     * 
+     * @return The remaining time before despawn in milliseconds
+     */
+    @Override
+    public long getMaxSleepMillis() {
+        return getRemainingDespawnTime();
+    }
+    
+    @Override
+    public void onWake() {
+        restingTicks = 0;
     }
     
     /**
@@ -202,26 +258,21 @@ public class DroppedItem extends Entity {
      * @param world The world to check for nearby players
      */
     public void updatePlayerProximity(World world) {
+        // Nothing to start or stop while no player is around, the common case
+        if (playerPickupTimers.isEmpty() && !world.isPlayerNear(getX(), getY(), getZ(), getW(), 1.0)) {
+            return;
+        }
         long currentTime = System.currentTimeMillis();
        
-        // Get all players in the world (assuming Player extends Entity)
-        java.util.List<Entity> entities = world.getEntitiesList();
+        // Only players within pickup range matter, not the other items
         java.util.Set<Integer> nearbyPlayerIds = new java.util.HashSet<>();
-        for (Entity entity : entities) {
-           
-            if (entity instanceof Player) {
-        
-                Player player = (Player) entity;
-                double distance = getPosition().subtract(player.getPosition()).magnitude();
-                if (distance <= 1.0) { // Same detection range as pickup range
-                    int playerId = player.getId();
-                    nearbyPlayerIds.add(playerId);
-                    
-                    // Start timer if not already started
-                    if (!playerPickupTimers.containsKey(playerId)) {
-                        playerPickupTimers.put(playerId, currentTime);
-                    }
-                }
+        for (Player player : world.queryPlayers(getPosition(), 1.0)) {
+            int playerId = player.getId();
+            nearbyPlayerIds.add(playerId);
+            
+            // Start timer if not already started
+            if (!playerPickupTimers.containsKey(playerId)) {
+                playerPickupTimers.put(playerId, currentTime);
             }
         }
         
@@ -334,6 +385,52 @@ public class DroppedItem extends Entity {
         return count;
     }
     
+    /**
+     * Checks whether another dropped item can be merged into this one.
+     * 
+     * @param other The item to merge
+     * @return true if both hold the same material, neither is about to despawn and this stack is not full
+     */
+    public boolean canMergeWith(DroppedItem other) {
+        return other != this && !shouldDespawn && !other.shouldDespawn
+            && item.getItemId() == other.item.getItemId()
+            && count < item.getMaxStackSize();
+    }
+    
+    /**
+     * Moves as many items as fit from another dropped item into this stack.
+     * The other item is marked for despawn once it is empty. The merged stack keeps the
+     * later despawn time of the two, so merging never makes items disappear sooner.
+     * 
+     * @param other The item to merge into this one
+     * @return The number of items that were moved
+     */
+    public int mergeFrom(DroppedItem other) {
+        int moved = Math.min(other.count, item.getMaxStackSize() - count);
+        if (moved <= 0) {
+            return 0;
+        }
+        setCount(count + moved);
+        other.setCount(other.count - moved);
+        spawnTime = Math.max(spawnTime, other.spawnTime);
+        if (other.count == 0) {
+            other.markForDespawn();
+        }
+        return moved;
+    }
+    
+    /**
+     * Sets the number of items in this stack, keeping the carried item's count in sync.
+     * 
+     * @param count The new item count
+     */
+    private void setCount(int count) {
+        this.count = count;
+        if (count > 0) {
+            this.item = item.withCount(count);
+        }
+    }
+    
     /**
      * Gets the despawn timer value.
      * 
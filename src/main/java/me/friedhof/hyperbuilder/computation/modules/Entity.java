@@ -3,14 +3,33 @@ package me.friedhof.hyperbuilder.computation.modules;
 /**
  * Base class for all entities in the 4D world.
  * Entities are objects that can move and interact with the world, such as players, items, etc.
+ *
+ * Position and velocity are kept as plain doubles, so physics can update them every
+ * tick without allocating. {@link Vector4D} getters and setters remain for callers
+ * outside the simulation; they create or read a vector on every call.
  */
 public abstract class Entity {
     // Unique identifier for this entity
     private final int id;
     
     // Position and velocity in the 4D world
-    private Vector4D position;
-    private Vector4D velocity;
+    private double x;
+    private double y;
+    private double z;
+    private double w;
+    private double velocityX;
+    private double velocityY;
+    private double velocityZ;
+    private double velocityW;
+    
+    // Position at the start of the current simulation tick, used for render interpolation
+    private double previousX;
+    private double previousY;
+    private double previousZ;
+    private double previousW;
+    
+    // Cell of the world's entity grid this entity is filed under (null if none), maintained by the world
+    EntityGrid.CellKey gridCell;
     
     // Entity size (collision box dimensions)
     private final double sizeX;
@@ -21,6 +40,9 @@ public abstract class Entity {
     // Whether this entity is affected by gravity
     private boolean gravity;
     
+    // Whether the world skips this entity's updates until something wakes it
+    private volatile boolean sleeping;
+    
     /**
      * Creates a new entity with the specified ID and position.
      * 
@@ -33,8 +55,8 @@ public abstract class Entity {
      */
     public Entity(int id, Vector4D position, double sizeX, double sizeY, double sizeZ, double sizeW) {
         this.id = id;
-        this.position = position;
-        this.velocity = new Vector4D();
+        setPosition(position);
+        storePreviousPosition();
         this.sizeX = sizeX;
         this.sizeY = sizeY;
         this.sizeZ = sizeZ;
@@ -54,10 +76,46 @@ public abstract class Entity {
     /**
      * Gets the current position of this entity.
      * 
-     * @return The entity position
+     * @return A new vector holding the entity position
      */
     public Vector4D getPosition() {
-        return position;
+        return new Vector4D(x, y, z, w);
+    }
+    
+    /**
+     * Gets the X coordinate of this entity.
+     * 
+     * @return The X coordinate
+     */
+    public double getX() {
+        return x;
+    }
+    
+    /**
+     * Gets the Y coordinate of this entity.
+     * 
+     * @return The Y coordinate
+     */
+    public double getY() {
+        return y;
+    }
+    
+    /**
+     * Gets the Z coordinate of this entity.
+     * 
+     * @return The Z coordinate
+     */
+    public double getZ() {
+        return z;
+    }
+    
+    /**
+     * Gets the W coordinate of this entity.
+     * 
+     * @return The W coordinate
+     */
+    public double getW() {
+        return w;
     }
     
     /**
@@ -66,16 +124,97 @@ public abstract class Entity {
      * @param position The new position
      */
     public void setPosition(Vector4D position) {
-        this.position = position;
+        setPosition(position.getX(), position.getY(), position.getZ(), position.getW());
+    }
+    
+    /**
+     * Sets the position of this entity without allocating.
+     * 
+     * @param x The new X coordinate
+     * @param y The new Y coordinate
+     * @param z The new Z coordinate
+     * @param w The new W coordinate
+     */
+    public void setPosition(double x, double y, double z, double w) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+    }
+    
+    /**
+     * Remembers the current position as the start of the next simulation tick.
+     * Called by the world before entities are updated.
+     */
+    public void storePreviousPosition() {
+        previousX = x;
+        previousY = y;
+        previousZ = z;
+        previousW = w;
+    }
+    
+    /**
+     * Gets the position of this entity blended between the previous and the current tick.
+     * Rendering uses this so movement stays smooth when frames fall between ticks.
+     * 
+     * @param alpha The fraction of a tick elapsed since the last tick, from 0.0 to 1.0
+     * @return The interpolated position
+     */
+    public Vector4D getInterpolatedPosition(double alpha) {
+        if (alpha >= 1.0) {
+            return getPosition();
+        }
+        return new Vector4D(
+            previousX + (x - previousX) * alpha,
+            previousY + (y - previousY) * alpha,
+            previousZ + (z - previousZ) * alpha,
+            previousW + (w - previousW) * alpha
+        );
     }
     
     /**
      * Gets the current velocity of this entity.
      * 
-     * @return The entity velocity
+     * @return A new vector holding the entity velocity
      */
     public Vector4D getVelocity() {
-        return velocity;
+        return new Vector4D(velocityX, velocityY, velocityZ, velocityW);
+    }
+    
+    /**
+     * Gets the X velocity of this entity.
+     * 
+     * @return The X velocity
+     */
+    public double getVelocityX() {
+        return velocityX;
+    }
+    
+    /**
+     * Gets the Y velocity of this entity.
+     * 
+     * @return The Y velocity
+     */
+    public double getVelocityY() {
+        return velocityY;
+    }
+    
+    /**
+     * Gets the Z velocity of this entity.
+     * 
+     * @return The Z velocity
+     */
+    public double getVelocityZ() {
+        return velocityZ;
+    }
+    
+    /**
+     * Gets the W velocity of this entity.
+     * 
+     * @return The W velocity
+     */
+    public double getVelocityW() {
+        return velocityW;
     }
     
     /**
@@ -84,7 +223,22 @@ public abstract class Entity {
      * @param velocity The new velocity
      */
     public void setVelocity(Vector4D velocity) {
-        this.velocity = velocity;
+        setVelocity(velocity.getX(), velocity.getY(), velocity.getZ(), velocity.getW());
+    }
+    
+    /**
+     * Sets the velocity of this entity without allocating.
+     * 
+     * @param velocityX The new X velocity
+     * @param velocityY The new Y velocity
+     * @param velocityZ The new Z velocity
+     * @param velocityW The new W velocity
+     */
+    public void setVelocity(double velocityX, double velocityY, double velocityZ, double velocityW) {
+        this.velocityX = velocityX;
+        this.velocityY = velocityY;
+        this.velocityZ = velocityZ;
+        this.velocityW = velocityW;
     }
     
     /**
@@ -149,6 +303,79 @@ public abstract class Entity {
      */
     public abstract void update(double deltaTime, World world);
     
+    /**
+     * Checks whether this entity's update is split into {@link #computeUpdate} and
+     * {@link #applyUpdate}, so the world may compute it on a worker thread.
+     * 
+     * @return true if the entity supports the two-phase update
+     */
+    public boolean isParallelUpdatable() {
+        return false;
+    }
+    
+    /**
+     * Computes this entity's next state. May run on a worker thread alongside other entities,
+     * so it must only read the world and write state that belongs to this entity.
+     * 
+     * @param deltaTime The time elapsed since the last update in seconds
+     * @param world The world to read during the update
+     */
+    public void computeUpdate(double deltaTime, World world) {
+    }
+    
+    /**
+     * Commits the state computed by {@link #computeUpdate}. Runs on the simulation thread,
+     * one entity after another, after all entities finished computing.
+     * 
+     * @param world The world the entity is in
+     */
+    public void applyUpdate(World world) {
+    }
+    
+    /**
+     * Checks whether this entity has come to rest and may stop being updated.
+     * Asked by the world after each update; a sleeping entity only updates again
+     * once a nearby block changes, a player comes near or its sleep time runs out.
+     * 
+     * @return true if the entity may go to sleep
+     */
+    public boolean canSleep() {
+        return false;
+    }
+    
+    /**
+     * Gets how long this entity may sleep before it has to update again, e.g. to despawn.
+     * 
+     * @return The maximum sleep time in milliseconds, or Long.MAX_VALUE for no limit
+     */
+    public long getMaxSleepMillis() {
+        return Long.MAX_VALUE;
+    }
+    
+    /**
+     * Called when the world wakes this entity up, before its next update.
+     */
+    public void onWake() {
+    }
+    
+    /**
+     * Checks whether this entity is sleeping.
+     * 
+     * @return true if the world currently skips this entity's updates
+     */
+    public boolean isSleeping() {
+        return sleeping;
+    }
+    
+    /**
+     * Sets whether this entity is sleeping. Only the world changes this.
+     * 
+     * @param sleeping true to put the entity to sleep, false to wake it
+     */
+    void setSleeping(boolean sleeping) {
+        this.sleeping = sleeping;
+    }
+    
     /**
      * Gets the chunk position of this entity.
      * 
@@ -156,10 +383,10 @@ public abstract class Entity {
      */
     public Vector4DInt getChunkPosition() {
         return new Vector4DInt(
-            (int) Math.floor(position.getX() / Chunk4D.CHUNK_SIZE),
-            (int) Math.floor(position.getY() / Chunk4D.CHUNK_SIZE),
-            (int) Math.floor(position.getZ() / Chunk4D.CHUNK_SIZE),
-            (int) Math.floor(position.getW() / Chunk4D.CHUNK_SIZE)
+            (int) Math.floor(x / Chunk4D.CHUNK_SIZE),
+            (int) Math.floor(y / Chunk4D.CHUNK_SIZE),
+            (int) Math.floor(z / Chunk4D.CHUNK_SIZE),
+            (int) Math.floor(w / Chunk4D.CHUNK_SIZE)
         );
     }
     
@@ -169,6 +396,6 @@ public abstract class Entity {
      * @return The block coordinates containing this entity
      */
     public Vector4DInt getBlockPosition() {
-        return position.toVector4DInt();
+        return new Vector4DInt((int) Math.floor(x), (int) Math.floor(y), (int) Math.floor(z), (int) Math.floor(w));
     }
 }
\ No newline at end of file
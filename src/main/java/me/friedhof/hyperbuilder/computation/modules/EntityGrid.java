@@ -0,0 +1,344 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Uniform 4D grid over entity positions for proximity queries.
+ *
+ * Every entity is kept in the cell containing its position, and the world moves it to
+ * a new cell when it changes position during a tick. Queries only visit the cells that
+ * overlap the queried region instead of every entity in the world. The grid is changed
+ * on the simulation thread but may be queried from other threads (e.g. rendering), so
+ * cells hold copy-on-write arrays; a concurrent query sees each entity in its old or
+ * new cell.
+ *
+ * An entity that stays in its cell costs nothing, and the fill-style queries meant for
+ * the simulation thread look cells up through a reused key, so neither allocates.
+ * Only moving an entity to another cell copies the arrays involved.
+ */
+class EntityGrid {
+    // Edge length of a cell in blocks, about twice the common query radius
+    static final double CELL_SIZE = 2.0;
+
+    private static final Entity[] EMPTY = new Entity[0];
+
+    private final Map<CellKey, Cell> cells = new ConcurrentHashMap<>();
+
+    // Lookup key reused by the simulation thread
+    private final CellKey probe = new CellKey(0, 0, 0, 0);
+
+    /**
+     * Inserts an entity or moves it to the cell of its current position.
+     * Simulation thread only.
+     *
+     * @param entity The entity to track
+     */
+    void update(Entity entity) {
+        int x = cellCoord(entity.getX());
+        int y = cellCoord(entity.getY());
+        int z = cellCoord(entity.getZ());
+        int w = cellCoord(entity.getW());
+        CellKey previous = entity.gridCell;
+        if (previous != null && previous.is(x, y, z, w)) {
+            return;
+        }
+        if (previous != null) {
+            removeFromCell(previous, entity);
+        }
+        Cell target = cells.get(probe(x, y, z, w));
+        if (target == null) {
+            target = new Cell(new CellKey(x, y, z, w));
+            cells.put(target.key, target);
+        }
+        entity.gridCell = target.key;
+        target.add(entity);
+    }
+
+    /**
+     * Stops tracking an entity. Simulation thread only.
+     *
+     * @param entity The entity to remove
+     */
+    void remove(Entity entity) {
+        CellKey previous = entity.gridCell;
+        if (previous != null) {
+            removeFromCell(previous, entity);
+            entity.gridCell = null;
+        }
+    }
+
+    private void removeFromCell(CellKey cell, Entity entity) {
+        Cell source = cells.get(cell);
+        if (source != null && source.remove(entity)) {
+            cells.remove(cell);
+        }
+    }
+
+    /**
+     * Finds the entities within a distance of a point.
+     *
+     * @param center The center of the query
+     * @param radius The maximum distance from the center
+     * @return The entities whose position is within the radius
+     */
+    List<Entity> queryRadius(Vector4D center, double radius) {
+        List<Entity> result = new ArrayList<>();
+        double cx = center.getX(), cy = center.getY(), cz = center.getZ(), cw = center.getW();
+        double radiusSquared = radius * radius;
+        visitCells(cx - radius, cy - radius, cz - radius, cw - radius,
+                   cx + radius, cy + radius, cz + radius, cw + radius,
+                   entity -> {
+                       if (distanceSquared(entity, cx, cy, cz, cw) <= radiusSquared) {
+                           result.add(entity);
+                       }
+                   });
+        return result;
+    }
+
+    /**
+     * Collects the entities within a distance of a point without allocating, as long as
+     * the result list has room. Simulation thread only.
+     *
+     * @param x The X coordinate of the center
+     * @param y The Y coordinate of the center
+     * @param z The Z coordinate of the center
+     * @param w The W coordinate of the center
+     * @param radius The maximum distance from the center
+     * @param result The list the entities are appended to
+     */
+    void queryRadius(double x, double y, double z, double w, double radius, List<Entity> result) {
+        double radiusSquared = radius * radius;
+        int fromX = cellCoord(x - radius), toX = cellCoord(x + radius);
+        int fromY = cellCoord(y - radius), toY = cellCoord(y + radius);
+        int fromZ = cellCoord(z - radius), toZ = cellCoord(z + radius);
+        int fromW = cellCoord(w - radius), toW = cellCoord(w + radius);
+        for (int cx = fromX; cx <= toX; cx++) {
+            for (int cy = fromY; cy <= toY; cy++) {
+                for (int cz = fromZ; cz <= toZ; cz++) {
+                    for (int cw = fromW; cw <= toW; cw++) {
+                        Cell cell = cells.get(probe(cx, cy, cz, cw));
+                        if (cell == null) {
+                            continue;
+                        }
+                        for (Entity entity : cell.members) {
+                            if (distanceSquared(entity, x, y, z, w) <= radiusSquared) {
+                                result.add(entity);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the entities inside an axis-aligned box.
+     *
+     * @param min The minimum corner of the box
+     * @param max The maximum corner of the box
+     * @return The entities whose position is inside the box, bounds included
+     */
+    List<Entity> queryBox(Vector4D min, Vector4D max) {
+        List<Entity> result = new ArrayList<>();
+        visitCells(min.getX(), min.getY(), min.getZ(), min.getW(), max.getX(), max.getY(), max.getZ(), max.getW(),
+                   entity -> {
+                       if (entity.getX() >= min.getX() && entity.getX() <= max.getX()
+                               && entity.getY() >= min.getY() && entity.getY() <= max.getY()
+                               && entity.getZ() >= min.getZ() && entity.getZ() <= max.getZ()
+                               && entity.getW() >= min.getW() && entity.getW() <= max.getW()) {
+                           result.add(entity);
+                       }
+                   });
+        return result;
+    }
+
+    /**
+     * Collects the entities inside an axis-aligned box without allocating, as long as
+     * the result list has room. Simulation thread only.
+     *
+     * @param minX The minimum X coordinate of the box
+     * @param minY The minimum Y coordinate of the box
+     * @param minZ The minimum Z coordinate of the box
+     * @param minW The minimum W coordinate of the box
+     * @param maxX The maximum X coordinate of the box
+     * @param maxY The maximum Y coordinate of the box
+     * @param maxZ The maximum Z coordinate of the box
+     * @param maxW The maximum W coordinate of the box
+     * @param result The list the entities inside the box, bounds included, are appended to
+     */
+    void queryBox(double minX, double minY, double minZ, double minW,
+                  double maxX, double maxY, double maxZ, double maxW, List<Entity> result) {
+        int fromX = cellCoord(minX), toX = cellCoord(maxX);
+        int fromY = cellCoord(minY), toY = cellCoord(maxY);
+        int fromZ = cellCoord(minZ), toZ = cellCoord(maxZ);
+        int fromW = cellCoord(minW), toW = cellCoord(maxW);
+        for (int cx = fromX; cx <= toX; cx++) {
+            for (int cy = fromY; cy <= toY; cy++) {
+                for (int cz = fromZ; cz <= toZ; cz++) {
+                    for (int cw = fromW; cw <= toW; cw++) {
+                        Cell cell = cells.get(probe(cx, cy, cz, cw));
+                        if (cell == null) {
+                            continue;
+                        }
+                        for (Entity entity : cell.members) {
+                            if (entity.getX() >= minX && entity.getX() <= maxX
+                                    && entity.getY() >= minY && entity.getY() <= maxY
+                                    && entity.getZ() >= minZ && entity.getZ() <= maxZ
+                                    && entity.getW() >= minW && entity.getW() <= maxW) {
+                                result.add(entity);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of non-empty cells.
+     *
+     * @return The number of occupied cells
+     */
+    int getCellCount() {
+        return cells.size();
+    }
+
+    /**
+     * Hands every entity in the cells overlapping a box to the visitor.
+     * Large boxes walk the occupied cells instead of every cell in the box.
+     * Allocates its lookup keys, so it is safe on any thread.
+     */
+    private void visitCells(double minX, double minY, double minZ, double minW,
+                            double maxX, double maxY, double maxZ, double maxW,
+                            java.util.function.Consumer<Entity> visitor) {
+        int fromX = cellCoord(minX), toX = cellCoord(maxX);
+        int fromY = cellCoord(minY), toY = cellCoord(maxY);
+        int fromZ = cellCoord(minZ), toZ = cellCoord(maxZ);
+        int fromW = cellCoord(minW), toW = cellCoord(maxW);
+
+        long boxCells = (long) (toX - fromX + 1) * (toY - fromY + 1) * (toZ - fromZ + 1) * (toW - fromW + 1);
+        if (boxCells > cells.size()) {
+            for (Map.Entry<CellKey, Cell> entry : cells.entrySet()) {
+                CellKey cell = entry.getKey();
+                if (cell.x >= fromX && cell.x <= toX && cell.y >= fromY && cell.y <= toY
+                        && cell.z >= fromZ && cell.z <= toZ && cell.w >= fromW && cell.w <= toW) {
+                    for (Entity entity : entry.getValue().members) {
+                        visitor.accept(entity);
+                    }
+                }
+            }
+            return;
+        }
+
+        for (int x = fromX; x <= toX; x++) {
+            for (int y = fromY; y <= toY; y++) {
+                for (int z = fromZ; z <= toZ; z++) {
+                    for (int w = fromW; w <= toW; w++) {
+                        Cell cell = cells.get(new CellKey(x, y, z, w));
+                        if (cell != null) {
+                            for (Entity entity : cell.members) {
+                                visitor.accept(entity);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private CellKey probe(int x, int y, int z, int w) {
+        probe.x = x;
+        probe.y = y;
+        probe.z = z;
+        probe.w = w;
+        return probe;
+    }
+
+    private static double distanceSquared(Entity entity, double x, double y, double z, double w) {
+        double dx = entity.getX() - x;
+        double dy = entity.getY() - y;
+        double dz = entity.getZ() - z;
+        double dw = entity.getW() - w;
+        return dx * dx + dy * dy + dz * dz + dw * dw;
+    }
+
+    private static int cellCoord(double coordinate) {
+        return (int) Math.floor(coordinate / CELL_SIZE);
+    }
+
+    /**
+     * Cell position as a map key. Keys stored in the map (and in entities) are never
+     * changed; only the probe is, and only by the simulation thread.
+     */
+    static final class CellKey {
+        private int x;
+        private int y;
+        private int z;
+        private int w;
+
+        private CellKey(int x, int y, int z, int w) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.w = w;
+        }
+
+        private boolean is(int x, int y, int z, int w) {
+            return this.x == x && this.y == y && this.z == z && this.w == w;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof CellKey)) {
+                return false;
+            }
+            CellKey key = (CellKey) other;
+            return is(key.x, key.y, key.z, key.w);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(Vector4DInt.hash(x, y, z, w));
+        }
+    }
+
+    /**
+     * Entities of one cell. Readers take the array as it is; the simulation thread
+     * replaces it on every change.
+     */
+    private static final class Cell {
+        private final CellKey key;
+        private volatile Entity[] members = EMPTY;
+
+        Cell(CellKey key) {
+            this.key = key;
+        }
+
+        void add(Entity entity) {
+            Entity[] current = members;
+            Entity[] next = java.util.Arrays.copyOf(current, current.length + 1);
+            next[current.length] = entity;
+            members = next;
+        }
+
+        /**
+         * @return true if the cell is empty afterwards
+         */
+        boolean remove(Entity entity) {
+            Entity[] current = members;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == entity) {
+                    Entity[] next = new Entity[current.length - 1];
+                    System.arraycopy(current, 0, next, 0, i);
+                    System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                    members = next;
+                    break;
+                }
+            }
+            return members.length == 0;
+        }
+    }
+}
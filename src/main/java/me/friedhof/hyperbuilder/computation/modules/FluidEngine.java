@@ -0,0 +1,642 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import me.friedhof.hyperbuilder.computation.modules.items.BaseItem;
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.AirItem;
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.Block;
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.Water;
+
+/**
+ * Simulates water flow on the fluid levels stored in each chunk.
+ *
+ * Every chunk keeps one nibble per cell ({@link #DRY}, a flowing level, or {@link #SOURCE})
+ * and a set of cells to re-evaluate. Each pass evaluates all queued cells against the
+ * levels of the previous pass, then applies the changes in one batch and queues the
+ * changed cells and their neighbors for the next pass. Cells that did not change drop
+ * out of the set, so a settled lake costs nothing.
+ *
+ * A cell's level follows from its neighbors alone:
+ * <ul>
+ *   <li>a source never changes on its own,</li>
+ *   <li>water below any wet cell falls at full level,</li>
+ *   <li>otherwise a cell gets one level less than its best horizontal feeder, where a
+ *       neighbor feeds if it is a source or rests on solid ground,</li>
+ *   <li>an unfed cell loses one level per pass until it dries up.</li>
+ * </ul>
+ * Because the highest unfed level drops every pass, water cut off from its source drains
+ * in a bounded number of passes without tracking where it came from.
+ *
+ * Evaluating a cell reads only chunk arrays and allocates nothing. Fluid cells hold
+ * shared {@link Water} instances per level, so changing a level allocates nothing either.
+ * Levels are derived from the sources, which the engine never places or removes, so
+ * they are saved with the chunk but not journaled; after a crash they are derived
+ * again from the journaled sources. Items around the changed cells of a chunk are
+ * woken through one box per chunk and pass.
+ *
+ * The evaluation phase is partitioned by chunk and runs on a {@link ForkJoinPool} once
+ * enough chunks are active. Workers only read the current levels (which stay untouched
+ * until the pass ends) and write the next levels into their own chunk's change buffer,
+ * so the two act as a double buffer. The buffers are then merged on the calling thread
+ * in chunk position order, which is also where border cells activate cells in
+ * neighboring chunks. The result is identical for any number of threads.
+ */
+public class FluidEngine {
+    /** Nibble of a cell without fluid. */
+    static final int DRY = 0;
+
+    /** Nibble of a source block. Flowing levels 0 to 7 are stored as 1 to 8. */
+    static final int SOURCE = 15;
+
+    /** Level of a source or of falling water. */
+    private static final int MAX_LEVEL = 7;
+
+    /** World ticks between two fluid passes (250ms at 60 ticks per second). */
+    public static final int FLUID_TICK_INTERVAL_TICKS = 15;
+
+    private static final int S = Chunk4D.CHUNK_SIZE;
+
+    // Below this many active chunks a pass is evaluated on the calling thread
+    private static final int PARALLEL_THRESHOLD_CHUNKS = 4;
+
+    // Fixed order in which chunk passes are merged, by chunk position
+    private static final Comparator<Chunk4D> MERGE_ORDER = Comparator
+        .comparingInt((Chunk4D chunk) -> chunk.getPosition().getX())
+        .thenComparingInt(chunk -> chunk.getPosition().getY())
+        .thenComparingInt(chunk -> chunk.getPosition().getZ())
+        .thenComparingInt(chunk -> chunk.getPosition().getW());
+
+    // Shared pool for evaluating fluid chunks in parallel
+    private static final ForkJoinPool FLUID_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    // Direction indices into the per-chunk neighbor cache
+    private static final int NEG_X = 0, POS_X = 1, NEG_Y = 2, POS_Y = 3, NEG_Z = 4, POS_Z = 5, NEG_W = 6, POS_W = 7;
+
+    // Shared blocks written by the engine, indexed by nibble. Never mutate these.
+    private static final Water[] BLOCKS_BY_NIBBLE = new Water[16];
+    private static final Block AIR = new AirItem();
+
+    static {
+        for (int level = 0; level <= MAX_LEVEL; level++) {
+            BLOCKS_BY_NIBBLE[level + 1] = new Water(level, false);
+        }
+        BLOCKS_BY_NIBBLE[SOURCE] = new Water(MAX_LEVEL, true);
+    }
+
+    private final World world;
+    private final ForkJoinPool pool;
+
+    // Packed positions of blocks changed through the world, applied at the next pass
+    private final PositionList changedPositions = new PositionList(256);
+
+    // Loaded chunks by packed position, rebuilt when the world's chunk set changes
+    private final ChunkIndex loadedChunks = new ChunkIndex(256);
+    private long indexedChunkSetVersion = -1;
+
+    // Chunks with queued cells in the current pass
+    private final List<Chunk4D> passChunks = new ArrayList<>();
+
+    // Per-chunk change buffers, reused across passes; the first passCount are in use
+    private final List<ChunkPass> passes = new ArrayList<>();
+    private int passCount;
+
+    // Metrics of the last pass
+    private int lastEvaluated;
+    private int lastChanged;
+    private int lastActiveChunks;
+    private long lastPassNanos;
+    private boolean lastParallel;
+    private long totalPasses;
+
+    /**
+     * Creates a new fluid engine for the given world.
+     *
+     * @param world The world whose loaded chunks are simulated
+     */
+    public FluidEngine(World world) {
+        this(world, FLUID_POOL);
+    }
+
+    /**
+     * Creates a new fluid engine that evaluates chunks on the given pool.
+     *
+     * @param world The world whose loaded chunks are simulated
+     * @param pool The pool for parallel evaluation, or null to always evaluate on the calling thread
+     */
+    public FluidEngine(World world, ForkJoinPool pool) {
+        this.world = world;
+        this.pool = pool;
+    }
+
+    /**
+     * Encodes the fluid state of a block as a nibble.
+     *
+     * @param block The block
+     * @return The nibble, {@link #DRY} for anything but water
+     */
+    static int nibbleOf(Block block) {
+        if (!(block instanceof Water)) {
+            return DRY;
+        }
+        Water water = (Water) block;
+        return water.isSource() ? SOURCE : water.getFlowLevel() + 1;
+    }
+
+    /**
+     * Gets the shared block that represents a fluid nibble.
+     *
+     * @param nibble A non-dry nibble
+     * @return The water block for that level
+     */
+    static Block blockForNibble(int nibble) {
+        Water block = BLOCKS_BY_NIBBLE[nibble];
+        return (block != null) ? block : BLOCKS_BY_NIBBLE[SOURCE];
+    }
+
+    /**
+     * Queues the cells around a changed block for the next pass. Simulation thread only;
+     * {@link World#setBlock} forwards changes made on other threads.
+     *
+     * @param position The world position of the changed block
+     */
+    public void onBlockChanged(Vector4DInt position) {
+        changedPositions.add(position.getX(), position.getY(), position.getZ(), position.getW());
+    }
+
+    /**
+     * Runs a fluid pass if one is due at the given tick.
+     *
+     * @param worldTick The current world tick
+     */
+    public void update(long worldTick) {
+        if (worldTick % FLUID_TICK_INTERVAL_TICKS == 0) {
+            runPass();
+        }
+    }
+
+    /**
+     * Evaluates all queued cells and applies the resulting level changes.
+     */
+    public void runPass() {
+        long startTime = System.nanoTime();
+        refreshChunkIndex();
+        activateChangedPositions();
+
+        passChunks.clear();
+        for (int i = 0; i < loadedChunks.size(); i++) {
+            Chunk4D chunk = loadedChunks.chunkAt(i);
+            if (chunk.hasActiveFluid()) {
+                passChunks.add(chunk);
+            }
+        }
+        // Fixed merge order, independent of map iteration and thread scheduling
+        passChunks.sort(MERGE_ORDER);
+
+        passCount = 0;
+        for (Chunk4D chunk : passChunks) {
+            refreshNeighbors(chunk);
+            if (passCount == passes.size()) {
+                passes.add(new ChunkPass());
+            }
+            ChunkPass pass = passes.get(passCount++);
+            pass.chunk = chunk;
+            pass.changeCount = 0;
+            pass.evaluated = 0;
+        }
+
+        // Phase 1: compute new levels from the current ones only, one chunk per task
+        boolean parallel = pool != null && pool.getParallelism() > 1 && passCount >= PARALLEL_THRESHOLD_CHUNKS;
+        if (parallel) {
+            pool.invoke(new EvaluateTask(0, passCount));
+        } else {
+            for (int i = 0; i < passCount; i++) {
+                evaluateChunk(passes.get(i));
+            }
+        }
+
+        // Phase 2: merge all changes and queue their surroundings, including across chunk borders
+        int evaluated = 0;
+        int changed = 0;
+        for (int p = 0; p < passCount; p++) {
+            ChunkPass pass = passes.get(p);
+            pass.applied = 0;
+            for (int i = 0; i < pass.changeCount; i++) {
+                apply(pass, pass.cells[i], pass.oldNibbles[i], pass.newNibbles[i]);
+            }
+            if (pass.applied > 0) {
+                Vector4DInt chunkPos = pass.chunk.getPosition();
+                int baseX = chunkPos.getX() * S, baseY = chunkPos.getY() * S;
+                int baseZ = chunkPos.getZ() * S, baseW = chunkPos.getW() * S;
+                world.onFluidCellsChanged(baseX + pass.minX, baseY + pass.minY, baseZ + pass.minZ, baseW + pass.minW,
+                                          baseX + pass.maxX, baseY + pass.maxY, baseZ + pass.maxZ, baseW + pass.maxW);
+            }
+            evaluated += pass.evaluated;
+            changed += pass.changeCount;
+            pass.chunk = null;
+        }
+
+        for (Chunk4D chunk : passChunks) {
+            java.util.Arrays.fill(chunk.fluidNeighbors, null);
+        }
+
+        lastEvaluated = evaluated;
+        lastChanged = changed;
+        lastActiveChunks = passCount;
+        lastParallel = parallel;
+        lastPassNanos = System.nanoTime() - startTime;
+        totalPasses++;
+        passChunks.clear();
+    }
+
+    /**
+     * Evaluates all queued cells of one chunk into its change buffer.
+     */
+    private void evaluateChunk(ChunkPass pass) {
+        long[] active = pass.chunk.takeActiveFluid();
+        for (int word = 0; word < active.length; word++) {
+            long bits = active[word];
+            active[word] = 0;
+            while (bits != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (evaluate(pass, index)) {
+                    pass.evaluated++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the next level of one cell and records it if it differs.
+     *
+     * @return true if the cell can hold fluid and was evaluated
+     */
+    private boolean evaluate(ChunkPass pass, int index) {
+        Chunk4D chunk = pass.chunk;
+        int nibble = chunk.getFluidNibble(index);
+        if (nibble == SOURCE) {
+            return false;
+        }
+        int w = index % S;
+        int z = (index / S) % S;
+        int y = (index / (S * S)) % S;
+        int x = index / (S * S * S);
+        if (nibble == DRY && !canHoldFluid(chunk.getBlock(x, y, z, w))) {
+            return false;
+        }
+
+        int target = -1;
+        if (nibbleAt(chunk, x, y + 1, z, w) != DRY) {
+            // Falling water
+            target = MAX_LEVEL;
+        } else {
+            target = Math.max(target, spreadFrom(chunk, x - 1, y, z, w));
+            target = Math.max(target, spreadFrom(chunk, x + 1, y, z, w));
+            target = Math.max(target, spreadFrom(chunk, x, y, z - 1, w));
+            target = Math.max(target, spreadFrom(chunk, x, y, z + 1, w));
+            target = Math.max(target, spreadFrom(chunk, x, y, z, w - 1));
+            target = Math.max(target, spreadFrom(chunk, x, y, z, w + 1));
+        }
+
+        int current = levelOf(nibble);
+        int next = (target >= current) ? target : current - 1;
+        int nextNibble = (next < 0) ? DRY : next + 1;
+        if (nextNibble != nibble) {
+            pass.record(index, nibble, nextNibble);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the level a neighbor passes on horizontally, or -1 if it does not feed.
+     */
+    private int spreadFrom(Chunk4D chunk, int x, int y, int z, int w) {
+        int nibble = nibbleAt(chunk, x, y, z, w);
+        if (nibble == DRY) {
+            return -1;
+        }
+        if (nibble != SOURCE && !isSolidAt(chunk, x, y - 1, z, w)) {
+            return -1;
+        }
+        return levelOf(nibble) - 1;
+    }
+
+    private static int levelOf(int nibble) {
+        if (nibble == DRY) {
+            return -1;
+        }
+        return (nibble == SOURCE) ? MAX_LEVEL : nibble - 1;
+    }
+
+    /**
+     * Writes one computed change into the chunk, adds the cell to the chunk's box of
+     * changed cells, and queues the cell and its neighbors.
+     */
+    private void apply(ChunkPass pass, int index, int oldNibble, int newNibble) {
+        Chunk4D chunk = pass.chunk;
+        int w = index % S;
+        int z = (index / S) % S;
+        int y = (index / (S * S)) % S;
+        int x = index / (S * S * S);
+
+        // Skip cells that were changed by something else since they were evaluated
+        Block current = chunk.getBlock(x, y, z, w);
+        if (chunk.getFluidNibble(index) != oldNibble || (oldNibble == DRY && !canHoldFluid(current))) {
+            return;
+        }
+
+        if (oldNibble == DRY) {
+            dropWashedAwayBlock(chunk, x, y, z, w, current);
+        }
+        chunk.setBlock(x, y, z, w, (newNibble == DRY) ? AIR : blockForNibble(newNibble));
+        pass.include(x, y, z, w);
+
+        activate(chunk, x, y, z, w);
+        activate(chunk, x - 1, y, z, w);
+        activate(chunk, x + 1, y, z, w);
+        activate(chunk, x, y - 1, z, w);
+        activate(chunk, x, y + 1, z, w);
+        activate(chunk, x, y, z - 1, w);
+        activate(chunk, x, y, z + 1, w);
+        activate(chunk, x, y, z, w - 1);
+        activate(chunk, x, y, z, w + 1);
+    }
+
+    /**
+     * Spawns the drops of grass or flint that water flows into.
+     */
+    private void dropWashedAwayBlock(Chunk4D chunk, int x, int y, int z, int w, Block block) {
+        if (block.getBlockId() != Material.GRASS && block.getBlockId() != Material.FLINT) {
+            return;
+        }
+        ArrayList<BaseItem> drops = block.drops(null);
+        if (drops == null) {
+            return;
+        }
+        Vector4DInt chunkPos = chunk.getPosition();
+        Vector4D dropPos = new Vector4D(
+            chunkPos.getX() * S + x + 0.5,
+            chunkPos.getY() * S + y + 0.5,
+            chunkPos.getZ() * S + z + 0.5,
+            chunkPos.getW() * S + w + 0.5
+        );
+        for (BaseItem item : drops) {
+            world.addEntity(new DroppedItem(world.getNextEntityId(), dropPos, item));
+        }
+    }
+
+    /**
+     * Queues the cells around every block changed through the world since the last pass.
+     */
+    private void activateChangedPositions() {
+        for (int i = 0; i < changedPositions.size(); i++) {
+            int x = changedPositions.getX(i);
+            int y = changedPositions.getY(i);
+            int z = changedPositions.getZ(i);
+            int w = changedPositions.getW(i);
+            activateWorld(x, y, z, w);
+            activateWorld(x - 1, y, z, w);
+            activateWorld(x + 1, y, z, w);
+            activateWorld(x, y - 1, z, w);
+            activateWorld(x, y + 1, z, w);
+            activateWorld(x, y, z - 1, w);
+            activateWorld(x, y, z + 1, w);
+            activateWorld(x, y, z, w - 1);
+            activateWorld(x, y, z, w + 1);
+        }
+        changedPositions.clear();
+    }
+
+    private void activateWorld(int x, int y, int z, int w) {
+        Chunk4D chunk = loadedChunks.get(Math.floorDiv(x, S), Math.floorDiv(y, S), Math.floorDiv(z, S), Math.floorDiv(w, S));
+        if (chunk != null) {
+            chunk.activateFluid(Math.floorMod(x, S), Math.floorMod(y, S), Math.floorMod(z, S), Math.floorMod(w, S));
+        }
+    }
+
+    private void activate(Chunk4D chunk, int x, int y, int z, int w) {
+        Chunk4D target = chunkFor(chunk, x, y, z, w);
+        if (target != null) {
+            target.activateFluid(x & (S - 1), y & (S - 1), z & (S - 1), w & (S - 1));
+        }
+    }
+
+    private int nibbleAt(Chunk4D chunk, int x, int y, int z, int w) {
+        Chunk4D target = chunkFor(chunk, x, y, z, w);
+        if (target == null) {
+            return DRY;
+        }
+        return target.getFluidNibble(Chunk4D.localIndex(x & (S - 1), y & (S - 1), z & (S - 1), w & (S - 1)));
+    }
+
+    /**
+     * Checks whether a cell is neither fluid nor a block fluid can flow into.
+     * Cells in unloaded chunks count as solid.
+     */
+    private boolean isSolidAt(Chunk4D chunk, int x, int y, int z, int w) {
+        Chunk4D target = chunkFor(chunk, x, y, z, w);
+        if (target == null) {
+            return true;
+        }
+        int lx = x & (S - 1), ly = y & (S - 1), lz = z & (S - 1), lw = w & (S - 1);
+        if (target.getFluidNibble(Chunk4D.localIndex(lx, ly, lz, lw)) != DRY) {
+            return false;
+        }
+        return !canHoldFluid(target.getBlock(lx, ly, lz, lw));
+    }
+
+    /**
+     * Checks whether fluid can flow into a block (air, grass and flint).
+     */
+    private static boolean canHoldFluid(Block block) {
+        if (block == null) {
+            return false;
+        }
+        Material material = block.getBlockId();
+        return material == Material.AIR || material == Material.GRASS || material == Material.FLINT;
+    }
+
+    /**
+     * Resolves the chunk containing local coordinates that may lie just outside the given chunk.
+     * Local coordinates wrap with {@code & (CHUNK_SIZE - 1)}, which needs a power of two chunk size.
+     *
+     * @return The chunk, or null if it is not loaded
+     */
+    private Chunk4D chunkFor(Chunk4D chunk, int x, int y, int z, int w) {
+        int ox = (x < 0) ? -1 : (x >= S ? 1 : 0);
+        int oy = (y < 0) ? -1 : (y >= S ? 1 : 0);
+        int oz = (z < 0) ? -1 : (z >= S ? 1 : 0);
+        int ow = (w < 0) ? -1 : (w >= S ? 1 : 0);
+        int outside = (ox != 0 ? 1 : 0) + (oy != 0 ? 1 : 0) + (oz != 0 ? 1 : 0) + (ow != 0 ? 1 : 0);
+        if (outside == 0) {
+            return chunk;
+        }
+        if (outside == 1) {
+            Chunk4D[] neighbors = chunk.fluidNeighbors;
+            if (ox != 0) return neighbors[ox < 0 ? NEG_X : POS_X];
+            if (oy != 0) return neighbors[oy < 0 ? NEG_Y : POS_Y];
+            if (oz != 0) return neighbors[oz < 0 ? NEG_Z : POS_Z];
+            return neighbors[ow < 0 ? NEG_W : POS_W];
+        }
+        // Diagonal neighbors are only needed at chunk edges, look them up directly
+        Vector4DInt pos = chunk.getPosition();
+        return loadedChunks.get(pos.getX() + ox, pos.getY() + oy, pos.getZ() + oz, pos.getW() + ow);
+    }
+
+    /**
+     * Caches the face neighbors of a chunk for the duration of a pass.
+     */
+    private void refreshNeighbors(Chunk4D chunk) {
+        Vector4DInt pos = chunk.getPosition();
+        int x = pos.getX(), y = pos.getY(), z = pos.getZ(), w = pos.getW();
+        Chunk4D[] neighbors = chunk.fluidNeighbors;
+        neighbors[NEG_X] = loadedChunks.get(x - 1, y, z, w);
+        neighbors[POS_X] = loadedChunks.get(x + 1, y, z, w);
+        neighbors[NEG_Y] = loadedChunks.get(x, y - 1, z, w);
+        neighbors[POS_Y] = loadedChunks.get(x, y + 1, z, w);
+        neighbors[NEG_Z] = loadedChunks.get(x, y, z - 1, w);
+        neighbors[POS_Z] = loadedChunks.get(x, y, z + 1, w);
+        neighbors[NEG_W] = loadedChunks.get(x, y, z, w - 1);
+        neighbors[POS_W] = loadedChunks.get(x, y, z, w + 1);
+    }
+
+    /**
+     * Re-indexes the loaded chunks if the world's chunk set changed since the last pass.
+     */
+    private void refreshChunkIndex() {
+        // Read the version first, a chunk added while indexing then triggers another rebuild
+        long version = world.getChunkSetVersion();
+        if (version != indexedChunkSetVersion) {
+            loadedChunks.rebuild(world.loadedChunkValues());
+            indexedChunkSetVersion = version;
+        }
+    }
+
+    /**
+     * Gets the number of cells that could hold fluid and were evaluated in the last pass.
+     *
+     * @return The number of evaluated cells
+     */
+    public int getLastEvaluatedCount() {
+        return lastEvaluated;
+    }
+
+    /**
+     * Gets the number of cells whose level changed in the last pass.
+     *
+     * @return The number of changed cells
+     */
+    public int getLastChangedCount() {
+        return lastChanged;
+    }
+
+    /**
+     * Gets the number of chunks that had queued cells in the last pass.
+     *
+     * @return The number of active chunks
+     */
+    public int getLastActiveChunkCount() {
+        return lastActiveChunks;
+    }
+
+    /**
+     * Gets the time the last pass took.
+     *
+     * @return The duration in nanoseconds
+     */
+    public long getLastPassNanos() {
+        return lastPassNanos;
+    }
+
+    /**
+     * Checks whether the last pass was evaluated in parallel.
+     *
+     * @return true if the last pass used the pool
+     */
+    public boolean wasLastPassParallel() {
+        return lastParallel;
+    }
+
+    public long getTotalPasses() {
+        return totalPasses;
+    }
+
+    /**
+     * Splits the active chunks of a pass across the pool.
+     */
+    private class EvaluateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        EvaluateTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    evaluateChunk(passes.get(from));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new EvaluateTask(from, middle), new EvaluateTask(middle, to));
+        }
+    }
+
+    /**
+     * The next levels computed for one chunk during a pass, written only by the worker evaluating that chunk.
+     */
+    private static class ChunkPass {
+        private Chunk4D chunk;
+        private int[] cells = new int[64];
+        private byte[] oldNibbles = new byte[64];
+        private byte[] newNibbles = new byte[64];
+        private int changeCount;
+        private int evaluated;
+
+        // Local bounds of the cells applied in the merge, valid once applied > 0
+        private int applied;
+        private int minX, minY, minZ, minW;
+        private int maxX, maxY, maxZ, maxW;
+
+        void record(int index, int oldNibble, int newNibble) {
+            if (changeCount == cells.length) {
+                int capacity = cells.length << 1;
+                cells = java.util.Arrays.copyOf(cells, capacity);
+                oldNibbles = java.util.Arrays.copyOf(oldNibbles, capacity);
+                newNibbles = java.util.Arrays.copyOf(newNibbles, capacity);
+            }
+            cells[changeCount] = index;
+            oldNibbles[changeCount] = (byte) oldNibble;
+            newNibbles[changeCount] = (byte) newNibble;
+            changeCount++;
+        }
+
+        void include(int x, int y, int z, int w) {
+            if (applied++ == 0) {
+                minX = maxX = x;
+                minY = maxY = y;
+                minZ = maxZ = z;
+                minW = maxW = w;
+                return;
+            }
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            minZ = Math.min(minZ, z);
+            minW = Math.min(minW, w);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+            maxZ = Math.max(maxZ, z);
+            maxW = Math.max(maxW, w);
+        }
+    }
+}
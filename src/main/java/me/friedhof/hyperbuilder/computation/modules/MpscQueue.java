@@ -0,0 +1,75 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unbounded lock-free queue for many producer threads and a single consumer thread.
+ *
+ * Producers append with a single atomic swap of the tail and never wait for each
+ * other or for the consumer; the consumer walks the linked nodes without any atomic
+ * read-modify-write at all. A value offered while another producer is between its
+ * swap and its link may not be visible to {@link #poll()} yet, it then shows up on
+ * the next poll. Only one thread may call {@link #poll()} and {@link #isEmpty()}.
+ *
+ * @param <T> The type of the queued values
+ */
+class MpscQueue<T> {
+    private final AtomicReference<Node<T>> tail;
+
+    // Last consumed node, read and written by the consumer only
+    private Node<T> head;
+
+    /**
+     * Creates an empty queue.
+     */
+    MpscQueue() {
+        Node<T> stub = new Node<>(null);
+        head = stub;
+        tail = new AtomicReference<>(stub);
+    }
+
+    /**
+     * Appends a value. Safe to call from any thread.
+     *
+     * @param value The value to append, not null
+     */
+    void offer(T value) {
+        Node<T> node = new Node<>(value);
+        Node<T> previous = tail.getAndSet(node);
+        previous.next = node;
+    }
+
+    /**
+     * Removes the oldest value. Consumer thread only.
+     *
+     * @return The oldest value, or null if the queue is empty
+     */
+    T poll() {
+        Node<T> next = head.next;
+        if (next == null) {
+            return null;
+        }
+        T value = next.value;
+        next.value = null;
+        head = next;
+        return value;
+    }
+
+    /**
+     * Checks whether the queue has no value to poll. Consumer thread only.
+     *
+     * @return true if {@link #poll()} would return null
+     */
+    boolean isEmpty() {
+        return head.next == null;
+    }
+
+    private static class Node<T> {
+        private T value;
+        private volatile Node<T> next;
+
+        Node(T value) {
+            this.value = value;
+        }
+    }
+}
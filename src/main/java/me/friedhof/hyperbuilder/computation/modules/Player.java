@@ -1,6 +1,5 @@
 package me.friedhof.hyperbuilder.computation.modules;
 import me.friedhof.hyperbuilder.computation.modules.interfaces.EntityInWay;
-import me.friedhof.hyperbuilder.computation.modules.items.blocks.Block;
 /**
  * Represents a player in the 4D world.
  * Players can move, interact with blocks, and have an inventory.
@@ -35,6 +34,12 @@ public class Player extends Entity implements EntityInWay {
     private boolean movingDown;
     private boolean jumping;
     
+    // Resolves movement against solid blocks
+    private final BlockCollider collider = new BlockCollider(true);
+    
+    // Reused by the pickup check, which runs on the simulation thread every tick
+    private final java.util.List<Entity> nearbyEntities = new java.util.ArrayList<>();
+    
     /**
      * Creates a new player with the specified ID, position, and username.
      * 
@@ -171,16 +176,14 @@ public class Player extends Entity implements EntityInWay {
         processMovementInput(deltaTime);
 
         // Apply gravity if enabled
+        double velocityY = getVelocityY();
         if (hasGravity()) {
-            Vector4D velocity = getVelocity();
-            velocity = velocity.add(new Vector4D(0, GRAVITY * deltaTime, 0, 0));
-            setVelocity(velocity);
+            velocityY += GRAVITY * deltaTime;
         }
         
         // Apply friction to all velocity components
-        Vector4D velocity = getVelocity();
-        velocity = velocity.scale(Math.pow(FRICTION, deltaTime));
-        setVelocity(velocity);
+        double friction = Math.pow(FRICTION, deltaTime);
+        setVelocity(getVelocityX() * friction, velocityY * friction, getVelocityZ() * friction, getVelocityW() * friction);
         
         // Handle movement with collision detection for all directions
         handleMovementWithCollision(deltaTime, world);
@@ -196,10 +199,12 @@ public class Player extends Entity implements EntityInWay {
      * @param world The world to check for dropped items
      */
     private void checkForItemPickup(World world) {
-        // Get all entities in the world
-        java.util.List<Entity> entities = world.getEntitiesList();
+        // Only items within pickup range can be picked up
+        nearbyEntities.clear();
+        world.queryRadius(getX(), getY(), getZ(), getW(), 1.0, nearbyEntities);
         
-        for (Entity entity : entities) {
+        for (int i = 0; i < nearbyEntities.size(); i++) {
+            Entity entity = nearbyEntities.get(i);
             if (entity instanceof DroppedItem) {
                 DroppedItem droppedItem = (DroppedItem) entity;
                 
@@ -227,8 +232,6 @@ public class Player extends Entity implements EntityInWay {
      * @param deltaTime The time elapsed since the last update in seconds
      */
     private void processMovementInput(double deltaTime) {
-        Vector4D currentVelocity = getVelocity();
-        
         // Set horizontal movement velocity directly (X axis)
         double xVelocity = 0;
         if (movingLeft) {
@@ -257,13 +260,13 @@ public class Player extends Entity implements EntityInWay {
         }
         
         // Process jumping (Y axis) - only if on ground
-        double yVelocity = currentVelocity.getY();
+        double yVelocity = getVelocityY();
         if (jumping && onGround) {
             yVelocity = JUMP_VELOCITY;
         }
         
         // Set the new velocity with direct input values for horizontal movement
-        setVelocity(new Vector4D(xVelocity, yVelocity, zVelocity, wVelocity));
+        setVelocity(xVelocity, yVelocity, zVelocity, wVelocity);
     }
     
     /**
@@ -274,119 +277,58 @@ public class Player extends Entity implements EntityInWay {
      * @param world The world to check for collisions
      */
     private void handleMovementWithCollision(double deltaTime, World world) {
-        Vector4D velocity = getVelocity();
-        Vector4D position = getPosition();
+        double velocityX = getVelocityX();
+        double velocityY = getVelocityY();
+        double velocityZ = getVelocityZ();
+        double velocityW = getVelocityW();
         
-        // Calculate the intended movement for this frame
-        Vector4D movement = velocity.scale(deltaTime);
-        
-        // Handle collision detection and movement for each axis separately
-        // This ensures that collision in one direction doesn't prevent movement in others
+        // Sweep each axis separately, so a collision in one direction doesn't prevent
+        // movement in the others; a blocked axis stops flush against the block
+        collider.setBox(this);
         
         // X-axis movement
-        Vector4D newPosition = position.add(new Vector4D(movement.getX(), 0, 0, 0));
-        if (!checkCollision(newPosition, world)) {
-            position = newPosition;
-        } else {
+        double movementX = velocityX * deltaTime;
+        if (collider.move(world, BlockCollider.X, movementX) != movementX) {
             // Stop X velocity on collision
-            velocity = new Vector4D(0, velocity.getY(), velocity.getZ(), velocity.getW());
+            velocityX = 0;
         }
         
         // Y-axis movement
-        newPosition = position.add(new Vector4D(0, movement.getY(), 0, 0));
-        if (!checkCollision(newPosition, world)) {
-            position = newPosition;
+        double movementY = velocityY * deltaTime;
+        if (collider.move(world, BlockCollider.Y, movementY) == movementY) {
             onGround = false; // Player is moving freely in Y direction
         } else {
             // Stop Y velocity on collision
-            velocity = new Vector4D(velocity.getX(), 0, velocity.getZ(), velocity.getW());
+            velocityY = 0;
             // Check if collision is from below (landing on ground)
-            if (movement.getY() <= 0) {
+            if (movementY <= 0) {
                 onGround = true;
             }
         }
         
         // Z-axis movement
-        newPosition = position.add(new Vector4D(0, 0, movement.getZ(), 0));
-        if (!checkCollision(newPosition, world)) {
-            position = newPosition;
-        } else {
+        double movementZ = velocityZ * deltaTime;
+        if (collider.move(world, BlockCollider.Z, movementZ) != movementZ) {
             // Stop Z velocity on collision
-            velocity = new Vector4D(velocity.getX(), velocity.getY(), 0, velocity.getW());
+            velocityZ = 0;
         }
         
         // W-axis movement
-        newPosition = position.add(new Vector4D(0, 0, 0, movement.getW()));
-        if (!checkCollision(newPosition, world)) {
-            position = newPosition;
-        } else {
+        double movementW = velocityW * deltaTime;
+        if (collider.move(world, BlockCollider.W, movementW) != movementW) {
             // Stop W velocity on collision
-            velocity = new Vector4D(velocity.getX(), velocity.getY(), velocity.getZ(), 0);
+            velocityW = 0;
         }
         
         // Additional ground check: test if player would collide when moving slightly down
-        if (!onGround) {
-            Vector4D groundTestPosition = position.add(new Vector4D(0, -EPSILON, 0, 0));
-            if (checkCollision(groundTestPosition, world)) {
-                onGround = true;
-            }
+        if (!onGround && collider.sweep(world, BlockCollider.Y, -EPSILON) != -EPSILON) {
+            onGround = true;
         }
         
         // Update position and velocity
-        setPosition(position);
-        setVelocity(velocity);
-    }
-    
-    /**
-     * Checks if the player would collide with any blocks at the given position.
-     * 
-     * @param position The position to check
-     * @param world The world to check for collisions
-     * @return true if there would be a collision, false otherwise
-     */
-    private boolean checkCollision(Vector4D position, World world) {
-        // Calculate player's bounding box at the given position
-        double minX = position.getX() - (getSizeX() / 2.0);
-        double maxX = position.getX() + (getSizeX() / 2.0);
-        double minY = position.getY() - (getSizeY() / 2.0);
-        double maxY = position.getY() + (getSizeY() / 2.0);
-        double minZ = position.getZ() - (getSizeZ() / 2.0);
-        double maxZ = position.getZ() + (getSizeZ() / 2.0);
-        double minW = position.getW() - (getSizeW() / 2.0);
-        double maxW = position.getW() + (getSizeW() / 2.0);
-        
-        
-
-        // Calculate the range of blocks that could potentially intersect with the player
-        int startX = (int) Math.floor(minX);
-        int endX = (int) Math.floor(maxX);
-        int startY = (int) Math.floor(minY);
-        int endY = (int) Math.floor(maxY);
-        int startZ = (int) Math.floor(minZ);
-        int endZ = (int) Math.floor(maxZ);
-        int startW = (int) Math.floor(minW);
-        int endW = (int) Math.floor(maxW);
-        
-        // Check each potentially intersecting block
-        for (int x = startX; x <= endX; x++) {
-            for (int y = startY; y <= endY; y++) {
-                for (int z = startZ; z <= endZ; z++) {
-                    for (int w = startW; w <= endW; w++) {
-                        // Check if there's a solid block at this position
-                         Vector4DInt blockPos = new Vector4DInt(x, y, z, w);
-                         Block block = world.getBlock(blockPos);
-                         if (block != null && block.isSolid()) { // Check if block exists and is not air
-                             // Check if player's bounding box intersects with this block
-                             if (intersectsBlock(minX, maxX, minY, maxY, minZ, maxZ, minW, maxW, x, y, z, w)) {
-                                 return true; // Collision detected
-                             }
-                         }
-                    }
-                }
-            }
-        }
-        
-        return false; // No collision
+        setPosition(collider.getCenter(BlockCollider.X), collider.getCenter(BlockCollider.Y),
+                    collider.getCenter(BlockCollider.Z), collider.getCenter(BlockCollider.W));
+        setVelocity(velocityX, velocityY, velocityZ, velocityW);
     }
     
     /**
@@ -430,14 +372,14 @@ public class Player extends Entity implements EntityInWay {
     @Override
     public boolean isInWayOfBlock(int blockX, int blockY, int blockZ, int blockW) {
         // Calculate player's bounding box
-        double minX = getPosition().getX() - (getSizeX() / 2.0);
-        double maxX = getPosition().getX() + (getSizeX() / 2.0);
-        double minY = getPosition().getY() - (getSizeY() / 2.0);
-        double maxY = getPosition().getY() + (getSizeY() / 2.0);
-        double minZ = getPosition().getZ() - (getSizeZ() / 2.0);
-        double maxZ = getPosition().getZ() + (getSizeZ() / 2.0);
-        double minW = getPosition().getW() - (getSizeW() / 2.0);
-        double maxW = getPosition().getW() + (getSizeW() / 2.0);
+        double minX = getX() - (getSizeX() / 2.0);
+        double maxX = getX() + (getSizeX() / 2.0);
+        double minY = getY() - (getSizeY() / 2.0);
+        double maxY = getY() + (getSizeY() / 2.0);
+        double minZ = getZ() - (getSizeZ() / 2.0);
+        double maxZ = getZ() + (getSizeZ() / 2.0);
+        double minW = getW() - (getSizeW() / 2.0);
+        double maxW = getW() + (getSizeW() / 2.0);
         
         // Check if player's bounding box intersects with the block position
         return intersectsBlock(minX, maxX, minY, maxY, minZ, maxZ, minW, maxW, blockX, blockY, blockZ, blockW);
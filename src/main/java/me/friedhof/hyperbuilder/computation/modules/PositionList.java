@@ -0,0 +1,112 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+/**
+ * Growable list of block positions, stored as four primitive ints each.
+ * Avoids a {@link Vector4DInt} per position; once it has grown to its working size,
+ * adding and clearing allocate nothing. Not thread-safe.
+ */
+class PositionList {
+    private int[] coordinates;
+    private int size;
+
+    /**
+     * Creates a new list sized for the given number of positions.
+     *
+     * @param initialCapacity The number of positions stored without growing
+     */
+    PositionList(int initialCapacity) {
+        coordinates = new int[Math.max(1, initialCapacity) * 4];
+    }
+
+    /**
+     * Appends a position to the list.
+     *
+     * @param x The X coordinate
+     * @param y The Y coordinate
+     * @param z The Z coordinate
+     * @param w The W coordinate
+     */
+    void add(int x, int y, int z, int w) {
+        int offset = size * 4;
+        if (offset == coordinates.length) {
+            coordinates = java.util.Arrays.copyOf(coordinates, offset << 1);
+        }
+        coordinates[offset] = x;
+        coordinates[offset + 1] = y;
+        coordinates[offset + 2] = z;
+        coordinates[offset + 3] = w;
+        size++;
+    }
+
+    /**
+     * Gets the X coordinate of the position at an index.
+     *
+     * @param index The index, from 0 to {@link #size()} - 1
+     * @return The X coordinate
+     */
+    int getX(int index) {
+        return coordinates[offsetOf(index)];
+    }
+
+    /**
+     * Gets the Y coordinate of the position at an index.
+     *
+     * @param index The index, from 0 to {@link #size()} - 1
+     * @return The Y coordinate
+     */
+    int getY(int index) {
+        return coordinates[offsetOf(index) + 1];
+    }
+
+    /**
+     * Gets the Z coordinate of the position at an index.
+     *
+     * @param index The index, from 0 to {@link #size()} - 1
+     * @return The Z coordinate
+     */
+    int getZ(int index) {
+        return coordinates[offsetOf(index) + 2];
+    }
+
+    /**
+     * Gets the W coordinate of the position at an index.
+     *
+     * @param index The index, from 0 to {@link #size()} - 1
+     * @return The W coordinate
+     */
+    int getW(int index) {
+        return coordinates[offsetOf(index) + 3];
+    }
+
+    /**
+     * Gets the number of positions in the list.
+     *
+     * @return The size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the list holds no positions.
+     *
+     * @return true if the list is empty
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all positions, keeping the capacity.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    private int offsetOf(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return index * 4;
+    }
+}
@@ -0,0 +1,169 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+/**
+ * Open-addressing hash set of block positions, stored as four primitive ints per slot.
+ * Avoids a {@link Vector4DInt} per position on hot simulation paths.
+ * Not thread-safe.
+ */
+class PositionSet {
+    private static final float MAX_LOAD = 0.5f;
+
+    // Four coordinates per slot; a slot is free where used is false
+    private int[] keys;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates a new set sized for the given number of positions.
+     *
+     * @param expectedSize The number of positions expected without resizing
+     */
+    PositionSet(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(8, (int) (expectedSize / MAX_LOAD)) - 1) << 1);
+    }
+
+    /**
+     * Adds a position to the set.
+     *
+     * @param x The X coordinate
+     * @param y The Y coordinate
+     * @param z The Z coordinate
+     * @param w The W coordinate
+     * @return true if the position was not yet present
+     */
+    boolean add(int x, int y, int z, int w) {
+        int slot = slotOf(x, y, z, w);
+        while (used[slot]) {
+            if (matches(slot, x, y, z, w)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        store(slot, x, y, z, w);
+        size++;
+
+        if (size > used.length * MAX_LOAD) {
+            resize(used.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a position is in the set.
+     *
+     * @param x The X coordinate
+     * @param y The Y coordinate
+     * @param z The Z coordinate
+     * @param w The W coordinate
+     * @return true if the position is present
+     */
+    boolean contains(int x, int y, int z, int w) {
+        int slot = slotOf(x, y, z, w);
+        while (used[slot]) {
+            if (matches(slot, x, y, z, w)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a position from the set.
+     *
+     * @param x The X coordinate
+     * @param y The Y coordinate
+     * @param z The Z coordinate
+     * @param w The W coordinate
+     * @return true if the position was present
+     */
+    boolean remove(int x, int y, int z, int w) {
+        int slot = slotOf(x, y, z, w);
+        while (used[slot]) {
+            if (matches(slot, x, y, z, w)) {
+                used[slot] = false;
+                size--;
+                closeGap(slot);
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        java.util.Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * Shifts later entries of a probe chain back into a freed slot, so lookups never stop early.
+     */
+    private void closeGap(int freed) {
+        int slot = (freed + 1) & mask;
+        while (used[slot]) {
+            int key = slot * 4;
+            int home = slotOf(keys[key], keys[key + 1], keys[key + 2], keys[key + 3]);
+            // Move the entry if its home slot does not lie cyclically in (freed, slot]
+            boolean between = (freed <= slot) ? (freed < home && home <= slot) : (freed < home || home <= slot);
+            if (!between) {
+                System.arraycopy(keys, key, keys, freed * 4, 4);
+                used[freed] = true;
+                used[slot] = false;
+                freed = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                int key = i * 4;
+                int x = oldKeys[key], y = oldKeys[key + 1], z = oldKeys[key + 2], w = oldKeys[key + 3];
+                int slot = slotOf(x, y, z, w);
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                store(slot, x, y, z, w);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity * 4];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    private void store(int slot, int x, int y, int z, int w) {
+        int key = slot * 4;
+        keys[key] = x;
+        keys[key + 1] = y;
+        keys[key + 2] = z;
+        keys[key + 3] = w;
+        used[slot] = true;
+    }
+
+    private boolean matches(int slot, int x, int y, int z, int w) {
+        int key = slot * 4;
+        return keys[key] == x && keys[key + 1] == y && keys[key + 2] == z && keys[key + 3] == w;
+    }
+
+    private int slotOf(int x, int y, int z, int w) {
+        long hash = Vector4DInt.hash(x, y, z, w);
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,192 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Deduplicating queue of block positions that are due for an update at a given world tick.
+ *
+ * Positions are stored as four primitive ints each in buckets ordered by their due tick. A position that is already pending is not scheduled a second time,
+ * so however often a block changes before its update runs, it is processed only once.
+ * The world drains a bounded number of due positions per tick; whatever does not fit
+ * stays queued, oldest first, for the next tick.
+ *
+ * Scheduling may happen from any thread (e.g. block placement on the EDT), so all
+ * access to the queue is synchronized.
+ */
+public class ScheduledTickQueue {
+    // Positions grouped by the tick they become due
+    private final TreeMap<Long, Bucket> buckets = new TreeMap<>();
+
+    // Every position currently in one of the buckets
+    private final PositionSet pending = new PositionSet(1024);
+
+    // Emptied buckets, reused to avoid allocating one per tick
+    private final ArrayDeque<Bucket> freeBuckets = new ArrayDeque<>();
+
+    // Metrics
+    private long totalScheduled;
+    private long totalDeduplicated;
+    private long totalProcessed;
+    private int lastProcessedCount;
+    private long lastProcessingNanos;
+
+    /**
+     * Schedules a position to be updated at the given tick, unless it is already pending.
+     *
+     * @param x The X coordinate of the position
+     * @param y The Y coordinate of the position
+     * @param z The Z coordinate of the position
+     * @param w The W coordinate of the position
+     * @param dueTick The world tick at which the update becomes due
+     * @return true if the position was scheduled, false if it was already pending
+     */
+    public synchronized boolean schedule(int x, int y, int z, int w, long dueTick) {
+        if (!pending.add(x, y, z, w)) {
+            totalDeduplicated++;
+            return false;
+        }
+
+        Bucket bucket = buckets.get(dueTick);
+        if (bucket == null) {
+            bucket = freeBuckets.isEmpty() ? new Bucket() : freeBuckets.poll();
+            buckets.put(dueTick, bucket);
+        }
+        bucket.add(x, y, z, w);
+        totalScheduled++;
+        return true;
+    }
+
+    /**
+     * Removes up to {@code max} positions that are due at or before the given tick, oldest first.
+     * Drained positions are no longer pending and may be scheduled again right away.
+     *
+     * @param currentTick The current world tick
+     * @param out The array receiving the positions, four coordinates (x, y, z, w) per position
+     * @param max The maximum number of positions to drain, at most a quarter of {@code out}
+     * @return The number of positions written to {@code out}
+     */
+    public synchronized int drainDue(long currentTick, int[] out, int max) {
+        int count = 0;
+        while (count < max && !buckets.isEmpty()) {
+            Map.Entry<Long, Bucket> first = buckets.firstEntry();
+            if (first.getKey() > currentTick) {
+                break;
+            }
+
+            Bucket bucket = first.getValue();
+            while (count < max && !bucket.isEmpty()) {
+                int offset = count * 4;
+                bucket.poll(out, offset);
+                pending.remove(out[offset], out[offset + 1], out[offset + 2], out[offset + 3]);
+                count++;
+            }
+
+            if (bucket.isEmpty()) {
+                buckets.pollFirstEntry();
+                bucket.reset();
+                freeBuckets.push(bucket);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Records how much work the last processing pass did.
+     *
+     * @param processed The number of positions processed
+     * @param nanos The time the pass took in nanoseconds
+     */
+    public synchronized void recordPass(int processed, long nanos) {
+        lastProcessedCount = processed;
+        lastProcessingNanos = nanos;
+        totalProcessed += processed;
+    }
+
+    /**
+     * Checks whether a position is waiting for its update.
+     *
+     * @param x The X coordinate of the position
+     * @param y The Y coordinate of the position
+     * @param z The Z coordinate of the position
+     * @param w The W coordinate of the position
+     * @return true if the position is scheduled
+     */
+    public synchronized boolean isPending(int x, int y, int z, int w) {
+        return pending.contains(x, y, z, w);
+    }
+
+    /**
+     * Gets the number of positions waiting for their update (the backlog).
+     *
+     * @return The number of pending positions
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Gets the number of positions processed by the last pass.
+     *
+     * @return The number of processed positions
+     */
+    public synchronized int getLastProcessedCount() {
+        return lastProcessedCount;
+    }
+
+    /**
+     * Gets the time the last processing pass took.
+     *
+     * @return The duration in nanoseconds
+     */
+    public synchronized long getLastProcessingNanos() {
+        return lastProcessingNanos;
+    }
+
+    public synchronized long getTotalScheduled() {
+        return totalScheduled;
+    }
+
+    public synchronized long getTotalDeduplicated() {
+        return totalDeduplicated;
+    }
+
+    public synchronized long getTotalProcessed() {
+        return totalProcessed;
+    }
+
+    /**
+     * A FIFO of positions that share a due tick, four coordinates per position.
+     */
+    private static class Bucket {
+        private int[] coordinates = new int[64];
+        private int head;
+        private int tail;
+
+        void add(int x, int y, int z, int w) {
+            if (tail == coordinates.length) {
+                coordinates = java.util.Arrays.copyOf(coordinates, coordinates.length << 1);
+            }
+            coordinates[tail] = x;
+            coordinates[tail + 1] = y;
+            coordinates[tail + 2] = z;
+            coordinates[tail + 3] = w;
+            tail += 4;
+        }
+
+        void poll(int[] out, int offset) {
+            System.arraycopy(coordinates, head, out, offset, 4);
+            head += 4;
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        void reset() {
+            head = 0;
+            tail = 0;
+        }
+    }
+}
@@ -188,6 +188,42 @@ public class SmelterInventory {
         return true;
     }
     
+    /**
+     * Smelts up to the given number of input items at once, as if that many
+     * processing cycles had completed one after another. Stops early when the
+     * input runs out or the output slot is full.
+     * 
+     * @param maxItems The number of completed processing cycles
+     * @return The number of items that were actually smelted
+     */
+    public int smeltBatch(long maxItems) {
+        BaseItem inputItem = slots[INPUT_SLOT];
+        BaseItem result = SmelterRecipe.getSmeltingResult(inputItem);
+        if (maxItems <= 0 || result == null) {
+            return 0;
+        }
+        
+        BaseItem outputItem = slots[OUTPUT_SLOT];
+        int outputCount = 0;
+        if (outputItem != null) {
+            if (!outputItem.getItemId().equals(result.getItemId())) {
+                return 0;
+            }
+            outputCount = outputItem.getCount();
+        }
+        
+        int space = (result.getMaxStackSize() - outputCount) / result.getCount();
+        int smelted = (int) Math.min(maxItems, Math.min(inputItem.getCount(), space));
+        if (smelted <= 0) {
+            return 0;
+        }
+        
+        int remainingInput = inputItem.getCount() - smelted;
+        slots[INPUT_SLOT] = (remainingInput > 0) ? inputItem.withCount(remainingInput) : null;
+        slots[OUTPUT_SLOT] = result.withCount(outputCount + smelted * result.getCount());
+        return smelted;
+    }
+    
     /**
      * Gets the total number of slots in this inventory.
      * 
@@ -0,0 +1,233 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hierarchical profiler for simulation ticks.
+ *
+ * The code run by a tick marks its parts with {@link #push(String)} and {@link #pop()};
+ * sections pushed inside another section become its children, so the same name may
+ * appear under several parents. The time spent in every section is summed per tick and
+ * kept for the last {@link #WINDOW_TICKS} ticks, from which the mean, 99th percentile
+ * and maximum per tick are computed on demand.
+ *
+ * While disabled, every call returns after reading one field. Enabling takes effect at
+ * the next {@link #beginTick()}, so a tick is always profiled completely or not at all.
+ * Recording and reporting happen on the simulation thread only; just
+ * {@link #setEnabled(boolean)} may be called from any thread.
+ */
+public class TickProfiler {
+    // Rolling window length, ten seconds at the target tick rate
+    public static final int WINDOW_TICKS = 10 * TickScheduler.TICKS_PER_SECOND;
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private volatile boolean enabled;
+
+    // Whether the current and the previous tick are being recorded
+    private boolean active;
+    private boolean previousActive;
+
+    private final Section root = new Section("tick", null);
+    private Section current = root;
+    private int recordedTicks;
+
+    /**
+     * Enables or disables recording from the next tick on. Disabling keeps the recorded
+     * window, enabling again starts a new one.
+     *
+     * @param enabled true to record ticks
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks whether ticks are being recorded.
+     *
+     * @return true if the profiler is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts recording a tick if the profiler is enabled.
+     */
+    public void beginTick() {
+        active = enabled;
+        boolean resumed = active && !previousActive;
+        previousActive = active;
+        if (!active) {
+            return;
+        }
+        if (resumed && recordedTicks > 0) {
+            // Re-enabled: the old window no longer describes the game
+            root.clear();
+            recordedTicks = 0;
+        }
+        current = root;
+        root.start = System.nanoTime();
+    }
+
+    /**
+     * Finishes recording the current tick and adds it to the window.
+     */
+    public void endTick() {
+        if (!active) {
+            return;
+        }
+        long now = System.nanoTime();
+        // Sections left open by an exception end with the tick
+        while (current != root) {
+            current.tickNanos += now - current.start;
+            current = current.parent;
+        }
+        root.tickNanos = now - root.start;
+        root.record(recordedTicks % WINDOW_TICKS);
+        recordedTicks++;
+        active = false;
+    }
+
+    /**
+     * Enters a section as a child of the section currently entered.
+     *
+     * @param name The section name, a constant string
+     */
+    public void push(String name) {
+        if (!active) {
+            return;
+        }
+        Section child = current.child(name);
+        current = child;
+        child.start = System.nanoTime();
+    }
+
+    /**
+     * Leaves the section entered last.
+     */
+    public void pop() {
+        if (!active || current == root) {
+            return;
+        }
+        current.tickNanos += System.nanoTime() - current.start;
+        current = current.parent;
+    }
+
+    /**
+     * Gets the number of ticks in the window.
+     *
+     * @return The number of recorded ticks, at most {@link #WINDOW_TICKS}
+     */
+    public int getWindowTicks() {
+        return Math.min(recordedTicks, WINDOW_TICKS);
+    }
+
+    /**
+     * Formats the statistics of every section over the window, one line per section in
+     * tree order, children indented below their parent.
+     *
+     * @return The report lines, empty if no tick was recorded yet
+     */
+    public List<String> getReport() {
+        List<String> lines = new ArrayList<>();
+        int ticks = getWindowTicks();
+        if (ticks == 0) {
+            return lines;
+        }
+        long[] scratch = new long[ticks];
+        root.report(lines, 0, ticks, scratch);
+        return lines;
+    }
+
+    /**
+     * Writes the report to a text file.
+     *
+     * @param file The file to write, its directory is created if necessary
+     * @throws IOException If the file could not be written
+     */
+    public void dump(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("Tick profile over the last " + getWindowTicks() + " ticks, times in ms per tick");
+        lines.add(String.format("%-40s %9s %9s %9s", "section", "mean", "p99", "max"));
+        lines.addAll(getReport());
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, lines);
+    }
+
+    /**
+     * A node of the section tree with its per-tick times over the window.
+     */
+    private static class Section {
+        private final String name;
+        private final Section parent;
+        private Section[] children = new Section[0];
+        private final long[] window = new long[WINDOW_TICKS];
+        private long start;
+        private long tickNanos;
+
+        Section(String name, Section parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        /**
+         * Finds or creates the child with the given name. Only the first visit allocates.
+         */
+        Section child(String name) {
+            for (Section child : children) {
+                if (child.name == name || child.name.equals(name)) {
+                    return child;
+                }
+            }
+            Section child = new Section(name, this);
+            children = Arrays.copyOf(children, children.length + 1);
+            children[children.length - 1] = child;
+            return child;
+        }
+
+        /**
+         * Stores the time of the finished tick in the window, including for sections
+         * that were not entered during it.
+         */
+        void record(int slot) {
+            window[slot] = tickNanos;
+            tickNanos = 0;
+            for (Section child : children) {
+                child.record(slot);
+            }
+        }
+
+        void clear() {
+            Arrays.fill(window, 0);
+            tickNanos = 0;
+            for (Section child : children) {
+                child.clear();
+            }
+        }
+
+        void report(List<String> lines, int depth, int ticks, long[] scratch) {
+            System.arraycopy(window, 0, scratch, 0, ticks);
+            Arrays.sort(scratch);
+            long total = 0;
+            for (long nanos : scratch) {
+                total += nanos;
+            }
+            double mean = total / (double) ticks / NANOS_PER_MILLI;
+            double p99 = scratch[Math.min(ticks - 1, (int) Math.ceil(ticks * 0.99) - 1)] / NANOS_PER_MILLI;
+            double max = scratch[ticks - 1] / NANOS_PER_MILLI;
+            String label = "  ".repeat(depth) + name;
+            lines.add(String.format("%-40s %9.3f %9.3f %9.3f", label, mean, p99, max));
+            for (Section child : children) {
+                child.report(lines, depth + 1, ticks, scratch);
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+/**
+ * Fixed-timestep scheduler for the world simulation.
+ *
+ * Real time is accumulated with {@link System#nanoTime()} and the simulation is advanced
+ * in whole ticks of {@link #TICK_SECONDS}, so the world runs at the same speed no matter
+ * how long frames take. If the game falls behind, at most {@link #MAX_CATCH_UP_TICKS}
+ * ticks are run per call and any older backlog is dropped, so a single hitch cannot
+ * trigger a spiral of ever longer catch-up loops. The time left in the accumulator gives
+ * the interpolation factor renderers use to blend between the last two ticks.
+ */
+public class TickScheduler {
+    /** Simulation ticks per second. */
+    public static final int TICKS_PER_SECOND = 60;
+
+    /** Simulated time advanced by each tick, in seconds. */
+    public static final double TICK_SECONDS = 1.0 / TICKS_PER_SECOND;
+
+    // Most ticks run by a single call before the remaining backlog is dropped
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long tickNanos = NANOS_PER_SECOND / TICKS_PER_SECOND;
+
+    private long lastTime;
+    private long accumulator;
+
+    // Real time that corresponds to the current simulation state, read by the render thread
+    private volatile long simulatedTime;
+
+    // Metrics over the current one second window
+    private long windowStart;
+    private int windowTicks;
+    private long windowTickNanos;
+    private long windowMaxTickNanos;
+
+    // Metrics of the last completed window
+    private volatile int ticksPerSecond;
+    private volatile double averageTickMillis;
+    private volatile double maxTickMillis;
+    private volatile long skippedTicks;
+    private volatile long totalTicks;
+
+    /**
+     * Creates a new scheduler that starts counting from now.
+     */
+    public TickScheduler() {
+        reset();
+    }
+
+    /**
+     * Discards accumulated time, e.g. after loading a world or leaving a pause.
+     */
+    public void reset() {
+        long now = System.nanoTime();
+        lastTime = now;
+        accumulator = 0;
+        simulatedTime = now;
+        windowStart = now;
+        windowTicks = 0;
+        windowTickNanos = 0;
+        windowMaxTickNanos = 0;
+    }
+
+    /**
+     * Runs all ticks that are due since the last call.
+     *
+     * @param tick The simulation step to run once per due tick
+     * @return The number of ticks that were run
+     */
+    public int runDueTicks(Runnable tick) {
+        long now = System.nanoTime();
+        accumulator += now - lastTime;
+        lastTime = now;
+
+        // Drop backlog we could never catch up on instead of running it all at once
+        long maxBacklog = MAX_CATCH_UP_TICKS * tickNanos;
+        if (accumulator > maxBacklog) {
+            long dropped = (accumulator - maxBacklog) / tickNanos;
+            skippedTicks += dropped;
+            accumulator -= dropped * tickNanos;
+        }
+
+        int ticksRun = 0;
+        while (accumulator >= tickNanos) {
+            long tickStart = System.nanoTime();
+            tick.run();
+            long tickDuration = System.nanoTime() - tickStart;
+
+            accumulator -= tickNanos;
+            ticksRun++;
+            totalTicks++;
+            windowTicks++;
+            windowTickNanos += tickDuration;
+            windowMaxTickNanos = Math.max(windowMaxTickNanos, tickDuration);
+
+            // Slow ticks must not hold back frames: leave the rest for the next call
+            if (System.nanoTime() - now >= tickNanos) {
+                break;
+            }
+        }
+
+        simulatedTime = lastTime - accumulator;
+        updateMetrics(System.nanoTime());
+        return ticksRun;
+    }
+
+    /**
+     * Rolls the metrics window over once a second has passed.
+     */
+    private void updateMetrics(long now) {
+        long windowLength = now - windowStart;
+        if (windowLength < NANOS_PER_SECOND) {
+            return;
+        }
+        ticksPerSecond = (int) Math.round(windowTicks * (double) NANOS_PER_SECOND / windowLength);
+        averageTickMillis = windowTicks == 0 ? 0.0 : windowTickNanos / (windowTicks * 1_000_000.0);
+        maxTickMillis = windowMaxTickNanos / 1_000_000.0;
+        windowStart = now;
+        windowTicks = 0;
+        windowTickNanos = 0;
+        windowMaxTickNanos = 0;
+    }
+
+    /**
+     * Gets how far real time has progressed past the latest tick, as a fraction of a tick.
+     * Safe to call from the render thread.
+     *
+     * @return The interpolation factor from 0.0 (latest tick) to 1.0 (next tick)
+     */
+    public double getInterpolationAlpha() {
+        double alpha = (System.nanoTime() - simulatedTime) / (double) tickNanos;
+        return Math.max(0.0, Math.min(1.0, alpha));
+    }
+
+    /**
+     * Gets the time until the next tick is due.
+     *
+     * @return The remaining time in nanoseconds, 0 if a tick is already due
+     */
+    public long getNanosUntilNextTick() {
+        return Math.max(0, tickNanos - (System.nanoTime() - simulatedTime));
+    }
+
+    /**
+     * Gets the number of ticks run during the last full second.
+     *
+     * @return The ticks per second
+     */
+    public int getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    /**
+     * Gets the average time a tick took during the last full second.
+     *
+     * @return The milliseconds per tick
+     */
+    public double getAverageTickMillis() {
+        return averageTickMillis;
+    }
+
+    /**
+     * Gets the longest time a single tick took during the last full second.
+     *
+     * @return The milliseconds of the slowest tick
+     */
+    public double getMaxTickMillis() {
+        return maxTickMillis;
+    }
+
+    /**
+     * Gets the number of ticks dropped because the game fell too far behind.
+     *
+     * @return The total number of skipped ticks
+     */
+    public long getSkippedTicks() {
+        return skippedTicks;
+    }
+
+    /**
+     * Gets the number of ticks run since the scheduler was created.
+     *
+     * @return The total number of ticks
+     */
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+}
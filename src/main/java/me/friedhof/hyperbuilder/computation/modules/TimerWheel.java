@@ -0,0 +1,158 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timer wheel keyed by world tick.
+ *
+ * Level 0 has one slot per tick for the next 64 ticks, level 1 one slot per 64 ticks
+ * for the next 4096 ticks, and level 2 one slot per 4096 ticks beyond that. Scheduling
+ * is O(1), and advancing by one tick only touches the slot that is due, plus, every 64
+ * ticks, one higher level slot whose timers are moved down a level. Timers further out
+ * than the wheel reaches are parked in the last level and re-inserted when they cascade.
+ * Not thread-safe; the world uses it on the game thread only.
+ *
+ * @param <T> The type of the scheduled values
+ */
+public class TimerWheel<T> {
+    private static final int LEVELS = 3;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    // Furthest delay (in ticks) the wheel can hold without parking
+    private static final long MAX_DELAY = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final List<List<Timer<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+
+    // The last tick that was processed
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates an empty wheel starting at the given tick.
+     *
+     * @param startTick The tick the wheel starts at
+     */
+    public TimerWheel(long startTick) {
+        this.currentTick = startTick;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Schedules a value to fire at the given tick. Ticks in the past fire on the next advance.
+     *
+     * @param value The value to hand back when the timer fires
+     * @param dueTick The tick at which the timer fires
+     */
+    public void schedule(T value, long dueTick) {
+        insert(new Timer<>(value, Math.max(dueTick, currentTick + 1)));
+        size++;
+    }
+
+    /**
+     * Advances the wheel up to and including the given tick and fires every timer that became due.
+     * Timers scheduled by the callback for a tick that was already passed fire on the next advance.
+     *
+     * @param toTick The tick to advance to
+     * @param callback Receives the value of every fired timer, in due order
+     */
+    public void advance(long toTick, Consumer<T> callback) {
+        while (currentTick < toTick) {
+            currentTick++;
+
+            // Move timers from higher levels down when their level wraps around
+            if ((currentTick & SLOT_MASK) == 0) {
+                if (((currentTick >> SLOT_BITS) & SLOT_MASK) == 0) {
+                    cascade(2, (int) ((currentTick >> (2 * SLOT_BITS)) & SLOT_MASK));
+                }
+                cascade(1, (int) ((currentTick >> SLOT_BITS) & SLOT_MASK));
+            }
+
+            List<Timer<T>> due = slot(0, (int) (currentTick & SLOT_MASK));
+            if (due.isEmpty()) {
+                continue;
+            }
+            // Swap the slot out, the callback may schedule into it again
+            List<Timer<T>> fired = new ArrayList<>(due);
+            due.clear();
+            for (Timer<T> timer : fired) {
+                if (timer.dueTick > currentTick) {
+                    insert(timer);
+                    continue;
+                }
+                size--;
+                callback.accept(timer.value);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of scheduled timers.
+     *
+     * @return The number of timers that have not fired yet
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the last tick the wheel advanced to.
+     *
+     * @return The current tick
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    private void cascade(int level, int index) {
+        List<Timer<T>> slot = slot(level, index);
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<Timer<T>> timers = new ArrayList<>(slot);
+        slot.clear();
+        for (Timer<T> timer : timers) {
+            insert(timer);
+        }
+    }
+
+    private void insert(Timer<T> timer) {
+        long delay = timer.dueTick - currentTick;
+        long tick = timer.dueTick;
+        if (delay > MAX_DELAY) {
+            // Park it as far out as the wheel reaches, it is re-inserted when that slot cascades
+            tick = currentTick + MAX_DELAY;
+            delay = MAX_DELAY;
+        }
+
+        if (delay < SLOTS) {
+            slot(0, (int) (tick & SLOT_MASK)).add(timer);
+        } else if (delay < (1L << (2 * SLOT_BITS))) {
+            slot(1, (int) ((tick >> SLOT_BITS) & SLOT_MASK)).add(timer);
+        } else {
+            slot(2, (int) ((tick >> (2 * SLOT_BITS)) & SLOT_MASK)).add(timer);
+        }
+    }
+
+    private List<Timer<T>> slot(int level, int index) {
+        return slots.get(level * SLOTS + index);
+    }
+
+    /**
+     * A scheduled value with its due tick.
+     */
+    private static class Timer<T> {
+        private final T value;
+        private final long dueTick;
+
+        Timer(T value, long dueTick) {
+            this.value = value;
+            this.dueTick = dueTick;
+        }
+    }
+}
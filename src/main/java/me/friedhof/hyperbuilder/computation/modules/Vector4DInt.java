@@ -124,6 +124,28 @@ public class Vector4DInt {
         );
     }
 
+    /**
+     * Mixes the given components into a well-distributed 64-bit hash, for hash tables
+     * over positions on hot paths that must not allocate a vector as key. Unlike a
+     * packed key it covers the full coordinate range, so equal hashes do not imply
+     * equal positions.
+     *
+     * @param x The x component
+     * @param y The y component
+     * @param z The z component
+     * @param w The w component
+     * @return The hash
+     */
+    public static long hash(int x, int y, int z, int w) {
+        long hash = x * 0x9E3779B97F4A7C15L
+                  ^ y * 0xC2B2AE3D27D4EB4FL
+                  ^ z * 0x165667B19E3779F9L
+                  ^ w * 0xD6E8FEB86659FD93L;
+        hash ^= hash >>> 32;
+        hash *= 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
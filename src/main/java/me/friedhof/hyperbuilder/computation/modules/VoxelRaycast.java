@@ -0,0 +1,314 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.Block;
+
+/**
+ * Grid traversal of a ray through the 4D block grid (Amanatides &amp; Woo).
+ *
+ * Instead of sampling the ray at fixed steps, the traversal moves from one block to
+ * the next across whichever block boundary the ray reaches first, so every block the
+ * ray passes through is visited exactly once and none is skipped, whatever the length
+ * of the ray. The current chunk is cached while the ray stays inside it, so a cast
+ * allocates nothing per block.
+ *
+ * A cast reads either the loaded chunks of the world, on the simulation thread, or a
+ * {@link WorldSnapshot}, on any other thread, and never loads or generates a chunk. Blocks in chunks
+ * that are not loaded stop the ray without being tested, as nothing is known to be
+ * behind them.
+ *
+ * An instance keeps the result of its last cast and is not thread-safe; use one
+ * instance per thread.
+ */
+public class VoxelRaycast {
+    /** Axis value of a hit in the block the ray starts in, where no face was crossed. */
+    public static final int NO_AXIS = -1;
+
+    /**
+     * Decides whether a block stops the ray.
+     */
+    public interface BlockTest {
+        /**
+         * Checks whether the ray stops at a block.
+         *
+         * @param block The block, or null if there is none
+         * @param x World X coordinate of the block
+         * @param y World Y coordinate of the block
+         * @param z World Z coordinate of the block
+         * @param w World W coordinate of the block
+         * @return true if the ray hits this block
+         */
+        boolean stopsRay(Block block, int x, int y, int z, int w);
+    }
+
+    // Result of the last cast
+    private int hitX;
+    private int hitY;
+    private int hitZ;
+    private int hitW;
+    private int hitAxis = NO_AXIS;
+    private int hitFace;
+    private double hitDistance;
+    private int visitedCount;
+
+    // Source of the chunks during a cast, a world or a snapshot
+    private World world;
+    private WorldSnapshot snapshot;
+
+    // Chunk of the block looked at last, null if it is not loaded
+    private boolean chunkCached;
+    private Chunk4D chunk;
+    private int chunkX;
+    private int chunkY;
+    private int chunkZ;
+    private int chunkW;
+
+    /**
+     * Follows a ray through the world until a block stops it or it exceeds the given length.
+     * The block the ray starts in is tested as well. A block whose chunk is not loaded
+     * stops the ray.
+     *
+     * @param world The world to trace through
+     * @param origin The start of the ray
+     * @param direction The direction of the ray, need not be normalized
+     * @param maxDistance The length of the ray in blocks
+     * @param test Decides which blocks stop the ray
+     * @return true if a block stopped the ray, the hit is then available through the getters
+     */
+    public boolean cast(World world, Vector4D origin, Vector4D direction, double maxDistance, BlockTest test) {
+        this.world = world;
+        return trace(origin, direction, maxDistance, test);
+    }
+
+    /**
+     * Follows a ray through the chunks of a snapshot until a block stops it or it exceeds
+     * the given length, see {@link #cast(World, Vector4D, Vector4D, double, BlockTest)}.
+     * A block whose chunk was not loaded when the snapshot was taken stops the ray.
+     *
+     * @param snapshot The snapshot to trace through
+     * @param origin The start of the ray
+     * @param direction The direction of the ray, need not be normalized
+     * @param maxDistance The length of the ray in blocks
+     * @param test Decides which blocks stop the ray
+     * @return true if a block stopped the ray, the hit is then available through the getters
+     */
+    public boolean cast(WorldSnapshot snapshot, Vector4D origin, Vector4D direction, double maxDistance, BlockTest test) {
+        this.snapshot = snapshot;
+        return trace(origin, direction, maxDistance, test);
+    }
+
+    /**
+     * Traverses the ray through the chunk source set up by the calling cast.
+     */
+    private boolean trace(Vector4D origin, Vector4D direction, double maxDistance, BlockTest test) {
+        double originX = origin.getX(), originY = origin.getY(), originZ = origin.getZ(), originW = origin.getW();
+        double dirX = direction.getX(), dirY = direction.getY(), dirZ = direction.getZ(), dirW = direction.getW();
+
+        // Normalize so the ray parameter equals the distance travelled
+        double length = Math.sqrt(dirX * dirX + dirY * dirY + dirZ * dirZ + dirW * dirW);
+        if (length > 0) {
+            dirX /= length;
+            dirY /= length;
+            dirZ /= length;
+            dirW /= length;
+        }
+
+        int x = (int) Math.floor(originX);
+        int y = (int) Math.floor(originY);
+        int z = (int) Math.floor(originZ);
+        int w = (int) Math.floor(originW);
+        int stepX = (int) Math.signum(dirX);
+        int stepY = (int) Math.signum(dirY);
+        int stepZ = (int) Math.signum(dirZ);
+        int stepW = (int) Math.signum(dirW);
+
+        // Distance along the ray to the first boundary on each axis, and between boundaries
+        double nextX = firstBoundary(originX, x, dirX);
+        double nextY = firstBoundary(originY, y, dirY);
+        double nextZ = firstBoundary(originZ, z, dirZ);
+        double nextW = firstBoundary(originW, w, dirW);
+        double deltaX = (dirX != 0) ? Math.abs(1.0 / dirX) : Double.POSITIVE_INFINITY;
+        double deltaY = (dirY != 0) ? Math.abs(1.0 / dirY) : Double.POSITIVE_INFINITY;
+        double deltaZ = (dirZ != 0) ? Math.abs(1.0 / dirZ) : Double.POSITIVE_INFINITY;
+        double deltaW = (dirW != 0) ? Math.abs(1.0 / dirW) : Double.POSITIVE_INFINITY;
+
+        chunkCached = false;
+        visitedCount = 0;
+        int axis = NO_AXIS;
+        int face = 0;
+        double distance = 0.0;
+        while (true) {
+            visitedCount++;
+            if (!enterChunk(x, y, z, w) || test.stopsRay(blockAt(x, y, z, w), x, y, z, w)) {
+                hitX = x;
+                hitY = y;
+                hitZ = z;
+                hitW = w;
+                hitAxis = axis;
+                hitFace = face;
+                hitDistance = distance;
+                releaseChunk();
+                return true;
+            }
+
+            // Cross the nearest block boundary
+            if (nextX <= nextY && nextX <= nextZ && nextX <= nextW) {
+                distance = nextX;
+                axis = 0;
+                face = -stepX;
+            } else if (nextY <= nextZ && nextY <= nextW) {
+                distance = nextY;
+                axis = 1;
+                face = -stepY;
+            } else if (nextZ <= nextW) {
+                distance = nextZ;
+                axis = 2;
+                face = -stepZ;
+            } else {
+                distance = nextW;
+                axis = 3;
+                face = -stepW;
+            }
+            if (distance > maxDistance) {
+                releaseChunk();
+                return false;
+            }
+
+            switch (axis) {
+                case 0:
+                    x += stepX;
+                    nextX += deltaX;
+                    break;
+                case 1:
+                    y += stepY;
+                    nextY += deltaY;
+                    break;
+                case 2:
+                    z += stepZ;
+                    nextZ += deltaZ;
+                    break;
+                default:
+                    w += stepW;
+                    nextW += deltaW;
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Gets the distance along a normalized ray to the first block boundary on one axis.
+     */
+    private static double firstBoundary(double origin, int block, double dir) {
+        if (dir > 0) {
+            return (block + 1 - origin) / dir;
+        }
+        if (dir < 0) {
+            return (origin - block) / -dir;
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Looks the chunk of a block up when the ray enters a new chunk, among the loaded
+     * chunks only.
+     *
+     * @return true if the chunk of the block is loaded
+     */
+    private boolean enterChunk(int x, int y, int z, int w) {
+        int cx = Math.floorDiv(x, Chunk4D.CHUNK_SIZE);
+        int cy = Math.floorDiv(y, Chunk4D.CHUNK_SIZE);
+        int cz = Math.floorDiv(z, Chunk4D.CHUNK_SIZE);
+        int cw = Math.floorDiv(w, Chunk4D.CHUNK_SIZE);
+        if (!chunkCached || cx != chunkX || cy != chunkY || cz != chunkZ || cw != chunkW) {
+            Vector4DInt position = new Vector4DInt(cx, cy, cz, cw);
+            chunk = (snapshot != null) ? snapshot.getChunk(position) : world.getLoadedChunk(position);
+            chunkCached = true;
+            chunkX = cx;
+            chunkY = cy;
+            chunkZ = cz;
+            chunkW = cw;
+        }
+        return chunk != null;
+    }
+
+    /**
+     * Gets a block of the chunk entered last.
+     */
+    private Block blockAt(int x, int y, int z, int w) {
+        return chunk.getBlock(Math.floorMod(x, Chunk4D.CHUNK_SIZE), Math.floorMod(y, Chunk4D.CHUNK_SIZE),
+                              Math.floorMod(z, Chunk4D.CHUNK_SIZE), Math.floorMod(w, Chunk4D.CHUNK_SIZE));
+    }
+
+    /**
+     * Drops the chunk source and the cached chunk at the end of a cast, so the instance
+     * does not keep them alive.
+     */
+    private void releaseChunk() {
+        world = null;
+        snapshot = null;
+        chunk = null;
+        chunkCached = false;
+    }
+
+    /**
+     * Gets the position of the block that stopped the last cast.
+     *
+     * @return The block position
+     */
+    public Vector4DInt getHitPosition() {
+        return new Vector4DInt(hitX, hitY, hitZ, hitW);
+    }
+
+    public int getHitX() {
+        return hitX;
+    }
+
+    public int getHitY() {
+        return hitY;
+    }
+
+    public int getHitZ() {
+        return hitZ;
+    }
+
+    public int getHitW() {
+        return hitW;
+    }
+
+    /**
+     * Gets the axis whose block boundary the ray crossed to enter the hit block.
+     *
+     * @return 0 to 3 for X, Y, Z and W, or {@link #NO_AXIS} if the ray started in the hit block
+     */
+    public int getHitAxis() {
+        return hitAxis;
+    }
+
+    /**
+     * Gets the side of the hit block the ray entered through, as the sign of the face
+     * normal along {@link #getHitAxis()}. The block in front of that face, e.g. for
+     * placing against it, lies one step in this direction.
+     *
+     * @return -1 or +1, or 0 if the ray started in the hit block
+     */
+    public int getHitFace() {
+        return hitFace;
+    }
+
+    /**
+     * Gets how far along the ray the hit block was entered.
+     *
+     * @return The distance in blocks
+     */
+    public double getHitDistance() {
+        return hitDistance;
+    }
+
+    /**
+     * Gets the number of blocks the last cast looked at.
+     *
+     * @return The number of visited blocks
+     */
+    public int getVisitedCount() {
+        return visitedCount;
+    }
+}
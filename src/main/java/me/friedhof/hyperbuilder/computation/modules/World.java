@@ -2,19 +2,27 @@ package me.friedhof.hyperbuilder.computation.modules;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import me.friedhof.hyperbuilder.computation.modules.items.blocks.Block;
-import me.friedhof.hyperbuilder.computation.modules.items.blocks.SmelterItem;
 import me.friedhof.hyperbuilder.computation.modules.items.blocks.SmelterPoweredItem;
-import me.friedhof.hyperbuilder.computation.modules.items.blocks.Water;
-import me.friedhof.hyperbuilder.computation.modules.SmelterInventory;
+import me.friedhof.hyperbuilder.computation.modules.interfaces.HasRandomTick;
+import me.friedhof.hyperbuilder.computation.modules.interfaces.HasScheduledEvents;
+import me.friedhof.hyperbuilder.diagnostics.ChunkLoadEvent;
+import me.friedhof.hyperbuilder.diagnostics.ChunkUnloadEvent;
+import me.friedhof.hyperbuilder.diagnostics.ScheduledTicksEvent;
+import me.friedhof.hyperbuilder.save.BlockChangeJournal;
 import me.friedhof.hyperbuilder.save.LazyChunkLoader;
 import me.friedhof.hyperbuilder.computation.modules.ItemRegistry;
 import me.friedhof.hyperbuilder.computation.modules.Material;
@@ -37,36 +45,128 @@ public class World {
      * Map of pending leaves for chunks that don't exist yet.
      * Key: chunk position, Value: list of leaf positions within that chunk
      */
-    private final Map<Vector4DInt, java.util.List<Vector4DInt>> pendingLeaves;
+    private final Map<Vector4DInt, PositionList> pendingLeaves;
     
     // Map of entities (entity ID -> entity)
     private final Map<Integer, Entity> entities;
     
-    // The next available entity ID
-    private int nextEntityId;
+    // The next available entity ID, handed out to any thread
+    private final AtomicInteger nextEntityId = new AtomicInteger(1);
     
     // Lazy chunk loader for loading chunks on-demand
     private LazyChunkLoader chunkLoader;
     
+    // Journal of block changes since the last save (null until the world has a save directory)
+    private BlockChangeJournal blockChangeJournal;
+    
+    // Background loader for the chunks players are about to enter
+    private final ChunkPrefetcher chunkPrefetcher;
+    
     // Random tick system
-    private static final int RANDOM_TICKS_PER_CHUNK = 3; // Number of random blocks to tick per chunk per update
-    private static final long BLOCK_UPDATE_INTERVAL_MS = 50; // Reduced to 50ms for more responsive updates
-    private long lastBlockUpdateTime = 0;
+    private static final int RANDOM_TICKS_PER_CHUNK = 3; // Cells picked per chunk per tick, of the whole chunk volume
+    private static final int BLOCK_UPDATE_INTERVAL_TICKS = 3; // 50ms at 60 ticks per second
+    private long worldTick = 0;
     private final Random random;
+    private final int[] randomTickHits = new int[RANDOM_TICKS_PER_CHUNK];
     
-    // Block update queue for neighbor notifications
-    private final Queue<Vector4DInt> blockUpdateQueue;
+    // Water flow simulation on the chunks' fluid levels
+    private final FluidEngine fluidEngine;
+    
+    // Scheduled block updates for neighbor notifications, deduplicated by position
+    private final ScheduledTickQueue scheduledTicks;
+    private static final int BLOCK_UPDATE_DELAY_TICKS = 15; // 250ms at 60 ticks per second
+    private static final int MAX_BLOCK_UPDATES_PER_TICK = 2048;
+    private final int[] drainedPositions = new int[MAX_BLOCK_UPDATES_PER_TICK * 4];
     
     // Set to track chunks that need random ticking (near players)
     private final Set<Vector4DInt> activeChunks;
     
-    // Render distance for chunk loading/unloading
-    private static final int CHUNK_RENDER_DISTANCE = 1;
-    
-    // Per-chunk smelter tracking for continuous updates
-    private final Map<Vector4DInt, java.util.List<Vector4DInt>> chunkSmelters;
-    
-    int tick = 0;
+    // Chebyshev radii in chunks around each player: chunks within the simulation radius
+    // get random ticks, chunks within the load radius are loaded in the background, and
+    // loaded chunks are kept until they are outside the unload radius of every player.
+    // The gap between the load and unload radius keeps a player walking back and forth
+    // over a chunk border from unloading and reloading the chunks behind it.
+    private int simulationRadius = 1;
+    private int loadRadius = 1;
+    private int unloadRadius = 2;
+
+    // Recently evicted chunks, most recently evicted last. A chunk is only released once
+    // it drops out of here, until then getting it back costs a map lookup.
+    private static final int EVICTED_CHUNK_CAPACITY = 128;
+    private final Map<Vector4DInt, Chunk4D> evictedChunks;
+    private final ChunkLoadStats chunkLoadStats = new ChunkLoadStats();
+    
+    // Chunks whose saved file could not be read, with the System.nanoTime() from which
+    // reading it is tried again; until then they stay unloaded without touching the disk
+    private static final long CHUNK_LOAD_RETRY_NANOS = 5_000_000_000L;
+    private final Map<Vector4DInt, Long> chunkLoadRetryTimes = new ConcurrentHashMap<>();
+
+    // Entity updates: entities that support it are computed in parallel, then applied in order
+    private static final int PARALLEL_ENTITY_THRESHOLD = 1024;
+    private static final int ENTITIES_PER_TASK = 256;
+    private static final ForkJoinPool ENTITY_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    private ForkJoinPool entityPool = ENTITY_POOL;
+    private final List<Entity> parallelEntities = new ArrayList<>();
+    
+    // Spatial index of entity positions for proximity queries; players are also kept
+    // in their own short list so items looking for players never walk dense item cells
+    private final EntityGrid entityGrid = new EntityGrid();
+    private final List<Player> players = new CopyOnWriteArrayList<>();
+    private final List<Entity> nearbyEntities = new ArrayList<>();
+    private boolean lastEntityUpdateParallel;
+    private long lastEntityUpdateNanos;
+    
+    // Entities at rest sleep and are left out of the update until something wakes them:
+    // a block change or chunk load around them, a player walking up or their sleep timer
+    private static final double PLAYER_WAKE_RADIUS = 1.5;
+    private final Map<Integer, Entity> awakeEntities = new HashMap<>();
+    private final List<Entity> serialEntities = new ArrayList<>();
+    // Boxes in which sleeping entities are woken at the start of the next entity update,
+    // WAKE_BOX_INTS block coordinates each: the minimum corner, then the maximum corner
+    private static final int WAKE_BOX_INTS = 8;
+    private int[] pendingWakeBoxes = new int[16 * WAKE_BOX_INTS];
+    private int pendingWakeBoxCount;
+    private final TimerWheel<Entity> sleepTimers;
+    private final Map<Integer, Long> sleepTimerTicks = new HashMap<>();
+    private final java.util.function.Consumer<Entity> wakeOnTimer = entity -> {
+        sleepTimerTicks.remove(entity.getId());
+        wakeEntity(entity);
+    };
+    
+    // Merging of nearby dropped items of the same material into one stack
+    private static final int ITEM_MERGE_INTERVAL_TICKS = 20;
+    private static final double ITEM_MERGE_RADIUS = 1.0;
+    // Keyed by the hash of a cell; a collision only adds candidates the distance check rejects
+    private final Map<Long, List<DroppedItem>> mergeGrid = new HashMap<>();
+    private int lastMergedItemCount;
+    
+    // Timed block state changes (smelters finishing an item or running out of power)
+    private final TimerWheel<BlockEvent> blockEvents;
+    private final Map<Vector4DInt, BlockEvent> scheduledBlockEvents;
+    private final ConcurrentLinkedQueue<Vector4DInt> pendingBlockEvents;
+    private static final double TICK_MILLIS = TickScheduler.TICK_SECONDS * 1000.0;
+    
+    // World mutations from other threads (input handlers, chunk loaders) wait here and
+    // are run by the simulation thread at the start of its next tick, so the simulation
+    // state above is only ever touched by that one thread
+    private static final int MAX_COMMANDS_PER_TICK = 4096;
+    private final MpscQueue<Runnable> commands = new MpscQueue<>();
+    private volatile Thread simulationThread;
+    
+    // Published after every tick for readers on other threads; the chunk map is only
+    // copied again when chunks were loaded or evicted since the last snapshot
+    private volatile WorldSnapshot snapshot = new WorldSnapshot(0, Map.of());
+    private volatile boolean chunkSetChanged = true;
+    
+    // Times the parts of a tick while enabled
+    private final TickProfiler profiler = new TickProfiler();
+    
+    // Bumped whenever a chunk is added, replaced or removed, so lookups can be cached
+    private final AtomicLong chunkSetVersion = new AtomicLong();
+    
+    // Loaded chunks by primitive chunk position, rebuilt when the chunk set version changes
+    private final ChunkIndex loadedChunkIndex = new ChunkIndex(256);
+    private long indexedChunkSetVersion = -1;
 
     /**
      * Creates a new world with the specified name and seed.
@@ -78,14 +178,30 @@ public class World {
         this.name = name;
         this.seed = seed;
         this.chunks = new ConcurrentHashMap<>();
-        this.pendingLeaves = new ConcurrentHashMap<>();
+        this.pendingLeaves = new HashMap<>();
         this.entities = new ConcurrentHashMap<>();
-        this.nextEntityId = 1;
-        this.lastBlockUpdateTime = System.currentTimeMillis();
         this.random = new Random(seed);
-        this.blockUpdateQueue = new ConcurrentLinkedQueue<>();
-        this.activeChunks = ConcurrentHashMap.newKeySet();
-        this.chunkSmelters = new ConcurrentHashMap<>();
+        this.scheduledTicks = new ScheduledTickQueue();
+        this.fluidEngine = new FluidEngine(this);
+        this.activeChunks = new java.util.HashSet<>();
+        this.evictedChunks = new LinkedHashMap<Vector4DInt, Chunk4D>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Vector4DInt, Chunk4D> eldest) {
+                if (size() > EVICTED_CHUNK_CAPACITY) {
+                    chunkLoadStats.recordRelease();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.blockEvents = new TimerWheel<>(worldTick);
+        this.sleepTimers = new TimerWheel<>(worldTick);
+        this.scheduledBlockEvents = new HashMap<>();
+        this.pendingBlockEvents = new ConcurrentLinkedQueue<>();
+        this.chunkPrefetcher = new ChunkPrefetcher(this);
+        
+        // The creating thread owns the world until a game loop runs its first tick
+        this.simulationThread = Thread.currentThread();
     }
     
     /**
@@ -124,43 +240,360 @@ public class World {
         return chunkLoader;
     }
     
+    /**
+     * Sets the journal that records block changes between full saves.
+     * 
+     * @param blockChangeJournal The journal to append to, or null to disable journaling
+     */
+    public void setBlockChangeJournal(BlockChangeJournal blockChangeJournal) {
+        this.blockChangeJournal = blockChangeJournal;
+    }
+    
+    /**
+     * Gets the journal that records block changes between full saves.
+     * 
+     * @return The block change journal, or null if not set
+     */
+    public BlockChangeJournal getBlockChangeJournal() {
+        return blockChangeJournal;
+    }
+    
+    /**
+     * Checks whether a chunk is currently loaded, without loading or generating it.
+     * 
+     * @param position The chunk position
+     * @return true if the chunk is loaded
+     */
+    public boolean isChunkLoaded(Vector4DInt position) {
+        return chunks.containsKey(position);
+    }
+    
+    /**
+     * Gets a chunk only if it is loaded, without loading or generating it.
+     * 
+     * @param position The chunk position
+     * @return The chunk, or null if it is not loaded
+     */
+    Chunk4D getLoadedChunk(Vector4DInt position) {
+        return chunks.get(position);
+    }
+    
+    /**
+     * Gets a chunk only if it is loaded, without loading or generating it and without
+     * allocating a key. Simulation thread only.
+     * 
+     * @param x Chunk X coordinate
+     * @param y Chunk Y coordinate
+     * @param z Chunk Z coordinate
+     * @param w Chunk W coordinate
+     * @return The chunk, or null if it is not loaded
+     */
+    Chunk4D getLoadedChunk(int x, int y, int z, int w) {
+        // Read the version first, a chunk added while indexing then triggers another rebuild
+        long version = chunkSetVersion.get();
+        if (version != indexedChunkSetVersion) {
+            loadedChunkIndex.rebuild(chunks.values());
+            indexedChunkSetVersion = version;
+        }
+        return loadedChunkIndex.get(x, y, z, w);
+    }
+    
+    /**
+     * Gets a live view of the loaded chunks, for simulation passes over all of them.
+     * 
+     * @return The loaded chunks
+     */
+    java.util.Collection<Chunk4D> loadedChunkValues() {
+        return chunks.values();
+    }
+    
     /**
      * Gets the chunk at the specified position.
      * If the chunk is not loaded, it will try to load from disk first, then generate if needed.
      * 
      * @param position The chunk position
-     * @return The chunk at the specified position
+     * @return The chunk at the specified position, or null if it was saved but its file
+     *         could not be read; it stays unloaded and is read again on a later access
      */
     public Chunk4D getChunk(Vector4DInt position) {
         // Check if the chunk is already loaded
         Chunk4D chunk = chunks.get(position);
+        if (chunk != null) {
+            chunkPrefetcher.recordLoadedAccess(position);
+            return chunk;
+        }
+        
+        // Recently evicted chunks come back without a disk load or generation
+        chunk = restoreEvictedChunk(position);
+        if (chunk == null) {
+            // Not loaded, so this access has to wait for a disk load or generation
+            chunkPrefetcher.recordMiss();
+            chunk = loadOrGenerateChunk(position);
+            if (chunk == null) {
+                return null;
+            }
+        }
+        
+        // Another thread may have loaded the chunk in the meantime
+        Chunk4D existing = chunks.putIfAbsent(position, chunk);
+        if (existing != null) {
+            return existing;
+        }
+        chunkSetChanged = true;
+        chunkSetVersion.incrementAndGet();
+        if (isSimulationThread()) {
+            installLeaves(position, chunk);
+            wakeEntitiesAroundChunk(position);
+        } else {
+            Chunk4D installed = chunk;
+            submit(() -> {
+                installLeaves(position, installed);
+                wakeEntitiesAroundChunk(position);
+            });
+        }
+        return chunk;
+    }
+    
+    /**
+     * Produces a chunk without registering it: takes it back from the recently evicted
+     * chunks if it is still there, loads it from disk if it was saved, generates it
+     * otherwise, and re-applies journaled block changes. Leaves of trees crossing chunk
+     * borders are only exchanged with other chunks once the chunk is installed.
+     * Safe to call from the prefetcher's background threads.
+     * 
+     * @param position The chunk position
+     * @return The restored, loaded or generated chunk, or null if the chunk was saved but
+     *         its file could not be read. Nothing is generated in its place, so the save
+     *         is never overwritten, and the file is only read again after
+     *         {@link #CHUNK_LOAD_RETRY_NANOS}.
+     */
+    Chunk4D loadOrGenerateChunk(Vector4DInt position) {
+        Chunk4D chunk = restoreEvictedChunk(position);
+        if (chunk != null) {
+            return chunk;
+        }
         
-        // If not loaded, try to load from disk first
-        if (chunk == null && chunkLoader != null) {
-            chunk = chunkLoader.loadChunk(position);
+        ChunkLoadEvent event = new ChunkLoadEvent();
+        event.begin();
+        
+        // Try to load from disk first
+        if (chunkLoader != null) {
+            Long retryTime = chunkLoadRetryTimes.get(position);
+            if (retryTime != null) {
+                if (System.nanoTime() - retryTime < 0) {
+                    return null;
+                }
+                chunkLoadRetryTimes.remove(position);
+            }
+            try {
+                chunk = chunkLoader.loadChunk(position);
+            } catch (java.io.UncheckedIOException e) {
+                // The loader has logged it; back off instead of failing every access
+                chunkLoadRetryTimes.put(position, System.nanoTime() + CHUNK_LOAD_RETRY_NANOS);
+                return null;
+            }
             if (chunk != null) {
-                chunks.put(position, chunk);
-                // Process any pending leaves for this chunk
-                processPendingLeaves(chunk, position);
-                return chunk;
+                chunkLoadStats.recordDiskLoad();
             }
         }
+        boolean fromDisk = chunk != null;
         
         // If still not found, generate it
         if (chunk == null) {
             chunk = generateChunk(position);
-            chunks.put(position, chunk);
+            chunkLoadStats.recordGeneration();
         }
+        
+        // Generated terrain has no block entities, only saved or journaled blocks can
+        int journaledChanges = replayJournal(position, chunk);
+        if (journaledChanges > 0 || fromDisk) {
+            registerBlockEvents(chunk);
+        }
+        commitChunkLoad(event, position, fromDisk ? ChunkLoadEvent.DISK : ChunkLoadEvent.GENERATE, journaledChanges);
         return chunk;
     }
     
     /**
-     * Generates a new chunk at the specified position.
+     * Registers a chunk that was loaded in the background, unless it got loaded meanwhile.
+     * Simulation thread only; loaders hand their chunks over with {@link #submit}.
+     * 
+     * @param position The chunk position
+     * @param chunk The prefetched chunk
+     * @return true if the chunk was installed, false if one was already loaded
+     */
+    boolean installPrefetchedChunk(Vector4DInt position, Chunk4D chunk) {
+        if (chunks.putIfAbsent(position, chunk) != null) {
+            return false;
+        }
+        chunkSetChanged = true;
+        chunkSetVersion.incrementAndGet();
+        installLeaves(position, chunk);
+        wakeEntitiesAroundChunk(position);
+        return true;
+    }
+    
+    /**
+     * Takes a chunk out of the recently evicted chunks. The chunk still holds every
+     * change made before it was evicted, so no journal replay is needed; its timed
+     * block events only have to catch up with the time it spent evicted.
+     * 
+     * @param position The chunk position
+     * @return The evicted chunk, or null if it was never evicted or already released
+     */
+    private Chunk4D restoreEvictedChunk(Vector4DInt position) {
+        ChunkLoadEvent event = new ChunkLoadEvent();
+        event.begin();
+        Chunk4D chunk;
+        synchronized (evictedChunks) {
+            if (evictedChunks.isEmpty()) {
+                return null;
+            }
+            chunk = evictedChunks.remove(position);
+        }
+        if (chunk != null) {
+            chunkLoadStats.recordRestore();
+            registerBlockEvents(chunk);
+            commitChunkLoad(event, position, ChunkLoadEvent.RESTORE, 0);
+        }
+        return chunk;
+    }
+    
+    /**
+     * Fills in and commits a chunk load event if it is being recorded.
+     */
+    private static void commitChunkLoad(ChunkLoadEvent event, Vector4DInt position, String source, int journaledChanges) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.chunkX = position.getX();
+            event.chunkY = position.getY();
+            event.chunkZ = position.getZ();
+            event.chunkW = position.getW();
+            event.source = source;
+            event.journaledChanges = journaledChanges;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Wakes the entities in and next to a newly loaded chunk. Blocks of unloaded chunks
+     * count as solid, so items may have come to rest against the chunk before it loaded.
+     */
+    private void wakeEntitiesAroundChunk(Vector4DInt position) {
+        int size = Chunk4D.CHUNK_SIZE;
+        queueWakeBox(position.getX() * size - 1, position.getY() * size - 1, position.getZ() * size - 1, position.getW() * size - 1,
+                     (position.getX() + 1) * size + 1, (position.getY() + 1) * size + 1,
+                     (position.getZ() + 1) * size + 1, (position.getW() + 1) * size + 1);
+    }
+    
+    /**
+     * Gets the number of simulation ticks this world has run since it was created or loaded.
+     * 
+     * @return The world tick counter
+     */
+    public long getWorldTick() {
+        return worldTick;
+    }
+    
+    /**
+     * Gets the queue of scheduled block updates, including its backlog and timing metrics.
+     * 
+     * @return The scheduled tick queue
+     */
+    public ScheduledTickQueue getScheduledTicks() {
+        return scheduledTicks;
+    }
+    
+    /**
+     * Gets the engine that simulates water flow.
+     * 
+     * @return The fluid engine
+     */
+    public FluidEngine getFluidEngine() {
+        return fluidEngine;
+    }
+    
+    /**
+     * Gets the prefetcher that loads chunks ahead of the player.
+     * 
+     * @return The chunk prefetcher
+     */
+    public ChunkPrefetcher getChunkPrefetcher() {
+        return chunkPrefetcher;
+    }
+    
+    /**
+     * Re-applies journaled block changes to a chunk that was just read from disk or generated.
+     * 
+     * @param position The chunk position
+     * @param chunk The chunk to patch
+     * @return The number of replayed changes
+     */
+    private int replayJournal(Vector4DInt position, Chunk4D chunk) {
+        int replayed = (blockChangeJournal != null) ? blockChangeJournal.replayInto(position, chunk) : 0;
+        if (replayed > 0) {
+            // Replayed blocks may include water that has not spread yet
+            chunk.activateFluidNeighborhood();
+        }
+        return replayed;
+    }
+    
+    /**
+     * Catches up every block in a freshly loaded chunk that has timed state changes
+     * with the time that passed while the chunk was not simulated, then queues it so
+     * it gets its next event scheduled. Must be called before other threads can see
+     * the chunk's blocks; safe to call from a background loader.
+     * 
+     * @param chunk The loaded chunk
+     */
+    private void registerBlockEvents(Chunk4D chunk) {
+        long now = System.currentTimeMillis();
+        for (int x = 0; x < Chunk4D.CHUNK_SIZE; x++) {
+            for (int y = 0; y < Chunk4D.CHUNK_SIZE; y++) {
+                for (int z = 0; z < Chunk4D.CHUNK_SIZE; z++) {
+                    for (int w = 0; w < Chunk4D.CHUNK_SIZE; w++) {
+                        Block block = chunk.getBlock(x, y, z, w);
+                        if (block instanceof HasScheduledEvents) {
+                            // Work done while away is computed in one step instead of simulated
+                            Block caughtUp = ((HasScheduledEvents) block).catchUp(now);
+                            if (caughtUp != block) {
+                                chunk.setBlock(x, y, z, w, caughtUp);
+                            }
+                            pendingBlockEvents.add(chunk.localToWorldPos(new Vector4DInt(x, y, z, w)));
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Requests the next timed event of the block at a position to be (re)scheduled,
+     * e.g. after a smelter started or stopped processing. Safe to call from any thread;
+     * the request is picked up at the start of the next tick.
+     * 
+     * @param position The world position of the block
+     */
+    public void scheduleBlockEvents(Vector4DInt position) {
+        pendingBlockEvents.add(position);
+    }
+    
+    /**
+     * Gets the number of blocks waiting for a timed event.
+     * 
+     * @return The number of scheduled block events
+     */
+    public int getScheduledBlockEventCount() {
+        return scheduledBlockEvents.size();
+    }
+    
+    /**
+     * Generates a new chunk at the specified position without registering it.
+     * Package-private for the benchmarks.
      * 
      * @param position The chunk position
      * @return The generated chunk
      */
-    private Chunk4D generateChunk(Vector4DInt position) {
+    Chunk4D generateChunk(Vector4DInt position) {
         // Create a new chunk
         Chunk4D chunk = new Chunk4D(position);
         
@@ -217,8 +650,9 @@ public class World {
         // Generate grass vegetation on grass blocks (common, but lower priority than trees and flint)
         generateGrassVegetation(chunk, position);
         
-        // Process any pending leaves for this chunk
-        processPendingLeaves(chunk, position);
+        // Place the leaves of this chunk's trees inside it; the ones outside it stay
+        // with the chunk until it is installed
+        placeOwnLeaves(chunk, position);
         
         return chunk;
     }
@@ -440,110 +874,201 @@ public class World {
     
     /**
      * Updates all blocks in loaded chunks.
-     * Currently handles powered smelter power expiration.
      */
     private void updateBlocks() {
-        if(tick % 5 == 0){
-            // Process queued block updates (neighbor notifications)
-            processBlockUpdateQueue();
-        }
-        tick++;
-        if(tick > 1000){
-            tick = 0;
-        }
-
-
-        // Update smelters continuously (they need constant processing)
-        updateSmelters();
-        
         // Update chunks near players
         updateChunksNearPlayers();
     }
     
     /**
-     * Updates all smelters continuously for item processing.
+     * Ticks a few random blocks that opt into random ticks in every active chunk.
+     * Each chunk picks {@value #RANDOM_TICKS_PER_CHUNK} cells out of its whole volume, so
+     * every tickable block is ticked at the same rate however many share its chunk. The
+     * chunk only draws how many picks hit its index of such blocks and which ones, so the
+     * cost follows the number of hits rather than the volume.
      */
-    private void updateSmelters() {
-        for (Map.Entry<Vector4DInt, java.util.List<Vector4DInt>> entry : chunkSmelters.entrySet()) {
-            Vector4DInt chunkPos = entry.getKey();
-            java.util.List<Vector4DInt> smelterPositions = entry.getValue();
+    private void processRandomTicks() {
+        for (Vector4DInt chunkPos : activeChunks) {
+            Chunk4D chunk = chunks.get(chunkPos);
+            if (chunk == null || chunk.getRandomTickCount() == 0) {
+                continue;
+            }
             
-            // Only update smelters in loaded chunks
-            if (chunks.containsKey(chunkPos)) {
-                for (Vector4DInt smelterPos : smelterPositions) {
-                    Block block = getBlock(smelterPos);
-                    if (block instanceof SmelterItem || block instanceof SmelterPoweredItem) {
-                        // Process smelter logic (same as random tick but continuous)
-                        performBlockTick(block, smelterPos);
-                    }
+            int hits = chunk.nextRandomTickCells(RANDOM_TICKS_PER_CHUNK, randomTickHits);
+            for (int i = 0; i < hits; i++) {
+                int cell = randomTickHits[i];
+                int w = cell % Chunk4D.CHUNK_SIZE;
+                int z = (cell / Chunk4D.CHUNK_SIZE) % Chunk4D.CHUNK_SIZE;
+                int y = (cell / (Chunk4D.CHUNK_SIZE * Chunk4D.CHUNK_SIZE)) % Chunk4D.CHUNK_SIZE;
+                int x = cell / (Chunk4D.CHUNK_SIZE * Chunk4D.CHUNK_SIZE * Chunk4D.CHUNK_SIZE);
+                Block block = chunk.getBlock(x, y, z, w);
+                if (block instanceof HasRandomTick) {
+                    ((HasRandomTick) block).randomTick(this, chunk.localToWorldPos(new Vector4DInt(x, y, z, w)), random);
                 }
             }
         }
     }
     
     /**
-     * Processes the block update queue for neighbor notifications.
+     * Schedules newly requested block events and runs the ones that are due this tick.
+     * Idle blocks are not scheduled at all, so they cost nothing per tick.
      */
-    private void processBlockUpdateQueue() {
-        Queue<Vector4DInt> blockUpdateQueueCopy = new ConcurrentLinkedQueue<>();
-        blockUpdateQueueCopy.addAll(blockUpdateQueue);
-        System.out.println(blockUpdateQueueCopy.size());
-        while (!blockUpdateQueueCopy.isEmpty() ) {
-            Vector4DInt position = blockUpdateQueueCopy.poll();
-            blockUpdateQueue.remove(position);
-            if (position != null) {
-                Block block = getBlock(position);
-                if (block != null) {
-                    // Notify block of neighbor change
-                    notifyBlockUpdate(position, block);
-                }
-            }
+    private void processBlockEvents() {
+        Vector4DInt requested;
+        while ((requested = pendingBlockEvents.poll()) != null) {
+            rescheduleBlockEvent(requested);
         }
+        blockEvents.advance(worldTick, this::fireBlockEvent);
     }
     
-
+    /**
+     * Runs a due block event and schedules the block's following one.
+     */
+    private void fireBlockEvent(BlockEvent event) {
+        // A newer event for the same block replaced this one
+        if (scheduledBlockEvents.get(event.position) != event) {
+            return;
+        }
+        scheduledBlockEvents.remove(event.position);
+        
+        Block block = getBlockIfLoaded(event.position);
+        if (block instanceof HasScheduledEvents) {
+            performBlockTick(block, event.position);
+            rescheduleBlockEvent(event.position);
+        }
+    }
     
     /**
-     * Performs tick on a specific block.
+     * Schedules the next event of the block at a position, replacing any earlier one.
+     * Blocks in unloaded chunks are dropped; they register again when their chunk loads.
+     */
+    private void rescheduleBlockEvent(Vector4DInt position) {
+        Block block = getBlockIfLoaded(position);
+        long nextEventTime = (block instanceof HasScheduledEvents)
+            ? ((HasScheduledEvents) block).getNextEventTime() : Long.MAX_VALUE;
+        if (nextEventTime == Long.MAX_VALUE) {
+            scheduledBlockEvents.remove(position);
+            return;
+        }
+        
+        long delayMillis = Math.max(0, nextEventTime - System.currentTimeMillis());
+        long dueTick = worldTick + Math.max(1, (long) Math.ceil(delayMillis / TICK_MILLIS));
+        BlockEvent current = scheduledBlockEvents.get(position);
+        if (current != null && current.dueTick == dueTick) {
+            return;
+        }
+        BlockEvent event = new BlockEvent(position, dueTick);
+        scheduledBlockEvents.put(position, event);
+        blockEvents.schedule(event, dueTick);
+    }
+    
+    /**
+     * Gets a block only if its chunk is loaded, without loading or generating it.
+     * 
+     * @param position The world position of the block
+     * @return The block, or null if its chunk is not loaded
+     */
+    public Block getBlockIfLoaded(Vector4DInt position) {
+        Chunk4D chunk = chunks.get(getChunkPosition(new Vector4D(position.getX(), position.getY(), position.getZ(), position.getW())));
+        return (chunk != null) ? chunk.getBlock(chunk.worldToLocalPos(position)) : null;
+    }
+    
+    /**
+     * Processes the scheduled block updates that are due this tick, up to a fixed budget.
+     * Updates that do not fit stay queued for the following ticks. Updates of blocks whose
+     * chunk has been unloaded are dropped, the chunk's blocks register again when it loads.
+     */
+    private void processScheduledTicks() {
+        ScheduledTicksEvent event = new ScheduledTicksEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+        int count = scheduledTicks.drainDue(worldTick, drainedPositions, MAX_BLOCK_UPDATES_PER_TICK);
+        for (int i = 0; i < count; i++) {
+            int offset = i * 4;
+            int x = drainedPositions[offset];
+            int y = drainedPositions[offset + 1];
+            int z = drainedPositions[offset + 2];
+            int w = drainedPositions[offset + 3];
+            Chunk4D chunk = getLoadedChunk(Math.floorDiv(x, Chunk4D.CHUNK_SIZE), Math.floorDiv(y, Chunk4D.CHUNK_SIZE),
+                                           Math.floorDiv(z, Chunk4D.CHUNK_SIZE), Math.floorDiv(w, Chunk4D.CHUNK_SIZE));
+            if (chunk == null) {
+                continue;
+            }
+            Block block = chunk.getBlock(Math.floorMod(x, Chunk4D.CHUNK_SIZE), Math.floorMod(y, Chunk4D.CHUNK_SIZE),
+                                         Math.floorMod(z, Chunk4D.CHUNK_SIZE), Math.floorMod(w, Chunk4D.CHUNK_SIZE));
+            if (block instanceof HasScheduledEvents) {
+                // Notify block of neighbor change
+                notifyBlockUpdate(new Vector4DInt(x, y, z, w), block);
+            }
+        }
+        scheduledTicks.recordPass(count, System.nanoTime() - startTime);
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.processed = count;
+            event.backlog = scheduledTicks.getPendingCount();
+            event.commit();
+        }
+    }
+    
+    /**
+     * Performs tick on a specific block by catching its state up to now.
      */
     private void performBlockTick(Block block, Vector4DInt position) {
-       if (block instanceof SmelterPoweredItem) {
-            SmelterPoweredItem poweredSmelter = (SmelterPoweredItem) block;
-            boolean stillPowered = poweredSmelter.update();
-            
-            if (!stillPowered) {
-                convertPoweredSmelterToRegular(position, poweredSmelter);
+        Block caughtUp = ((HasScheduledEvents) block).catchUp(System.currentTimeMillis());
+        if (caughtUp != block) {
+            // Replace the block in the world, e.g. a powered smelter whose power expired
+            setBlock(position, caughtUp);
+            if (block instanceof SmelterPoweredItem) {
+                System.out.println("Smelter power expired at " + position + ", converted back to regular smelter!");
             }
-        } else if (block instanceof SmelterItem) {
-            ((SmelterItem) block).update();
         }
     }
     
     /**
-     * Updates chunks near players to keep them active and unloads distant chunks.
+     * Updates chunks near players: marks the chunks within the simulation radius active,
+     * requests missing chunks within the load radius and evicts loaded chunks that are
+     * outside the unload radius of every player.
      */
     private void updateChunksNearPlayers() {
-        Set<Vector4DInt> newActiveChunks = ConcurrentHashMap.newKeySet();
+        Set<Vector4DInt> newActiveChunks = new java.util.HashSet<>();
+        List<Vector4DInt> playerChunks = new ArrayList<>();
         
-        // Collect all chunks that should be active (near players)
         for (Entity entity : entities.values()) {
             if (entity instanceof Player) {
-                Player player = (Player) entity;
-                Vector4D playerPos = player.getPosition();
-                Vector4DInt playerChunk = getChunkPosition(playerPos);
+                Vector4DInt playerChunk = getChunkPosition(entity.getPosition());
+                playerChunks.add(playerChunk);
                 
-                // Add chunks within render distance
-                for (int dx = -CHUNK_RENDER_DISTANCE; dx <= CHUNK_RENDER_DISTANCE; dx++) {
-                    for (int dy = -CHUNK_RENDER_DISTANCE; dy <= CHUNK_RENDER_DISTANCE; dy++) {
-                        for (int dz = -CHUNK_RENDER_DISTANCE; dz <= CHUNK_RENDER_DISTANCE; dz++) {
-                            for (int dw = -CHUNK_RENDER_DISTANCE; dw <= CHUNK_RENDER_DISTANCE; dw++) {
+                // Chunks within the simulation radius get random ticks
+                for (int dx = -simulationRadius; dx <= simulationRadius; dx++) {
+                    for (int dy = -simulationRadius; dy <= simulationRadius; dy++) {
+                        for (int dz = -simulationRadius; dz <= simulationRadius; dz++) {
+                            for (int dw = -simulationRadius; dw <= simulationRadius; dw++) {
+                                newActiveChunks.add(new Vector4DInt(
+                                    playerChunk.getX() + dx,
+                                    playerChunk.getY() + dy,
+                                    playerChunk.getZ() + dz,
+                                    playerChunk.getW() + dw
+                                ));
+                            }
+                        }
+                    }
+                }
+                
+                // Chunks within the load radius are loaded ahead of being accessed
+                for (int dx = -loadRadius; dx <= loadRadius; dx++) {
+                    for (int dy = -loadRadius; dy <= loadRadius; dy++) {
+                        for (int dz = -loadRadius; dz <= loadRadius; dz++) {
+                            for (int dw = -loadRadius; dw <= loadRadius; dw++) {
                                 Vector4DInt chunkPos = new Vector4DInt(
                                     playerChunk.getX() + dx,
                                     playerChunk.getY() + dy,
                                     playerChunk.getZ() + dz,
                                     playerChunk.getW() + dw
                                 );
-                                newActiveChunks.add(chunkPos);
+                                if (!chunks.containsKey(chunkPos)) {
+                                    chunkPrefetcher.request(chunkPos);
+                                }
                             }
                         }
                     }
@@ -551,42 +1076,110 @@ public class World {
             }
         }
         
-        // Unload chunks that are no longer needed
-        java.util.List<Vector4DInt> chunksToUnload = new ArrayList<>();
+        // Evict chunks outside the unload radius of every player, keeping chunks
+        // a player is predicted to enter soon
         for (Vector4DInt loadedChunk : chunks.keySet()) {
-            if (!newActiveChunks.contains(loadedChunk)) {
-                chunksToUnload.add(loadedChunk);
+            if (!isWithinUnloadRadius(loadedChunk, playerChunks) && !chunkPrefetcher.isPredicted(loadedChunk)) {
+                evictChunk(loadedChunk);
             }
         }
         
-        // Actually unload the chunks
-        for (Vector4DInt chunkToUnload : chunksToUnload) {
-            unloadChunk(chunkToUnload);
-        }
-        
         // Update active chunks
         activeChunks.clear();
         activeChunks.addAll(newActiveChunks);
+        chunkLoadStats.update(System.nanoTime());
     }
     
     /**
-     * Converts a powered smelter back to a regular smelter when power expires,
-     * preserving the inventory contents.
+     * Checks whether a chunk is within the unload radius of any of the given player chunks.
+     */
+    private boolean isWithinUnloadRadius(Vector4DInt chunkPos, List<Vector4DInt> playerChunks) {
+        for (Vector4DInt playerChunk : playerChunks) {
+            int distance = Math.max(
+                Math.max(Math.abs(chunkPos.getX() - playerChunk.getX()), Math.abs(chunkPos.getY() - playerChunk.getY())),
+                Math.max(Math.abs(chunkPos.getZ() - playerChunk.getZ()), Math.abs(chunkPos.getW() - playerChunk.getW())));
+            if (distance <= unloadRadius) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Moves a loaded chunk into the recently evicted chunks. The chunk is cached before
+     * it leaves the loaded chunks, so a concurrent load always finds it in one of them.
      * 
-     * @param position The world position of the smelter
-     * @param poweredSmelter The powered smelter to convert
+     * @param position The chunk position
+     * @return true if the chunk was evicted, false if it wasn't loaded
      */
-    private void convertPoweredSmelterToRegular(Vector4DInt position, SmelterPoweredItem poweredSmelter) {
-        // Get the current inventory to preserve it
-        SmelterInventory currentInventory = poweredSmelter.getInventory();
-        
-        // Create new regular smelter with preserved inventory
-        Block regularSmelter = new SmelterItem(1, currentInventory);
-        
-        // Replace the block in the world
-        setBlock(position, regularSmelter);
-        
-        System.out.println("Smelter power expired at " + position + ", converted back to regular smelter!");
+    private boolean evictChunk(Vector4DInt position) {
+        ChunkUnloadEvent event = new ChunkUnloadEvent();
+        event.begin();
+        Chunk4D chunk = chunks.get(position);
+        if (chunk == null) {
+            return false;
+        }
+        chunkPrefetcher.forget(position);
+        synchronized (evictedChunks) {
+            evictedChunks.put(position, chunk);
+            chunks.remove(position);
+        }
+        chunkSetChanged = true;
+        chunkSetVersion.incrementAndGet();
+        chunkLoadStats.recordEviction();
+        commitChunkUnload(event, position, chunk, true);
+        return true;
+    }
+    
+    /**
+     * Sets the chunk radii around players, as Chebyshev distances in chunks.
+     * 
+     * @param simulationRadius Radius of the chunks that get random ticks
+     * @param loadRadius Radius of the chunks that are loaded in the background
+     * @param unloadRadius Radius outside of which loaded chunks are evicted
+     * @throws IllegalArgumentException if the radii do not satisfy
+     *         {@code 0 <= simulationRadius <= loadRadius < unloadRadius}
+     */
+    public void setChunkRadii(int simulationRadius, int loadRadius, int unloadRadius) {
+        if (simulationRadius < 0 || simulationRadius > loadRadius || loadRadius >= unloadRadius) {
+            throw new IllegalArgumentException("Chunk radii must satisfy 0 <= simulation <= load < unload, got "
+                + simulationRadius + ", " + loadRadius + ", " + unloadRadius);
+        }
+        this.simulationRadius = simulationRadius;
+        this.loadRadius = loadRadius;
+        this.unloadRadius = unloadRadius;
+    }
+    
+    public int getSimulationRadius() {
+        return simulationRadius;
+    }
+    
+    public int getLoadRadius() {
+        return loadRadius;
+    }
+    
+    public int getUnloadRadius() {
+        return unloadRadius;
+    }
+    
+    /**
+     * Gets the counters and rates of chunk loads, restores and evictions.
+     * 
+     * @return The chunk load statistics
+     */
+    public ChunkLoadStats getChunkLoadStats() {
+        return chunkLoadStats;
+    }
+    
+    /**
+     * Gets the number of evicted chunks that can still be restored without a load.
+     * 
+     * @return The number of cached evicted chunks
+     */
+    public int getEvictedChunkCount() {
+        synchronized (evictedChunks) {
+            return evictedChunks.size();
+        }
     }
     
     /**
@@ -655,8 +1248,8 @@ public class World {
                             int leafWorldZ = worldZ + dz;
                             int leafWorldW = worldW + dw;
                             
-                            // Try to place the leaf
-                            placeLeafAtWorldPosition(leafWorldX, leafWorldY, leafWorldZ, leafWorldW);
+                            // Leaves are placed once the rest of the chunk is generated
+                            chunk.addOverhangingLeaf(leafWorldX, leafWorldY, leafWorldZ, leafWorldW);
                         }
                     }
                 }
@@ -665,52 +1258,85 @@ public class World {
     }
     
     /**
-     * Places a leaf at the specified world position, handling cross-chunk placement.
+     * Places the leaves the trees of a generated chunk grew inside the chunk, and keeps
+     * the ones outside it with the chunk. Generation never touches other chunks.
+     * 
+     * @param chunk The generated chunk
+     * @param chunkPosition The position of the chunk in the world
      */
-    private void placeLeafAtWorldPosition(int worldX, int worldY, int worldZ, int worldW) {
-        // Calculate which chunk this position belongs to
-        Vector4DInt targetChunkPos = new Vector4DInt(
-            Math.floorDiv(worldX, Chunk4D.CHUNK_SIZE),
-            Math.floorDiv(worldY, Chunk4D.CHUNK_SIZE),
-            Math.floorDiv(worldZ, Chunk4D.CHUNK_SIZE),
-            Math.floorDiv(worldW, Chunk4D.CHUNK_SIZE)
-        );
-        
-        // Calculate local coordinates within the target chunk
-        int localX = worldX - targetChunkPos.getX() * Chunk4D.CHUNK_SIZE;
-        int localY = worldY - targetChunkPos.getY() * Chunk4D.CHUNK_SIZE;
-        int localZ = worldZ - targetChunkPos.getZ() * Chunk4D.CHUNK_SIZE;
-        int localW = worldW - targetChunkPos.getW() * Chunk4D.CHUNK_SIZE;
-        
-        // Check if the target chunk exists
-        Chunk4D targetChunk = chunks.get(targetChunkPos);
-        if (targetChunk != null) {
-            // Chunk exists, place the leaf if the position is air
-            Block existingBlock = targetChunk.getBlock(localX, localY, localZ, localW);
-            if (existingBlock != null && existingBlock.equals(ItemRegistry.createBlock(Material.AIR))) {
-                targetChunk.setBlock(localX, localY, localZ, localW, ItemRegistry.createBlock(Material.LEAVES));
+    private void placeOwnLeaves(Chunk4D chunk, Vector4DInt chunkPosition) {
+        PositionList leaves = chunk.takeOverhangingLeaves();
+        if (leaves == null) {
+            return;
+        }
+        for (int i = 0; i < leaves.size(); i++) {
+            Vector4DInt leaf = new Vector4DInt(leaves.getX(i), leaves.getY(i), leaves.getZ(i), leaves.getW(i));
+            if (chunkPositionOf(leaf).equals(chunkPosition)) {
+                placeLeafIfAir(chunk, leaf);
+            } else {
+                chunk.addOverhangingLeaf(leaf.getX(), leaf.getY(), leaf.getZ(), leaf.getW());
             }
-        } else {
-            // Chunk doesn't exist, add to pending leaves
-            Vector4DInt localPos = new Vector4DInt(localX, localY, localZ, localW);
-            pendingLeaves.computeIfAbsent(targetChunkPos, k -> new ArrayList<>()).add(localPos);
         }
     }
     
     /**
-     * Processes pending leaves for a newly generated chunk.
+     * Exchanges the leaves of trees crossing chunk borders when a chunk is installed:
+     * places the leaves the chunk's trees grew into loaded chunks, keeps the others until
+     * their chunks are installed, and places the leaves other chunks' trees grew into
+     * this one. Simulation thread only.
+     * 
+     * @param position The chunk position
+     * @param chunk The installed chunk
      */
-    private void processPendingLeaves(Chunk4D chunk, Vector4DInt chunkPosition) {
-        List<Vector4DInt> pendingForThisChunk = pendingLeaves.remove(chunkPosition);
-        if (pendingForThisChunk != null) {
-            for (Vector4DInt leafPos : pendingForThisChunk) {
-                // Only place leaf if the position is air
-                Block existingBlock = chunk.getBlock(leafPos.getX(), leafPos.getY(), leafPos.getZ(), leafPos.getW());
-                if (existingBlock != null && existingBlock.equals(ItemRegistry.createBlock(Material.AIR))) {
-                    chunk.setBlock(leafPos.getX(), leafPos.getY(), leafPos.getZ(), leafPos.getW(), ItemRegistry.createBlock(Material.LEAVES));
+    private void installLeaves(Vector4DInt position, Chunk4D chunk) {
+        PositionList overhanging = chunk.takeOverhangingLeaves();
+        if (overhanging != null) {
+            for (int i = 0; i < overhanging.size(); i++) {
+                Vector4DInt leaf = new Vector4DInt(overhanging.getX(i), overhanging.getY(i), overhanging.getZ(i), overhanging.getW(i));
+                Vector4DInt targetChunkPos = chunkPositionOf(leaf);
+                Chunk4D targetChunk = chunks.get(targetChunkPos);
+                if (targetChunk != null) {
+                    placeLeafIfAir(targetChunk, leaf);
+                } else {
+                    pendingLeaves.computeIfAbsent(targetChunkPos, k -> new PositionList(64))
+                        .add(leaf.getX(), leaf.getY(), leaf.getZ(), leaf.getW());
                 }
             }
         }
+        
+        PositionList pendingForThisChunk = pendingLeaves.remove(position);
+        if (pendingForThisChunk != null) {
+            for (int i = 0; i < pendingForThisChunk.size(); i++) {
+                placeLeafIfAir(chunk, new Vector4DInt(pendingForThisChunk.getX(i), pendingForThisChunk.getY(i),
+                                                      pendingForThisChunk.getZ(i), pendingForThisChunk.getW(i)));
+            }
+        }
+    }
+    
+    /**
+     * Places a leaf at a world position inside the given chunk if the position is air.
+     */
+    private void placeLeafIfAir(Chunk4D chunk, Vector4DInt leaf) {
+        int localX = Math.floorMod(leaf.getX(), Chunk4D.CHUNK_SIZE);
+        int localY = Math.floorMod(leaf.getY(), Chunk4D.CHUNK_SIZE);
+        int localZ = Math.floorMod(leaf.getZ(), Chunk4D.CHUNK_SIZE);
+        int localW = Math.floorMod(leaf.getW(), Chunk4D.CHUNK_SIZE);
+        Block existingBlock = chunk.getBlock(localX, localY, localZ, localW);
+        if (existingBlock != null && existingBlock.equals(ItemRegistry.createBlock(Material.AIR))) {
+            chunk.setBlock(localX, localY, localZ, localW, ItemRegistry.createBlock(Material.LEAVES));
+        }
+    }
+    
+    /**
+     * Gets the position of the chunk containing a world position.
+     */
+    private static Vector4DInt chunkPositionOf(Vector4DInt worldPos) {
+        return new Vector4DInt(
+            Math.floorDiv(worldPos.getX(), Chunk4D.CHUNK_SIZE),
+            Math.floorDiv(worldPos.getY(), Chunk4D.CHUNK_SIZE),
+            Math.floorDiv(worldPos.getZ(), Chunk4D.CHUNK_SIZE),
+            Math.floorDiv(worldPos.getW(), Chunk4D.CHUNK_SIZE)
+        );
     }
     
     /**
@@ -896,7 +1522,7 @@ public class World {
      * Gets the total number of pending leaves for debugging.
      */
     public int getTotalPendingLeavesCount() {
-        return pendingLeaves.values().stream().mapToInt(List::size).sum();
+        return pendingLeaves.values().stream().mapToInt(PositionList::size).sum();
     }
     
     /**
@@ -988,7 +1614,33 @@ public class World {
      * @return true if the chunk was unloaded, false if it wasn't loaded
      */
     public boolean unloadChunk(Vector4DInt position) {
-        return chunks.remove(position) != null;
+        ChunkUnloadEvent event = new ChunkUnloadEvent();
+        event.begin();
+        chunkPrefetcher.forget(position);
+        Chunk4D chunk = chunks.remove(position);
+        if (chunk == null) {
+            return false;
+        }
+        chunkSetChanged = true;
+        chunkSetVersion.incrementAndGet();
+        commitChunkUnload(event, position, chunk, false);
+        return true;
+    }
+    
+    /**
+     * Fills in and commits a chunk unload event if it is being recorded.
+     */
+    private static void commitChunkUnload(ChunkUnloadEvent event, Vector4DInt position, Chunk4D chunk, boolean evicted) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.chunkX = position.getX();
+            event.chunkY = position.getY();
+            event.chunkZ = position.getZ();
+            event.chunkW = position.getW();
+            event.evicted = evicted;
+            event.dirty = chunk.isDirty();
+            event.commit();
+        }
     }
     
     /**
@@ -1027,13 +1679,18 @@ public class World {
     }
     
     /**
-     * Sets the block at the specified position.
+     * Sets the block at the specified position. Called from another thread than the
+     * simulation thread, the change is queued and made at the start of the next tick.
      * 
      * @param position The block position
      * @param block The block to set
-     * @return true if the block was set, false otherwise
+     * @return true if the block was set or queued, false otherwise
      */
     public boolean setBlock(Vector4DInt position, Block block) {
+        if (!isSimulationThread()) {
+            submit(() -> setBlock(position, block));
+            return true;
+        }
         
         // Calculate the chunk position
         Vector4DInt chunkPos = new Vector4DInt(
@@ -1063,18 +1720,80 @@ public class World {
         boolean success = chunk.setBlock(localPos, block);
         
         if (success) {
+            // Record the change so it survives a crash before the next save
+            if (blockChangeJournal != null) {
+                blockChangeJournal.append(position, block);
+            }
+            
             // Queue position for neighbor notification processing (avoid infinite loops)
             queueNotification(position);
+            
+            // Let water flow into or out of the changed cell
+            fluidEngine.onBlockChanged(position);
+            
+            // Schedule the timed events of a new smelter or drop those of a replaced one
+            scheduleBlockEvents(position);
+            
+            // Wake items resting on or next to the changed block
+            wakeAround(position.getX(), position.getY(), position.getZ(), position.getW());
         }
         
         return success;
     }
     
     /**
-     * Queues a position for neighbor notification processing to avoid infinite loops.
+     * Wakes the items resting on or next to the blocks a fluid pass wrote straight into
+     * a loaded chunk, given as the box of the changed cells. The levels are not
+     * journaled: the engine derives them from the sources, which only change through
+     * {@link #setBlock}. Simulation thread only.
+     * 
+     * @param minX Minimum world X coordinate of the changed cells
+     * @param minY Minimum world Y coordinate of the changed cells
+     * @param minZ Minimum world Z coordinate of the changed cells
+     * @param minW Minimum world W coordinate of the changed cells
+     * @param maxX Maximum world X coordinate of the changed cells
+     * @param maxY Maximum world Y coordinate of the changed cells
+     * @param maxZ Maximum world Z coordinate of the changed cells
+     * @param maxW Maximum world W coordinate of the changed cells
+     */
+    void onFluidCellsChanged(int minX, int minY, int minZ, int minW, int maxX, int maxY, int maxZ, int maxW) {
+        queueWakeBox(minX - 1, minY - 1, minZ - 1, minW - 1, maxX + 2, maxY + 2, maxZ + 2, maxW + 2);
+    }
+    
+    /**
+     * Queues a wake-up of the items in the blocks around a changed block.
+     */
+    private void wakeAround(int x, int y, int z, int w) {
+        queueWakeBox(x - 1, y - 1, z - 1, w - 1, x + 2, y + 2, z + 2, w + 2);
+    }
+    
+    /**
+     * Queues a wake-up of the items inside a box, bounds included.
+     */
+    private void queueWakeBox(int minX, int minY, int minZ, int minW, int maxX, int maxY, int maxZ, int maxW) {
+        int offset = pendingWakeBoxCount * WAKE_BOX_INTS;
+        if (offset == pendingWakeBoxes.length) {
+            pendingWakeBoxes = java.util.Arrays.copyOf(pendingWakeBoxes, offset * 2);
+        }
+        int[] boxes = pendingWakeBoxes;
+        boxes[offset] = minX;
+        boxes[offset + 1] = minY;
+        boxes[offset + 2] = minZ;
+        boxes[offset + 3] = minW;
+        boxes[offset + 4] = maxX;
+        boxes[offset + 5] = maxY;
+        boxes[offset + 6] = maxZ;
+        boxes[offset + 7] = maxW;
+        pendingWakeBoxCount++;
+    }
+    
+    /**
+     * Schedules a position for neighbor notification processing to avoid infinite loops.
+     * A position that is already scheduled is not queued again.
      */
     private void queueNotification(Vector4DInt position) {
-        blockUpdateQueue.offer(position);
+        scheduledTicks.schedule(position.getX(), position.getY(), position.getZ(), position.getW(),
+                                worldTick + BLOCK_UPDATE_DELAY_TICKS);
     }
     
     
@@ -1083,52 +1802,48 @@ public class World {
      * Notifies a specific block of a neighbor change.
      */
     private void notifyBlockUpdate(Vector4DInt position, Block block) {
-        // Handle water flow updates
-        if (block instanceof Water) {
-            Water waterBlock = (Water) block;
-            waterBlock.updateFlow(this, position);
-            // Check if water should be removed after update
-            if (waterBlock.isMarkedForRemoval()) {
-                setBlock(position, ItemRegistry.createBlock(Material.AIR));
-            }
-        }
-        
-        // Handle smelter tracking for chunk-based updates
-        Vector4DInt chunkPos = getChunkPosition(new Vector4D(position.getX(), position.getY(), position.getZ(), position.getW()));
-        
-        if (block instanceof SmelterItem || block instanceof SmelterPoweredItem) {
-            // Add smelter to chunk tracking
-            chunkSmelters.computeIfAbsent(chunkPos, k -> new java.util.ArrayList<>()).add(position);
-        } else {
-            // Remove smelter from chunk tracking if it was replaced
-            java.util.List<Vector4DInt> smelters = chunkSmelters.get(chunkPos);
-            if (smelters != null) {
-                smelters.remove(position);
-                if (smelters.isEmpty()) {
-                    chunkSmelters.remove(chunkPos);
-                }
-            }
+        // Make sure timed blocks have their next event scheduled
+        if (block instanceof HasScheduledEvents) {
+            rescheduleBlockEvent(position);
         }
     }
     
     /**
-     * Adds an entity to the world.
+     * Adds an entity to the world. Called from another thread than the simulation
+     * thread, the entity is queued and added at the start of the next tick.
      * 
      * @param entity The entity to add
      */
     public void addEntity(Entity entity) {
+        if (!isSimulationThread()) {
+            submit(() -> addEntity(entity));
+            return;
+        }
         entities.put(entity.getId(), entity);
-        nextEntityId++;
+        awakeEntities.put(entity.getId(), entity);
+        trackEntity(entity);
+        nextEntityId.accumulateAndGet(entity.getId() + 1, Math::max);
     }
     
     /**
-     * Removes an entity from the world.
+     * Removes an entity from the world. Called from another thread than the simulation
+     * thread, the removal is queued, the entity stays in the world until the next tick
+     * and null is returned.
      * 
      * @param entityId The ID of the entity to remove
-     * @return The removed entity, or null if not found
+     * @return The removed entity, or null if not found or queued
      */
     public Entity removeEntity(int entityId) {
-        return entities.remove(entityId);
+        if (!isSimulationThread()) {
+            submit(() -> removeEntity(entityId));
+            return null;
+        }
+        Entity removed = entities.remove(entityId);
+        if (removed != null) {
+            awakeEntities.remove(entityId);
+            untrackEntity(removed);
+        }
+        return removed;
     }
     
     /**
@@ -1165,7 +1880,7 @@ public class World {
      * @return The next entity ID
      */
     public int getNextEntityId() {
-        return nextEntityId++;
+        return nextEntityId.getAndIncrement();
     }
     
     /**
@@ -1176,7 +1891,7 @@ public class World {
      * @return The created player
      */
     public Player createPlayer(String username, Vector4D position) {
-        int id = nextEntityId;
+        int id = nextEntityId.getAndIncrement();
         Player player = new Player(id, position, username);
         addEntity(player);
         return player;
@@ -1218,32 +1933,520 @@ public class World {
     }
     
     /**
-     * Updates all entities and blocks in the world.
+     * Updates all entities and blocks in the world by one simulation tick.
      * 
-     * @param deltaTime The time elapsed since the last update in seconds
+     * @param deltaTime The length of a simulation tick in seconds
      */
     public void update(double deltaTime) {
+        profiler.push("world");
+        
+        // Make the changes other threads asked for since the last tick
+        profiler.push("commands");
+        processCommands();
+        profiler.pop();
+        
+        // Remember where entities started this tick so rendering can interpolate;
+        // sleeping entities do not move, so theirs is still up to date
+        for (Entity entity : awakeEntities.values()) {
+            entity.storePreviousPosition();
+        }
+        
         // Update all entities
-        for (Entity entity : entities.values()) {
-            entity.update(deltaTime, this);
+        profiler.push("entities");
+        updateEntities(deltaTime);
+        profiler.pop();
+        
+        // Combine dropped items lying next to each other every now and then
+        if (worldTick % ITEM_MERGE_INTERVAL_TICKS == 0) {
+            profiler.push("item merge");
+            mergeDroppedItems();
+            profiler.pop();
         }
         
-        // Update all blocks (specifically powered smelters) only every 100ms
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastBlockUpdateTime >= BLOCK_UPDATE_INTERVAL_MS) {
+        // Run the block updates that are due this tick
+        profiler.push("scheduled ticks");
+        processScheduledTicks();
+        profiler.pop();
+        
+        // Run smelter completions and power expiries that are due this tick
+        profiler.push("block events");
+        processBlockEvents();
+        profiler.pop();
+        
+        // Let grass spread and saplings grow in the chunks near players
+        profiler.push("random ticks");
+        processRandomTicks();
+        profiler.pop();
+        
+        // Advance water flow
+        profiler.push("fluids");
+        fluidEngine.update(worldTick);
+        profiler.pop();
+        
+        // Update the chunks near players every few ticks
+        if (worldTick % BLOCK_UPDATE_INTERVAL_TICKS == 0) {
+            profiler.push("chunk radii");
             updateBlocks();
-            lastBlockUpdateTime = currentTime;
+            profiler.pop();
         }
+        worldTick++;
         
         // Clean up despawned dropped items
+        profiler.push("despawn");
         cleanupDespawnedItems();
+        profiler.pop();
+        
+        // Write out the current batch of journaled block changes
+        if (blockChangeJournal != null) {
+            profiler.push("journal");
+            blockChangeJournal.flushIfDue();
+            profiler.pop();
+        }
+        
+        profiler.push("snapshot");
+        publishSnapshot();
+        profiler.pop();
+        
+        profiler.pop();
+    }
+    
+    /**
+     * Gets the profiler the world records its update sections in. The world only records
+     * while a tick is open, see {@link TickProfiler#beginTick()}.
+     * 
+     * @return The tick profiler
+     */
+    public TickProfiler getProfiler() {
+        return profiler;
+    }
+    
+    /**
+     * Queues a change to the world to be made by the simulation thread at the start of
+     * its next tick. Changes are made in the order they were submitted. Safe to call
+     * from any thread; this is how input handlers and background loaders change the world.
+     * 
+     * @param command The change to make
+     */
+    public void submit(Runnable command) {
+        commands.offer(command);
+    }
+    
+    /**
+     * Makes the queued changes and publishes a new snapshot without running a tick.
+     * The game calls this while the simulation is paused, so queued changes such as a
+     * save are not held back, and once its loop has stopped, to make the changes still
+     * queued before the final save. The calling thread becomes the simulation thread,
+     * so the thread that ran the ticks before must have stopped.
+     */
+    public void runCommands() {
+        processCommands();
+        publishSnapshot();
+    }
+    
+    /**
+     * Runs the queued commands in submission order on the calling thread, which
+     * becomes the simulation thread. This is how the world is handed from the thread
+     * that created it to the game loop.
+     */
+    private void processCommands() {
+        Thread current = Thread.currentThread();
+        if (simulationThread != current) {
+            simulationThread = current;
+        }
+        
+        // Commands may submit further commands, those wait for the next tick once the cap is reached
+        Runnable command;
+        for (int i = 0; i < MAX_COMMANDS_PER_TICK && (command = commands.poll()) != null; i++) {
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                System.err.println("Failed to apply world change: " + e);
+            }
+        }
+    }
+    
+    /**
+     * Checks whether the calling thread may change the world directly: it is the
+     * simulation thread, or the world has not been simulated yet and it is the thread
+     * that created the world (e.g. while the world is being generated or loaded).
+     * 
+     * @return true if the world may be changed directly
+     */
+    public boolean isSimulationThread() {
+        return simulationThread == Thread.currentThread();
+    }
+    
+    /**
+     * Gets the snapshot published after the latest tick. Safe to call from any thread.
+     * 
+     * @return The latest snapshot
+     */
+    public WorldSnapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    /**
+     * Publishes the current state of the world for readers on other threads.
+     */
+    private void publishSnapshot() {
+        Map<Vector4DInt, Chunk4D> snapshotChunks;
+        if (chunkSetChanged) {
+            chunkSetChanged = false;
+            snapshotChunks = Map.copyOf(chunks);
+        } else {
+            snapshotChunks = snapshot.getChunks();
+        }
+        snapshot = new WorldSnapshot(worldTick, snapshotChunks);
     }
     
     /**
-     * Removes all dropped items that are marked for despawn.
+     * Updates all awake entities. Entities without a two-phase update (players) run first,
+     * one after another. The others then compute their next state, in parallel once
+     * there are enough of them, while the world and the players hold still. Their
+     * results are applied serially afterwards, so the outcome does not depend on the
+     * number of threads. Entities that came to rest are put to sleep afterwards.
+     * 
+     * @param deltaTime The time elapsed since the last update in seconds
+     */
+    void updateEntities(double deltaTime) {
+        long startTime = System.nanoTime();
+        profiler.push("wake-ups");
+        processWakeUps();
+        profiler.pop();
+        
+        serialEntities.clear();
+        parallelEntities.clear();
+        for (Entity entity : awakeEntities.values()) {
+            if (entity.isParallelUpdatable()) {
+                parallelEntities.add(entity);
+            } else {
+                serialEntities.add(entity);
+            }
+        }
+        
+        profiler.push("players");
+        for (int i = 0; i < serialEntities.size(); i++) {
+            Entity entity = serialEntities.get(i);
+            entity.update(deltaTime, this);
+            trackEntity(entity);
+            if (entity instanceof Player) {
+                // Items a player walks up to need their pickup timers running
+                nearbyEntities.clear();
+                entityGrid.queryRadius(entity.getX(), entity.getY(), entity.getZ(), entity.getW(),
+                                       PLAYER_WAKE_RADIUS, nearbyEntities);
+                for (int j = 0; j < nearbyEntities.size(); j++) {
+                    Entity nearby = nearbyEntities.get(j);
+                    if (wakeEntity(nearby) && nearby.isParallelUpdatable()) {
+                        parallelEntities.add(nearby);
+                    }
+                }
+            }
+        }
+        profiler.pop();
+        
+        profiler.push("compute");
+        int count = parallelEntities.size();
+        lastEntityUpdateParallel = entityPool != null && entityPool.getParallelism() > 1 && count >= PARALLEL_ENTITY_THRESHOLD;
+        if (lastEntityUpdateParallel) {
+            entityPool.invoke(new EntityComputeTask(0, count, deltaTime));
+        } else {
+            for (int i = 0; i < count; i++) {
+                parallelEntities.get(i).computeUpdate(deltaTime, this);
+            }
+        }
+        profiler.pop();
+        
+        profiler.push("apply");
+        for (int i = 0; i < count; i++) {
+            Entity entity = parallelEntities.get(i);
+            entity.applyUpdate(this);
+            trackEntity(entity);
+            if (entity.canSleep()) {
+                sleepEntity(entity);
+            }
+        }
+        profiler.pop();
+        lastEntityUpdateNanos = System.nanoTime() - startTime;
+    }
+    
+    /**
+     * Wakes the entities around the blocks and chunks that changed since the last
+     * update, and those whose sleep timer ran out.
+     */
+    private void processWakeUps() {
+        int[] boxes = pendingWakeBoxes;
+        for (int offset = 0; offset < pendingWakeBoxCount * WAKE_BOX_INTS; offset += WAKE_BOX_INTS) {
+            nearbyEntities.clear();
+            entityGrid.queryBox(boxes[offset], boxes[offset + 1], boxes[offset + 2], boxes[offset + 3],
+                                boxes[offset + 4], boxes[offset + 5], boxes[offset + 6], boxes[offset + 7],
+                                nearbyEntities);
+            for (int i = 0; i < nearbyEntities.size(); i++) {
+                wakeEntity(nearbyEntities.get(i));
+            }
+        }
+        pendingWakeBoxCount = 0;
+        nearbyEntities.clear();
+        sleepTimers.advance(worldTick, wakeOnTimer);
+    }
+    
+    /**
+     * Takes an entity out of the update until it is woken again. Entities with a
+     * limited sleep time get a timer, unless an earlier one is still pending.
+     */
+    private void sleepEntity(Entity entity) {
+        entity.setSleeping(true);
+        awakeEntities.remove(entity.getId());
+        
+        long maxSleepMillis = entity.getMaxSleepMillis();
+        if (maxSleepMillis != Long.MAX_VALUE && !sleepTimerTicks.containsKey(entity.getId())) {
+            long dueTick = worldTick + Math.max(1, (long) Math.ceil(maxSleepMillis / TICK_MILLIS));
+            sleepTimerTicks.put(entity.getId(), dueTick);
+            sleepTimers.schedule(entity, dueTick);
+        }
+    }
+    
+    /**
+     * Puts a sleeping entity back into the update.
+     * 
+     * @param entity The entity to wake
+     * @return true if the entity was asleep and is still in the world
+     */
+    private boolean wakeEntity(Entity entity) {
+        if (!entity.isSleeping() || entities.get(entity.getId()) != entity) {
+            return false;
+        }
+        entity.setSleeping(false);
+        entity.onWake();
+        awakeEntities.put(entity.getId(), entity);
+        return true;
+    }
+    
+    /**
+     * Gets the number of entities that are currently sleeping.
+     * 
+     * @return The number of entities left out of the update
+     */
+    public int getSleepingEntityCount() {
+        return entities.size() - awakeEntities.size();
+    }
+    
+    /**
+     * Gets a counter that changes whenever a chunk is loaded, replaced or unloaded.
+     * A chunk looked up while the counter had the same value is still current.
+     * 
+     * @return The chunk set version
+     */
+    long getChunkSetVersion() {
+        return chunkSetVersion.get();
+    }
+    
+    /**
+     * Finds the entities within a distance of a point, using the spatial index.
+     * Safe to call from other threads and from entities computing their update.
+     * 
+     * @param center The center of the query
+     * @param radius The maximum distance from the center
+     * @return The entities whose position is within the radius
+     */
+    public List<Entity> queryRadius(Vector4D center, double radius) {
+        return entityGrid.queryRadius(center, radius);
+    }
+    
+    /**
+     * Collects the entities within a distance of a point into a caller-owned list, so
+     * queries made every tick need not allocate. Simulation thread only.
+     * 
+     * @param x The X coordinate of the center
+     * @param y The Y coordinate of the center
+     * @param z The Z coordinate of the center
+     * @param w The W coordinate of the center
+     * @param radius The maximum distance from the center
+     * @param result The list the entities are appended to
+     */
+    void queryRadius(double x, double y, double z, double w, double radius, List<Entity> result) {
+        entityGrid.queryRadius(x, y, z, w, radius, result);
+    }
+    
+    /**
+     * Finds the entities inside an axis-aligned box, using the spatial index.
+     * Safe to call from other threads and from entities computing their update.
+     * 
+     * @param min The minimum corner of the box
+     * @param max The maximum corner of the box
+     * @return The entities whose position is inside the box, bounds included
+     */
+    public List<Entity> queryBox(Vector4D min, Vector4D max) {
+        return entityGrid.queryBox(min, max);
+    }
+    
+    /**
+     * Finds the players within a distance of a point.
+     * Safe to call from other threads and from entities computing their update.
+     * 
+     * @param center The center of the query
+     * @param radius The maximum distance from the center
+     * @return The players whose position is within the radius
+     */
+    public List<Player> queryPlayers(Vector4D center, double radius) {
+        List<Player> result = new ArrayList<>();
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (distanceSquared(player, center.getX(), center.getY(), center.getZ(), center.getW()) <= radius * radius) {
+                result.add(player);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Checks whether any player is within a distance of a point, without allocating.
+     * Safe to call from other threads and from entities computing their update.
+     * 
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @param z The Z coordinate of the point
+     * @param w The W coordinate of the point
+     * @param radius The maximum distance from the point
+     * @return true if at least one player is within the radius
+     */
+    public boolean isPlayerNear(double x, double y, double z, double w, double radius) {
+        for (int i = 0; i < players.size(); i++) {
+            if (distanceSquared(players.get(i), x, y, z, w) <= radius * radius) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static double distanceSquared(Entity entity, double x, double y, double z, double w) {
+        double dx = entity.getX() - x;
+        double dy = entity.getY() - y;
+        double dz = entity.getZ() - z;
+        double dw = entity.getW() - w;
+        return dx * dx + dy * dy + dz * dz + dw * dw;
+    }
+    
+    /**
+     * Moves an entity to the grid cell of its current position, adding it to the
+     * spatial indexes if it is not in them yet.
+     */
+    private void trackEntity(Entity entity) {
+        boolean tracked = entity.gridCell != null;
+        entityGrid.update(entity);
+        if (!tracked && entity instanceof Player) {
+            players.add((Player) entity);
+        }
+    }
+    
+    /**
+     * Removes an entity from the spatial indexes.
+     */
+    private void untrackEntity(Entity entity) {
+        entityGrid.remove(entity);
+        if (entity instanceof Player) {
+            players.remove(entity);
+        }
+    }
+    
+    /**
+     * Sets the pool entity updates are computed on.
+     * 
+     * @param pool The pool to use, or null to always update on the calling thread
+     */
+    void setEntityPool(ForkJoinPool pool) {
+        this.entityPool = pool;
+    }
+    
+    /**
+     * Checks whether the last entity update was computed in parallel.
+     * 
+     * @return true if the compute phase ran on the entity pool
+     */
+    public boolean wasLastEntityUpdateParallel() {
+        return lastEntityUpdateParallel;
+    }
+    
+    /**
+     * Gets the time the last entity update took.
+     * 
+     * @return The duration in nanoseconds
+     */
+    public long getLastEntityUpdateNanos() {
+        return lastEntityUpdateNanos;
+    }
+    
+    /**
+     * Merges dropped items of the same material that lie within {@link #ITEM_MERGE_RADIUS}
+     * of each other into one stack, up to the maximum stack size. Items are hashed into
+     * grid cells as large as the merge radius, so each item only looks at the 3x3x3x3
+     * cells around it and a pass takes time linear in the number of items.
+     * Emptied items are marked for despawn and removed by the regular cleanup.
+     */
+    void mergeDroppedItems() {
+        mergeGrid.clear();
+        int merged = 0;
+        for (Entity entity : entities.values()) {
+            if (!(entity instanceof DroppedItem)) {
+                continue;
+            }
+            DroppedItem item = (DroppedItem) entity;
+            if (item.shouldDespawn()) {
+                continue;
+            }
+            
+            int cellX = (int) Math.floor(item.getX() / ITEM_MERGE_RADIUS);
+            int cellY = (int) Math.floor(item.getY() / ITEM_MERGE_RADIUS);
+            int cellZ = (int) Math.floor(item.getZ() / ITEM_MERGE_RADIUS);
+            int cellW = (int) Math.floor(item.getW() / ITEM_MERGE_RADIUS);
+            
+            // Pour this item into the stacks already placed around it
+            for (int dx = -1; dx <= 1 && !item.shouldDespawn(); dx++) {
+                for (int dy = -1; dy <= 1 && !item.shouldDespawn(); dy++) {
+                    for (int dz = -1; dz <= 1 && !item.shouldDespawn(); dz++) {
+                        for (int dw = -1; dw <= 1 && !item.shouldDespawn(); dw++) {
+                            List<DroppedItem> cell = mergeGrid.get(Vector4DInt.hash(cellX + dx, cellY + dy, cellZ + dz, cellW + dw));
+                            if (cell == null) {
+                                continue;
+                            }
+                            for (int i = 0; i < cell.size() && !item.shouldDespawn(); i++) {
+                                DroppedItem target = cell.get(i);
+                                if (target.canMergeWith(item)
+                                        && distanceSquared(target, item.getX(), item.getY(), item.getZ(), item.getW())
+                                            <= ITEM_MERGE_RADIUS * ITEM_MERGE_RADIUS) {
+                                    target.mergeFrom(item);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            
+            if (item.shouldDespawn()) {
+                // Emptied items may be asleep, the cleanup only looks at awake ones
+                wakeEntity(item);
+                merged++;
+            } else {
+                mergeGrid.computeIfAbsent(Vector4DInt.hash(cellX, cellY, cellZ, cellW), k -> new ArrayList<>()).add(item);
+            }
+        }
+        lastMergedItemCount = merged;
+    }
+    
+    /**
+     * Gets the number of dropped items absorbed into other stacks by the last merge pass.
+     * 
+     * @return The number of merged items
+     */
+    public int getLastMergedItemCount() {
+        return lastMergedItemCount;
+    }
+    
+    /**
+     * Removes all dropped items that are marked for despawn. Sleeping items are woken
+     * before they despawn, so only awake entities need to be checked.
      */
     private void cleanupDespawnedItems() {
-        java.util.Iterator<java.util.Map.Entry<Integer, Entity>> iterator = entities.entrySet().iterator();
+        java.util.Iterator<java.util.Map.Entry<Integer, Entity>> iterator = awakeEntities.entrySet().iterator();
         
         while (iterator.hasNext()) {
             java.util.Map.Entry<Integer, Entity> entry = iterator.next();
@@ -1253,6 +2456,8 @@ public class World {
                 DroppedItem droppedItem = (DroppedItem) entity;
                 if (droppedItem.shouldDespawn()) {
                     iterator.remove();
+                    entities.remove(entity.getId());
+                    untrackEntity(entity);
                     
                     // Also remove from chunk
                     Vector4DInt chunkPos = getChunkPosition(entity.getPosition());
@@ -1298,16 +2503,23 @@ public class World {
      * @param chunk The chunk to set
      */
     public void setChunk(Vector4DInt position, Chunk4D chunk) {
+        replayJournal(position, chunk);
+        registerBlockEvents(chunk);
         chunks.put(position, chunk);
+        chunkSetChanged = true;
+        chunkSetVersion.incrementAndGet();
+        installLeaves(position, chunk);
+        wakeEntitiesAroundChunk(position);
         
         // Register all entities from the chunk into the world's entity map
         for (Entity entity : chunk.getEntities().values()) {
             entities.put(entity.getId(), entity);
+            entity.setSleeping(false);
+            awakeEntities.put(entity.getId(), entity);
+            trackEntity(entity);
             
             // Update nextEntityId to avoid conflicts
-            if (entity.getId() >= nextEntityId) {
-                nextEntityId = entity.getId() + 1;
-            }
+            nextEntityId.accumulateAndGet(entity.getId() + 1, Math::max);
         }
     }
     
@@ -1345,4 +2557,46 @@ public class World {
             }
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * A scheduled timed event of the block at a position.
+     */
+    private static class BlockEvent {
+        private final Vector4DInt position;
+        private final long dueTick;
+        
+        BlockEvent(Vector4DInt position, long dueTick) {
+            this.position = position;
+            this.dueTick = dueTick;
+        }
+    }
+    
+    /**
+     * Splits the compute phase of the entity update across the pool.
+     */
+    private class EntityComputeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final int from;
+        private final int to;
+        private final double deltaTime;
+        
+        EntityComputeTask(int from, int to, double deltaTime) {
+            this.from = from;
+            this.to = to;
+            this.deltaTime = deltaTime;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= ENTITIES_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    parallelEntities.get(i).computeUpdate(deltaTime, World.this);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new EntityComputeTask(from, middle, deltaTime), new EntityComputeTask(middle, to, deltaTime));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package me.friedhof.hyperbuilder.computation.modules;
+
+import java.util.Map;
+
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.Block;
+
+/**
+ * Read-only view of a world as of the end of a simulation tick, for threads other than
+ * the simulation thread, such as the renderer.
+ *
+ * The world publishes a new snapshot after every tick. The set of chunks in a snapshot
+ * never changes, and reading from it never loads or generates a chunk, so a frame
+ * rendered from one snapshot cannot race with chunk loading or eviction. The chunks
+ * themselves are shared with the simulation rather than copied, so a block read may
+ * already show a change made by the tick in progress.
+ */
+public class WorldSnapshot {
+    private final long tick;
+    private final Map<Vector4DInt, Chunk4D> chunks;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param tick The world tick the snapshot was taken after
+     * @param chunks The loaded chunks, must not be modified afterwards
+     */
+    WorldSnapshot(long tick, Map<Vector4DInt, Chunk4D> chunks) {
+        this.tick = tick;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Gets the world tick this snapshot was taken after.
+     *
+     * @return The world tick
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets a chunk that was loaded when the snapshot was taken.
+     *
+     * @param position The chunk position
+     * @return The chunk, or null if it was not loaded
+     */
+    public Chunk4D getChunk(Vector4DInt position) {
+        return chunks.get(position);
+    }
+
+    /**
+     * Gets the chunks of the snapshot, for reuse by the next one when no chunk was
+     * loaded or evicted in between.
+     *
+     * @return The unmodifiable chunk map
+     */
+    Map<Vector4DInt, Chunk4D> getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Gets the number of chunks in the snapshot.
+     *
+     * @return The number of loaded chunks
+     */
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * Gets the block at a world position.
+     *
+     * @param position The block position
+     * @return The block, or null if its chunk was not loaded
+     */
+    public Block getBlock(Vector4DInt position) {
+        Chunk4D chunk = chunks.get(new Vector4DInt(
+            Math.floorDiv(position.getX(), Chunk4D.CHUNK_SIZE),
+            Math.floorDiv(position.getY(), Chunk4D.CHUNK_SIZE),
+            Math.floorDiv(position.getZ(), Chunk4D.CHUNK_SIZE),
+            Math.floorDiv(position.getW(), Chunk4D.CHUNK_SIZE)));
+        if (chunk == null) {
+            return null;
+        }
+        return chunk.getBlock(
+            Math.floorMod(position.getX(), Chunk4D.CHUNK_SIZE),
+            Math.floorMod(position.getY(), Chunk4D.CHUNK_SIZE),
+            Math.floorMod(position.getZ(), Chunk4D.CHUNK_SIZE),
+            Math.floorMod(position.getW(), Chunk4D.CHUNK_SIZE));
+    }
+}
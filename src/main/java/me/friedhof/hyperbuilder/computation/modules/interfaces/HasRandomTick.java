@@ -0,0 +1,20 @@
+package me.friedhof.hyperbuilder.computation.modules.interfaces;
+
+import me.friedhof.hyperbuilder.computation.modules.Vector4DInt;
+import me.friedhof.hyperbuilder.computation.modules.World;
+import java.util.Random;
+
+/**
+ * Interface for blocks that change slowly over time, like grass spreading or saplings growing.
+ * Chunks keep an index of these blocks and the world ticks a few random ones per chunk each tick.
+ */
+public interface HasRandomTick {
+    /**
+     * Called when this block was picked for a random tick.
+     * 
+     * @param world The world the block is in
+     * @param position The world position of the block
+     * @param random The random source for the block's decisions
+     */
+    void randomTick(World world, Vector4DInt position, Random random);
+}
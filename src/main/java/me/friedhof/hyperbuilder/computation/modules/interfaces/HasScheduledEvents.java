@@ -0,0 +1,27 @@
+package me.friedhof.hyperbuilder.computation.modules.interfaces;
+
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.Block;
+
+/**
+ * Interface for blocks whose state changes on their own at known points in time,
+ * such as a smelter finishing an item or running out of power.
+ * The world schedules such blocks on its timer wheel instead of polling them every tick.
+ */
+public interface HasScheduledEvents {
+    /**
+     * Gets the time of this block's next state change.
+     * 
+     * @return The time in milliseconds (System.currentTimeMillis), or Long.MAX_VALUE if the block is idle
+     */
+    long getNextEventTime();
+    
+    /**
+     * Brings the block's state up to the given time in one step, as if it had been
+     * simulated all along. Used both when an event is due and when a chunk is loaded
+     * after being away, so the work must not depend on how much time passed.
+     * 
+     * @param currentTime The time to catch up to in milliseconds (System.currentTimeMillis)
+     * @return The block that should now be at this position, this block unless it turned into another one
+     */
+    Block catchUp(long currentTime);
+}
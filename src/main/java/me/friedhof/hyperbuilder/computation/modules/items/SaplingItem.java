@@ -1,14 +1,24 @@
 package me.friedhof.hyperbuilder.computation.modules.items;
 
+import me.friedhof.hyperbuilder.computation.modules.ItemRegistry;
 import me.friedhof.hyperbuilder.computation.modules.Material;
+import me.friedhof.hyperbuilder.computation.modules.Vector4DInt;
+import me.friedhof.hyperbuilder.computation.modules.World;
+import me.friedhof.hyperbuilder.computation.modules.interfaces.HasRandomTick;
 import me.friedhof.hyperbuilder.computation.modules.items.blocks.Block;
+import java.util.Random;
 
 /**
  * Represents saplings - placeable items with no collision.
  * Saplings can be placed as blocks but do not block player movement.
  * They can grow into trees over time.
  */
-public class SaplingItem extends Block {
+public class SaplingItem extends Block implements HasRandomTick {
+    // Chance that a random tick grows the sapling into a tree
+    private static final int GROWTH_CHANCE = 32; // 1 in 32
+    private static final int MIN_TREE_HEIGHT = 3;
+    private static final int MAX_TREE_HEIGHT = 5;
+    private static final int LEAF_RADIUS = 2;
     
     public SaplingItem(int count) {
         super(Material.SAPLING, "Sapling", 999, count);
@@ -37,4 +47,53 @@ public class SaplingItem extends Block {
     public boolean isBreakable() {
         return true;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Occasionally grows into a tree, if it stands on dirt or grass and the trunk has room.
+     */
+    @Override
+    public void randomTick(World world, Vector4DInt position, Random random) {
+        if (random.nextInt(GROWTH_CHANCE) != 0) {
+            return;
+        }
+        
+        Block ground = world.getBlockIfLoaded(position.add(new Vector4DInt(0, -1, 0, 0)));
+        if (ground == null || (ground.getBlockId() != Material.DIRT && ground.getBlockId() != Material.GRASS_BLOCK)) {
+            return;
+        }
+        
+        int height = MIN_TREE_HEIGHT + random.nextInt(MAX_TREE_HEIGHT - MIN_TREE_HEIGHT + 1);
+        for (int i = 1; i < height; i++) {
+            if (!isAir(world.getBlockIfLoaded(position.add(new Vector4DInt(0, i, 0, 0))))) {
+                return;
+            }
+        }
+        
+        for (int i = 0; i < height; i++) {
+            world.setBlock(position.add(new Vector4DInt(0, i, 0, 0)), ItemRegistry.createBlock(Material.WOOD_LOG));
+        }
+        
+        // Leaves in the same 4D cross pattern as generated trees: at most 2 non-zero offsets
+        Vector4DInt top = position.add(new Vector4DInt(0, height - 1, 0, 0));
+        for (int dx = -LEAF_RADIUS; dx <= LEAF_RADIUS; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -LEAF_RADIUS; dz <= LEAF_RADIUS; dz++) {
+                    for (int dw = -LEAF_RADIUS; dw <= LEAF_RADIUS; dw++) {
+                        int nonZeroCount = (dx != 0 ? 1 : 0) + (dy != 0 ? 1 : 0) + (dz != 0 ? 1 : 0) + (dw != 0 ? 1 : 0);
+                        if (nonZeroCount > 2) {
+                            continue;
+                        }
+                        Vector4DInt leaf = top.add(new Vector4DInt(dx, dy, dz, dw));
+                        if (isAir(world.getBlockIfLoaded(leaf))) {
+                            world.setBlock(leaf, ItemRegistry.createBlock(Material.LEAVES));
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    private static boolean isAir(Block block) {
+        return block != null && block.getBlockId() == Material.AIR;
+    }
+}
@@ -1,16 +1,19 @@
 package me.friedhof.hyperbuilder.computation.modules.items.blocks;
 
 import me.friedhof.hyperbuilder.computation.modules.Material;
+import me.friedhof.hyperbuilder.computation.modules.interfaces.HasRandomTick;
 import me.friedhof.hyperbuilder.computation.modules.interfaces.IsTool;
 import me.friedhof.hyperbuilder.computation.modules.items.BaseItem;
 import me.friedhof.hyperbuilder.computation.modules.Vector4DInt;
 import java.util.ArrayList;
 import me.friedhof.hyperbuilder.computation.modules.ItemRegistry;
+import me.friedhof.hyperbuilder.computation.modules.World;
+import java.util.Random;
 /**
  * Represents grass blocks - placeable items with no collision.a
  * This is different from the existing grass item - these grass blocks can be placed but have no collision.
  */
-public class GrassBlockItem extends Block{
+public class GrassBlockItem extends Block implements HasRandomTick {
     
     public GrassBlockItem(int count) {
         super(Material.GRASS_BLOCK, "Grass Block", 999, count);
@@ -45,6 +48,29 @@ public class GrassBlockItem extends Block{
         }
         return drops;
     }
+    /**
+     * Turns into dirt when covered by a solid block, otherwise spreads onto a random
+     * neighbouring dirt block that has nothing solid on top of it.
+     */
+    @Override
+    public void randomTick(World world, Vector4DInt position, Random random) {
+        Block above = world.getBlockIfLoaded(position.add(new Vector4DInt(0, 1, 0, 0)));
+        if (above != null && above.isSolid()) {
+            world.setBlock(position, ItemRegistry.createBlock(Material.DIRT));
+            return;
+        }
+        
+        Vector4DInt target = position.add(new Vector4DInt(
+            random.nextInt(3) - 1, random.nextInt(3) - 1, random.nextInt(3) - 1, random.nextInt(3) - 1));
+        Block targetBlock = world.getBlockIfLoaded(target);
+        if (targetBlock == null || targetBlock.getBlockId() != Material.DIRT) {
+            return;
+        }
+        Block targetAbove = world.getBlockIfLoaded(target.add(new Vector4DInt(0, 1, 0, 0)));
+        if (targetAbove != null && !targetAbove.isSolid()) {
+            world.setBlock(target, ItemRegistry.createBlock(Material.GRASS_BLOCK));
+        }
+    }
     @Override
     public int getBreakTier() {
         return 1;
@@ -1,6 +1,7 @@
 package me.friedhof.hyperbuilder.computation.modules.items.blocks;
 
 import me.friedhof.hyperbuilder.computation.modules.Material;
+import me.friedhof.hyperbuilder.computation.modules.interfaces.HasScheduledEvents;
 import me.friedhof.hyperbuilder.computation.modules.interfaces.IsTool;
 import me.friedhof.hyperbuilder.computation.modules.items.BaseItem;
 import me.friedhof.hyperbuilder.computation.modules.SmelterInventory;
@@ -8,7 +9,7 @@ import me.friedhof.hyperbuilder.computation.modules.SmelterRecipe;
 
 import java.util.ArrayList;
 
-public class SmelterItem extends Block{
+public class SmelterItem extends Block implements HasScheduledEvents {
     private SmelterInventory inventory;
     private long processingStartTime;
     private boolean isProcessing;
@@ -69,9 +70,22 @@ public class SmelterItem extends Block{
      * Should be called regularly to check for completed processing.
      */
     public void update() {
-        if (isProcessing && System.currentTimeMillis() - processingStartTime >= PROCESSING_TIME) {
+        catchUp(System.currentTimeMillis());
+    }
+    
+    /**
+     * Completes the current item if its processing time has passed.
+     * Regular smelters do not start the next item on their own, so at most one item completes.
+     * 
+     * @param currentTime The time to catch up to in milliseconds
+     * @return This smelter
+     */
+    @Override
+    public Block catchUp(long currentTime) {
+        if (isProcessing && currentTime - processingStartTime >= PROCESSING_TIME) {
             completeProcessing();
         }
+        return this;
     }
     
     /**
@@ -179,6 +193,11 @@ public class SmelterItem extends Block{
         this.processingStartTime = startTime;
     }
     
+    @Override
+    public long getNextEventTime() {
+        return isProcessing ? processingStartTime + PROCESSING_TIME : Long.MAX_VALUE;
+    }
+    
     /**
      * Gets the processing time duration.
      * 
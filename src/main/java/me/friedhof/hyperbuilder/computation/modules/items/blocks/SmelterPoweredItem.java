@@ -3,12 +3,13 @@ package me.friedhof.hyperbuilder.computation.modules.items.blocks;
 import me.friedhof.hyperbuilder.computation.modules.ItemRegistry;
 import me.friedhof.hyperbuilder.computation.modules.Material;
 import me.friedhof.hyperbuilder.computation.modules.items.BaseItem;
+import me.friedhof.hyperbuilder.computation.modules.interfaces.HasScheduledEvents;
 import me.friedhof.hyperbuilder.computation.modules.interfaces.IsTool;
 import me.friedhof.hyperbuilder.computation.modules.SmelterInventory;
 import me.friedhof.hyperbuilder.computation.modules.SmelterRecipe;
 import java.util.ArrayList;
 
-public class SmelterPoweredItem extends Block{
+public class SmelterPoweredItem extends Block implements HasScheduledEvents {
     private SmelterInventory inventory;
     private long processingStartTime;
     private boolean isProcessing;
@@ -77,20 +78,37 @@ public class SmelterPoweredItem extends Block{
      * @return true if smelter is still powered, false if power expired
      */
     public boolean update() {
-        // Check if power has expired
-        if (!isPowered()) {
-            setProcessing(false);
-            return false;
+        return catchUp(System.currentTimeMillis()) == this;
+    }
+    
+    /**
+     * Completes every item that finished while powered, back to back, and turns into a
+     * regular smelter if the power ran out. The number of completed items follows from
+     * the elapsed time, so catching up after a long absence costs the same as one tick.
+     * 
+     * @param currentTime The time to catch up to in milliseconds
+     * @return This smelter, or a regular smelter with the same inventory if the power expired
+     */
+    @Override
+    public Block catchUp(long currentTime) {
+        long poweredUntil = Math.min(currentTime, getPowerExpireTime());
+        if (isProcessing && poweredUntil - processingStartTime >= PROCESSING_TIME) {
+            long cycles = (poweredUntil - processingStartTime) / PROCESSING_TIME;
+            int smelted = inventory.smeltBatch(cycles);
+            
+            // Each completion starts the next item right away, until input or output space runs out
+            if (smelted == cycles && canProcess()) {
+                processingStartTime += cycles * PROCESSING_TIME;
+            } else {
+                isProcessing = false;
+            }
         }
         
-        // Check if processing is complete
-        if (isProcessing && System.currentTimeMillis() - processingStartTime >= PROCESSING_TIME) {
-            completeProcessing();
-            // Try to start processing the next item automatically
-            startProcessing();
+        if (currentTime >= getPowerExpireTime()) {
+            isProcessing = false;
+            return new SmelterItem(1, inventory);
         }
-        
-        return true;
+        return this;
     }
     
     /**
@@ -99,17 +117,7 @@ public class SmelterPoweredItem extends Block{
      * @return true if processing started, false otherwise
      */
     public boolean startProcessing() {
-        if (!isPowered() || isProcessing || inventory.isInputEmpty()) {
-            return false;
-        }
-        
-        BaseItem inputItem = inventory.getInputItem();
-        if (!SmelterRecipe.canSmelt(inputItem)) {
-            return false;
-        }
-        
-        BaseItem result = SmelterRecipe.getSmeltingResult(inputItem);
-        if (result == null || !inventory.hasOutputSpaceFor(result)) {
+        if (!isPowered() || isProcessing || !canProcess()) {
             return false;
         }
         
@@ -118,22 +126,20 @@ public class SmelterPoweredItem extends Block{
     }
     
     /**
-     * Completes the current processing operation.
+     * Checks whether the input can be smelted and the output slot has room for the result.
      */
-    private void completeProcessing() {
-        if (!isProcessing) {
-            return;
+    private boolean canProcess() {
+        if (inventory.isInputEmpty()) {
+            return false;
         }
         
         BaseItem inputItem = inventory.getInputItem();
-        BaseItem result = SmelterRecipe.getSmeltingResult(inputItem);
-        
-        if (result != null && inventory.hasOutputSpaceFor(result)) {
-            inventory.consumeInputItem();
-            inventory.addToOutput(result);
+        if (!SmelterRecipe.canSmelt(inputItem)) {
+            return false;
         }
         
-        setProcessing(false);
+        BaseItem result = SmelterRecipe.getSmeltingResult(inputItem);
+        return result != null && inventory.hasOutputSpaceFor(result);
     }
     
     /**
@@ -246,6 +252,16 @@ public class SmelterPoweredItem extends Block{
         return (System.currentTimeMillis() - powerStartTime) < POWER_DURATION;
     }
     
+    @Override
+    public long getNextEventTime() {
+        // Power expiry stops processing, so it is always the last event
+        long next = getPowerExpireTime();
+        if (isProcessing) {
+            next = Math.min(next, processingStartTime + PROCESSING_TIME);
+        }
+        return next;
+    }
+    
     /**
      * Gets the processing time duration.
      * 
@@ -0,0 +1,47 @@
+package me.friedhof.hyperbuilder.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a chunk entering a world, from the recently evicted chunks, from disk
+ * or from the terrain generator. Emitted by the simulation thread on a cache miss and
+ * by the prefetcher's threads, so the event thread tells a stall from a background load.
+ */
+@Name("hyperbuilder.ChunkLoad")
+@Label("Chunk Load")
+@Category({"Hyperbuilder", "World"})
+@Description("A chunk was restored, read from disk or generated")
+@StackTrace(false)
+public class ChunkLoadEvent extends Event {
+    /** Source of a chunk taken back from the recently evicted chunks. */
+    public static final String RESTORE = "restore";
+    /** Source of a chunk read from its save file. */
+    public static final String DISK = "disk";
+    /** Source of a chunk produced by the terrain generator. */
+    public static final String GENERATE = "generate";
+
+    @Label("Chunk X")
+    public int chunkX;
+
+    @Label("Chunk Y")
+    public int chunkY;
+
+    @Label("Chunk Z")
+    public int chunkZ;
+
+    @Label("Chunk W")
+    public int chunkW;
+
+    @Label("Source")
+    @Description("restore, disk or generate")
+    public String source;
+
+    @Label("Journaled Changes")
+    @Description("Block changes replayed from the journal onto the chunk")
+    public int journaledChanges;
+}
@@ -0,0 +1,39 @@
+package me.friedhof.hyperbuilder.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for reading, verifying and decoding one chunk save file.
+ */
+@Name("hyperbuilder.ChunkRead")
+@Label("Chunk Read")
+@Category({"Hyperbuilder", "Save"})
+@Description("A chunk save file was read from disk")
+@StackTrace(false)
+public class ChunkReadEvent extends Event {
+    @Label("Chunk X")
+    public int chunkX;
+
+    @Label("Chunk Y")
+    public int chunkY;
+
+    @Label("Chunk Z")
+    public int chunkZ;
+
+    @Label("Chunk W")
+    public int chunkW;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Failed")
+    @Description("The file was damaged and moved to quarantine")
+    public boolean failed;
+}
@@ -0,0 +1,32 @@
+package me.friedhof.hyperbuilder.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for the chunk phase of a world save, which encodes and writes every dirty
+ * chunk on the save pool.
+ */
+@Name("hyperbuilder.ChunkSave")
+@Label("Chunk Save")
+@Category({"Hyperbuilder", "Save"})
+@Description("The dirty chunks of a world were saved")
+public class ChunkSaveEvent extends Event {
+    @Label("Chunks")
+    public int chunks;
+
+    @Label("Failed Chunks")
+    public int failedChunks;
+
+    @Label("Bytes")
+    @Description("Compressed bytes written")
+    @DataAmount
+    public long bytes;
+
+    @Label("Threads")
+    public int threads;
+}
@@ -0,0 +1,39 @@
+package me.friedhof.hyperbuilder.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a chunk leaving the loaded chunks of a world, either evicted past the
+ * unload radius into the cache of recently evicted chunks or unloaded for good.
+ */
+@Name("hyperbuilder.ChunkUnload")
+@Label("Chunk Unload")
+@Category({"Hyperbuilder", "World"})
+@Description("A chunk was evicted or unloaded")
+@StackTrace(false)
+public class ChunkUnloadEvent extends Event {
+    @Label("Chunk X")
+    public int chunkX;
+
+    @Label("Chunk Y")
+    public int chunkY;
+
+    @Label("Chunk Z")
+    public int chunkZ;
+
+    @Label("Chunk W")
+    public int chunkW;
+
+    @Label("Evicted")
+    @Description("Kept in the cache of recently evicted chunks")
+    public boolean evicted;
+
+    @Label("Dirty")
+    @Description("Had changes that were not saved yet")
+    public boolean dirty;
+}
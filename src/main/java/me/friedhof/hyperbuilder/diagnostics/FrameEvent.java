@@ -0,0 +1,22 @@
+package me.friedhof.hyperbuilder.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for rendering one frame on the event dispatch thread.
+ */
+@Name("hyperbuilder.Frame")
+@Label("Frame")
+@Category({"Hyperbuilder", "Game Loop"})
+@Description("One rendered frame")
+@StackTrace(false)
+public class FrameEvent extends Event {
+    @Label("Interpolation Alpha")
+    @Description("Position of the frame between the last two simulation ticks")
+    public double alpha;
+}
@@ -0,0 +1,26 @@
+package me.friedhof.hyperbuilder.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a pass over the scheduled block updates that are due. A growing
+ * backlog means updates are scheduled faster than the per-tick budget drains them.
+ */
+@Name("hyperbuilder.ScheduledTicks")
+@Label("Scheduled Block Updates")
+@Category({"Hyperbuilder", "World"})
+@Description("The due scheduled block updates of a tick were run")
+@StackTrace(false)
+public class ScheduledTicksEvent extends Event {
+    @Label("Processed")
+    public int processed;
+
+    @Label("Backlog")
+    @Description("Block updates still scheduled after the pass")
+    public int backlog;
+}
@@ -0,0 +1,27 @@
+package me.friedhof.hyperbuilder.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one fixed simulation tick of the game loop.
+ */
+@Name("hyperbuilder.Tick")
+@Label("Simulation Tick")
+@Category({"Hyperbuilder", "Game Loop"})
+@Description("One simulation tick")
+@StackTrace(false)
+public class TickEvent extends Event {
+    @Label("World Tick")
+    public long worldTick;
+
+    @Label("Loaded Chunks")
+    public int loadedChunks;
+
+    @Label("Sleeping Entities")
+    public int sleepingEntities;
+}
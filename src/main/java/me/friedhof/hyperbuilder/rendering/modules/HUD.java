@@ -29,6 +29,16 @@ public class HUD {
     // FPS tracking
     private int currentFPS = 0;
     
+    // Simulation tick tracking
+    private int currentTPS = 0;
+    private double currentMSPT = 0.0;
+    private double currentChunkLoads = 0.0;
+    private double currentChunkRestores = 0.0;
+    private double currentChunkEvictions = 0.0;
+    
+    // Tick profiler report, null while the profiler is off
+    private volatile java.util.List<String> tickProfile;
+    
     /**
      * Creates a new HUD with the specified dimensions.
      * 
@@ -82,6 +92,9 @@ public class HUD {
         // Draw slice size information
         drawSliceSizeInfo(g);
         
+        // Draw the tick profiler overlay if it is on
+        drawTickProfile(g);
+        
         // Draw controls information
         drawControls(g);
         
@@ -159,6 +172,39 @@ public class HUD {
         this.currentFPS = fps;
     }
     
+    /**
+     * Updates the simulation tick counters.
+     * 
+     * @param tps The simulation ticks run during the last second
+     * @param mspt The average milliseconds a tick took during the last second
+     */
+    public void updateTickStats(int tps, double mspt) {
+        this.currentTPS = tps;
+        this.currentMSPT = mspt;
+    }
+    
+    /**
+     * Updates the chunk load counters.
+     * 
+     * @param loads Chunks read from disk or generated per second
+     * @param restores Chunks restored from the eviction cache per second
+     * @param evictions Chunks evicted past the unload radius per second
+     */
+    public void updateChunkStats(double loads, double restores, double evictions) {
+        this.currentChunkLoads = loads;
+        this.currentChunkRestores = restores;
+        this.currentChunkEvictions = evictions;
+    }
+    
+    /**
+     * Updates the tick profiler overlay.
+     * 
+     * @param report The report lines of the profiler, or null to hide the overlay
+     */
+    public void updateTickProfile(java.util.List<String> report) {
+        this.tickProfile = (report == null) ? null : java.util.List.copyOf(report);
+    }
+    
     /**
      * Updates the HUD dimensions and recalculates component bounds.
      * 
@@ -199,6 +245,15 @@ public class HUD {
         // Draw FPS counter below coordinates
         String fpsText = "FPS: " + currentFPS;
         g.drawString(fpsText, x, y + 4 * lineHeight);
+        
+        // Draw simulation rate below FPS
+        String tpsText = "TPS: " + currentTPS + "  MSPT: " + df.format(currentMSPT);
+        g.drawString(tpsText, x, y + 5 * lineHeight);
+        
+        // Draw chunk churn below the simulation rate
+        String chunkText = "Chunks/s: " + df.format(currentChunkLoads) + " loaded  "
+            + df.format(currentChunkRestores) + " restored  " + df.format(currentChunkEvictions) + " evicted";
+        g.drawString(chunkText, x, y + 6 * lineHeight);
     }
     
     /**
@@ -334,7 +389,7 @@ public class HUD {
         // Position on the left side, below coordinates
         int leftMargin = 20;
         int x = leftMargin;
-        int startY = 120; // Below coordinates info
+        int startY = 170; // Below coordinates and simulation stats
         
         // Get current slice size
         int sliceSize = SliceRenderer.getSliceSize();
@@ -357,6 +412,46 @@ public class HUD {
         g.setColor(originalColor);
     }
     
+    /**
+     * Draws the per-section tick times of the profiler below the slice size information.
+     * 
+     * @param g The graphics context
+     */
+    private void drawTickProfile(Graphics2D g) {
+        java.util.List<String> report = tickProfile;
+        if (report == null) {
+            return;
+        }
+        
+        Font originalFont = g.getFont();
+        Color originalColor = g.getColor();
+        g.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        FontMetrics fm = g.getFontMetrics();
+        
+        String header = String.format("%-40s %9s %9s %9s", "Tick profile (ms)", "mean", "p99", "max");
+        int x = 20;
+        int startY = 205; // Below the slice size information
+        int lineHeight = 14;
+        int lines = Math.max(1, report.size()) + 1;
+        
+        // Draw semi-transparent background
+        g.setColor(new Color(0, 0, 0, 160));
+        g.fillRect(x - 5, startY - 12, fm.stringWidth(header) + 10, lines * lineHeight + 6);
+        
+        g.setColor(Color.YELLOW);
+        g.drawString(header, x, startY);
+        g.setColor(Color.WHITE);
+        if (report.isEmpty()) {
+            g.drawString("Collecting...", x, startY + lineHeight);
+        }
+        for (int i = 0; i < report.size(); i++) {
+            g.drawString(report.get(i), x, startY + (i + 1) * lineHeight);
+        }
+        
+        g.setFont(originalFont);
+        g.setColor(originalColor);
+    }
+    
     /**
      * Draws the game controls information.
      * 
@@ -380,6 +475,7 @@ public class HUD {
             "Right Click - Place Block/Use",
             "I - Inventory",
             "C - Drop Item",
+            "F3 - Tick Profiler, F4 - Save Profile",
             "CRTL - Cycle Hotbar",
             "CRTL + Scroll - Zoom",
             "ESC - Exit Game"
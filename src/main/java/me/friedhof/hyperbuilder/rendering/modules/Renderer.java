@@ -12,7 +12,7 @@ import java.awt.image.BufferedImage;
  * Implements the "2D grid of 2D grids" rendering approach.
  */
 public class Renderer {
-    // The rendering canvas
+    // The rendering canvas, null for a renderer without a window
     private JFrame frame;
     private BufferedImage buffer;
     private Graphics2D graphics;
@@ -35,8 +35,7 @@ public class Renderer {
      * @param title The title of the window
      */
     public Renderer(int width, int height, String title) {
-        this.width = width;
-        this.height = height;
+        this(width, height);
         
         // Create the frame
         frame = new JFrame(title);
@@ -44,10 +43,6 @@ public class Renderer {
         frame.setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE); // Disable close button during gameplay
         frame.setResizable(true);
         
-        // Create the buffer
-        buffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-        graphics = buffer.createGraphics();
-        
         // Create a panel to display the buffer
         JPanel panel = new JPanel() {
             @Override
@@ -59,6 +54,26 @@ public class Renderer {
         panel.setPreferredSize(new Dimension(width, height));
         frame.add(panel);
         
+        // Pack and center the frame
+        frame.pack();
+        frame.setLocationRelativeTo(null);
+    }
+    
+    /**
+     * Creates a renderer without a window that only draws into its buffer.
+     * Works with {@code java.awt.headless=true}.
+     * 
+     * @param width The width of the rendered frames
+     * @param height The height of the rendered frames
+     */
+    public Renderer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        
+        // Create the buffer
+        buffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        graphics = buffer.createGraphics();
+        
         // Set up dynamic block sizing
         SliceRenderer.setDynamicBlockSize(width, height);
         
@@ -67,10 +82,6 @@ public class Renderer {
         
         // Create the HUD
         hud = new HUD(width, height);
-        
-        // Pack and center the frame
-        frame.pack();
-        frame.setLocationRelativeTo(null);
     }
     
     /**
@@ -83,12 +94,30 @@ public class Renderer {
     /**
      * Gets the JFrame used by this renderer.
      * 
-     * @return The JFrame instance
+     * @return The JFrame instance, or null if the renderer has no window
      */
     public JFrame getFrame() {
         return frame;
     }
     
+    /**
+     * Gets the width of the area frames are shown in.
+     * 
+     * @return The width of the window content, or of the buffer without a window
+     */
+    public int getViewportWidth() {
+        return (frame != null) ? frame.getContentPane().getWidth() : width;
+    }
+    
+    /**
+     * Gets the height of the area frames are shown in.
+     * 
+     * @return The height of the window content, or of the buffer without a window
+     */
+    public int getViewportHeight() {
+        return (frame != null) ? frame.getContentPane().getHeight() : height;
+    }
+    
     /**
      * Gets the HUD for accessing UI components.
      * 
@@ -127,7 +156,7 @@ public class Renderer {
         graphics = buffer.createGraphics();
         
         // Update the panel size first to ensure coordinate system is correct
-        Component panel = frame.getContentPane().getComponent(0);
+        Component panel = (frame != null) ? frame.getContentPane().getComponent(0) : null;
         if (panel instanceof JPanel) {
             ((JPanel) panel).setPreferredSize(new Dimension(width, height));
             panel.setSize(new Dimension(width, height));
@@ -174,7 +203,9 @@ public class Renderer {
         hud.render(graphics, camera, player, mouseX, mouseY, game);
         
         // Update the display
-        frame.repaint();
+        if (frame != null) {
+            frame.repaint();
+        }
     }
     
     /**
@@ -183,6 +214,8 @@ public class Renderer {
     public void dispose() {
         graphics.dispose();
         gridRenderer.dispose();
-        frame.dispose();
+        if (frame != null) {
+            frame.dispose();
+        }
     }
 }
\ No newline at end of file
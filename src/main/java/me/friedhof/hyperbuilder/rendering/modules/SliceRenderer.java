@@ -14,6 +14,7 @@ import me.friedhof.hyperbuilder.computation.modules.Player;
 import me.friedhof.hyperbuilder.computation.modules.Vector4D;
 import me.friedhof.hyperbuilder.computation.modules.Vector4DInt;
 import me.friedhof.hyperbuilder.computation.modules.World;
+import me.friedhof.hyperbuilder.computation.modules.WorldSnapshot;
 import me.friedhof.hyperbuilder.computation.modules.ItemRegistry;
 import me.friedhof.hyperbuilder.computation.modules.interfaces.IsPlaceable;
 import me.friedhof.hyperbuilder.computation.modules.Material;
@@ -257,6 +258,9 @@ public class SliceRenderer {
         // Set clipping rectangle to prevent blocks from drawing outside slice boundaries
         freshGraphics.setClip(0, 0, freshSliceImage.getWidth(), freshSliceImage.getHeight());
         
+        // Read blocks from the latest published tick, so rendering never loads chunks
+        WorldSnapshot snapshot = world.getSnapshot();
+        
         // Get the world coordinates for the center of this slice
          Vector4D sliceCenterWorld = camera.getSliceCenterWorldCoord(sliceHorizontal, sliceVertical);
 
@@ -338,13 +342,13 @@ public class SliceRenderer {
                 }
               
         
-                Block block = world.getBlock(blockPos);
+                Block block = snapshot.getBlock(blockPos);
 
                 
 
                 // Draw the block with fractional offset for smooth movement
                 // The clipping will be handled by the graphics context
-                drawBlockWithOffset(freshGraphics, x, y, block, fracHorizontal, fracY, fracZ, fracW, blockPos, game, sliceHorizontal, sliceVertical, mouseX, mouseY);
+                drawBlockWithOffset(freshGraphics, x, y, block, fracHorizontal, fracY, fracZ, fracW, blockPos, game, snapshot, sliceHorizontal, sliceVertical, mouseX, mouseY);
             }
         }
         
@@ -353,7 +357,7 @@ public class SliceRenderer {
         freshGraphics.drawRect(0, 0, freshSliceImage.getWidth() - 1, freshSliceImage.getHeight() - 1);
         
         // Check if the player should be drawn in this slice
-        Vector4D playerWorldPos = player.getPosition();
+        Vector4D playerWorldPos = player.getInterpolatedPosition(game.getRenderAlpha());
         Vector4D playerViewPos = camera.worldToView(playerWorldPos);
         
         // Calculate which slice the player should appear in based on camera mode
@@ -394,11 +398,11 @@ public class SliceRenderer {
             freshGraphics.setStroke(new BasicStroke(1));
             
             // Draw the player at their relative position within this slice
-            drawPlayerOnGraphics(freshGraphics, player,camera);
+            drawPlayerOnGraphics(freshGraphics, player, camera, game.getRenderAlpha());
         }
         
         // Draw dropped items in this slice
-        drawDroppedItemsInSlice(freshGraphics, world, sliceHorizontal, sliceVertical, camera);
+        drawDroppedItemsInSlice(freshGraphics, world, sliceHorizontal, sliceVertical, camera, game.getRenderAlpha());
         
         // Clean up graphics resources
         freshGraphics.dispose();
@@ -423,12 +427,13 @@ public class SliceRenderer {
      * @param fracW The fractional W coordinate for texture transitions
      * @param blockPos The world position of the block
      * @param game The game instance for line-of-sight checks
+     * @param snapshot The snapshot the slice is rendered from
      * @param sliceHorizontal The horizontal slice coordinate
      * @param sliceVertical The vertical slice coordinate
      * @param mouseX The mouse X coordinate
      * @param mouseY The mouse Y coordinate
      */
-    private void drawBlockWithOffset(Graphics2D g, int x, int y, Block block, double fracX, double fracY, double fracZ, double fracW, Vector4DInt blockPos, me.friedhof.hyperbuilder.Game game, int sliceHorizontal, int sliceVertical, int mouseX, int mouseY) {
+    private void drawBlockWithOffset(Graphics2D g, int x, int y, Block block, double fracX, double fracY, double fracZ, double fracW, Vector4DInt blockPos, me.friedhof.hyperbuilder.Game game, WorldSnapshot snapshot, int sliceHorizontal, int sliceVertical, int mouseX, int mouseY) {
         // Calculate the pixel coordinates with fractional offset
         // Add 0.5 * BLOCK_SIZE to center blocks on the grid
         int pixelX = (int)((x + 0.5) * BLOCK_SIZE - fracX * BLOCK_SIZE);
@@ -456,7 +461,7 @@ public class SliceRenderer {
         }
         // Add visual indicator for line-of-sight
         
-        boolean canDestroy = game.isInSightOfPlayer(blockPos.getX(), blockPos.getY(), blockPos.getZ(), blockPos.getW());
+        boolean canDestroy = game.isInSightOfPlayer(snapshot, blockPos.getX(), blockPos.getY(), blockPos.getZ(), blockPos.getW());
         
         // Check if this block is being hovered over
         boolean isHovered = isBlockHovered(x, y, sliceHorizontal, sliceVertical, mouseX, mouseY, game);
@@ -465,7 +470,7 @@ public class SliceRenderer {
         Color outlineColor;
         int outlineThickness;
 
-        if (canDestroy && (!block.getBlockId().equals(Material.AIR) || game.hasAdjacentBlock(blockPos.getX(), blockPos.getY(), blockPos.getZ(), blockPos.getW()))) {
+        if (canDestroy && (!block.getBlockId().equals(Material.AIR) || game.hasAdjacentBlock(snapshot, blockPos.getX(), blockPos.getY(), blockPos.getZ(), blockPos.getW()))) {
             // For air blocks, check if the selected item can be placed
             if (block.getBlockId().equals(Material.AIR)) {
                 me.friedhof.hyperbuilder.computation.modules.Player player = game.getPlayer();
@@ -479,7 +484,7 @@ public class SliceRenderer {
                             selectedItem.getItemId().equals(Material.SAPLING)) {
                             // Check if the block below is grass
                             Block blockBelow = 
-                                game.getWorld().getBlock(new Vector4DInt(blockPos.getX(), blockPos.getY() - 1, blockPos.getZ(), blockPos.getW()));
+                                snapshot.getBlock(new Vector4DInt(blockPos.getX(), blockPos.getY() - 1, blockPos.getZ(), blockPos.getW()));
                             if (blockBelow != null && blockBelow.getBlockId().equals(Material.GRASS_BLOCK)) {
                                 outlineColor = new Color(0, 255, 0, 200); // Green outline - can place
                             } else {
@@ -711,17 +716,29 @@ public class SliceRenderer {
      * @param sliceHorizontal The horizontal slice coordinate
      * @param sliceVertical The vertical slice coordinate
      * @param camera The camera for coordinate conversion
+     * @param alpha The interpolation factor between the last two simulation ticks
      */
-    private void drawDroppedItemsInSlice(Graphics2D g, World world, int sliceHorizontal, int sliceVertical, Camera camera) {
-        // Get all entities from the world
-        java.util.List<Entity> entities = world.getEntitiesList();
+    private void drawDroppedItemsInSlice(Graphics2D g, World world, int sliceHorizontal, int sliceVertical, Camera camera, double alpha) {
+        // The slice shows the view plane around the camera at one position in the two grid dimensions.
+        // Items are drawn at their interpolated position, so leave a block of margin around it.
+        Vector4D center = camera.getSliceCenterWorldCoord(sliceHorizontal, sliceVertical);
+        double planeExtent = getSliceCenter() + 2.0;
+        double gridExtent = 1.5;
+        double extentX = (camera.getHorizontalDimension() == Camera.HorizontalDimension.X) ? planeExtent : gridExtent;
+        double extentZ = (camera.getHorizontalDimension() == Camera.HorizontalDimension.Z) ? planeExtent : gridExtent;
+        double extentW = (camera.getHorizontalDimension() == Camera.HorizontalDimension.W) ? planeExtent : gridExtent;
+        Vector4D sliceMin = new Vector4D(center.getX() - extentX, center.getY() - planeExtent, center.getZ() - extentZ, center.getW() - extentW);
+        Vector4D sliceMax = new Vector4D(center.getX() + extentX, center.getY() + planeExtent, center.getZ() + extentZ, center.getW() + extentW);
+        
+        // Only entities near this slice can be drawn in it
+        java.util.List<Entity> entities = world.queryBox(sliceMin, sliceMax);
         
         for (Entity entity : entities) {
             if (entity instanceof DroppedItem) {
                 DroppedItem droppedItem = (DroppedItem) entity;
                 
                 // Convert dropped item world position to view coordinates
-                Vector4D itemWorldPos = droppedItem.getPosition();
+                Vector4D itemWorldPos = droppedItem.getInterpolatedPosition(alpha);
                 Vector4D itemViewPos = camera.worldToView(itemWorldPos);
                 
                 // Calculate which slice the dropped item should appear in
@@ -753,7 +770,7 @@ public class SliceRenderer {
                 if (sliceHorizontal == itemSliceHorizontal && sliceVertical == itemSliceVertical &&
                     itemSliceHorizontal >= 0 && itemSliceHorizontal < SLICE_SIZE && itemSliceVertical >= 0 && itemSliceVertical < SLICE_SIZE) {
                     
-                    drawDroppedItemOnGraphics(g, droppedItem, camera);
+                    drawDroppedItemOnGraphics(g, droppedItem, camera, alpha);
                 }
             }
         }
@@ -765,9 +782,10 @@ public class SliceRenderer {
      * @param g The graphics context to draw on
      * @param droppedItem The dropped item to draw
      * @param camera The camera for coordinate conversion
+     * @param alpha The interpolation factor between the last two simulation ticks
      */
-    private void drawDroppedItemOnGraphics(Graphics2D g, DroppedItem droppedItem, Camera camera) {
-        Vector4D itemWorldPos = droppedItem.getPosition();
+    private void drawDroppedItemOnGraphics(Graphics2D g, DroppedItem droppedItem, Camera camera, double alpha) {
+        Vector4D itemWorldPos = droppedItem.getInterpolatedPosition(alpha);
         Vector4D itemViewPos = camera.worldToView(itemWorldPos);
         
         // Calculate the item's position within the slice
@@ -847,11 +865,12 @@ public class SliceRenderer {
      * 
      * @param g The graphics context to draw on
      * @param playerViewPos The player's position in view coordinates
+     * @param alpha The interpolation factor between the last two simulation ticks
      */
-    private void drawPlayerOnGraphics(Graphics2D g, Player player, Camera camera) {
+    private void drawPlayerOnGraphics(Graphics2D g, Player player, Camera camera, double alpha) {
 
 
-        Vector4D playerWorldPos = player.getPosition();
+        Vector4D playerWorldPos = player.getInterpolatedPosition(alpha);
         Vector4D playerViewPos = camera.worldToView(playerWorldPos);
         // Calculate the player's position within the slice
         // The slice center is at (3, 3) in slice coordinates
@@ -580,7 +580,9 @@ public class SmelterGUI {
     private void tryStartProcessing() {
         // Only powered smelters should automatically start processing
         if (smelterBlock instanceof SmelterPoweredItem) {
-            ((SmelterPoweredItem) smelterBlock).startProcessing();
+            if (((SmelterPoweredItem) smelterBlock).startProcessing()) {
+                scheduleSmelterEvents();
+            }
         }
         // Regular smelters require manual activation (no automatic processing)
     }
@@ -598,50 +600,30 @@ public class SmelterGUI {
                 ((SmelterPoweredItem) smelterBlock).setProcessing(false);
                 
             }
+            scheduleSmelterEvents();
         }
     }
     
     /**
-     * Updates processing progress by delegating to the smelter block.
+     * Lets the world know the smelter's next completion or power expiry changed.
      */
-    public void update(long currentTime) {
-        if (!visible || smelterBlock == null) return;
-        
-        // Update the smelter block's processing logic
-        if (smelterBlock instanceof SmelterItem) {
-            ((SmelterItem) smelterBlock).update();
-        } else if (smelterBlock instanceof SmelterPoweredItem) {
-            boolean stillPowered = ((SmelterPoweredItem) smelterBlock).update();
-            
-            // If power expired, convert back to regular smelter with preserved inventory
-            if (!stillPowered) {
-                convertPoweredSmelterToRegular();
-            }
+    private void scheduleSmelterEvents() {
+        if (world != null && smelterPosition != null) {
+            world.scheduleBlockEvents(smelterPosition);
         }
     }
     
     /**
-     * Converts a powered smelter back to a regular smelter when power expires,
-     * preserving the inventory contents.
+     * Keeps the displayed smelter in sync with the world. Completions and power expiry
+     * are run by the world's block events, which replace the block when power runs out.
      */
-    private void convertPoweredSmelterToRegular() {
-        if (world == null || smelterPosition == null || !(smelterBlock instanceof SmelterPoweredItem)) {
-            return;
-        }
-        
-        // Get the current inventory to preserve it
-        SmelterInventory currentInventory = ((SmelterPoweredItem) smelterBlock).getInventory();
-        
-        // Create new regular smelter with preserved inventory
-        Block regularSmelter = new SmelterItem(1, currentInventory);
-        
-        // Replace the block in the world
-        world.setBlock(smelterPosition, regularSmelter);
-        
-        // Update our reference
-        this.smelterBlock = regularSmelter;
+    public void update(long currentTime) {
+        if (!visible || smelterBlock == null || world == null || smelterPosition == null) return;
         
-        System.out.println("Smelter power expired, converted back to regular smelter!");
+        Block current = world.getSnapshot().getBlock(smelterPosition);
+        if (current instanceof SmelterItem || current instanceof SmelterPoweredItem) {
+            smelterBlock = current;
+        }
     }
     
     /**
@@ -0,0 +1,461 @@
+package me.friedhof.hyperbuilder.save;
+
+import me.friedhof.hyperbuilder.computation.modules.Chunk4D;
+import me.friedhof.hyperbuilder.computation.modules.ItemRegistry;
+import me.friedhof.hyperbuilder.computation.modules.Material;
+import me.friedhof.hyperbuilder.computation.modules.Vector4DInt;
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.Block;
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.SmelterItem;
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.SmelterPoweredItem;
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.Water;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Append-only journal of block changes made since the last full save.
+ * Every block change is appended as a small record (position, material and
+ * optional block state) so that a crash between saves only loses the last flush batch
+ * instead of everything since the previous auto-save.
+ *
+ * On load the journal is replayed over the chunks read from disk, and a checkpoint
+ * (performed by {@link WorldSaveManager#saveWorld}) compacts it into the chunk files.
+ */
+public class BlockChangeJournal {
+    public static final String JOURNAL_FILE = "blocks.journal";
+
+    private static final int MAGIC = 0x48424A32; // "HBJ2"
+    // Records of the first format hold 16-bit coordinates; they are read once and rewritten
+    private static final int LEGACY_MAGIC = 0x48424A31; // "HBJ1"
+    private static final int HEADER_SIZE = 4;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long FLUSH_INTERVAL_MS = 1000;
+    
+    // Single state byte of a water record: flow level in the low bits, plus the source flag
+    private static final int WATER_LEVEL_MASK = 0x07;
+    private static final int WATER_SOURCE_FLAG = 0x08;
+
+    private final Path journalFile;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    // Latest record per block position, grouped by chunk (chunk position -> block position -> record)
+    private final Map<Vector4DInt, Map<Vector4DInt, JournalRecord>> pendingByChunk;
+
+    private long lastFlushTime;
+    private long bytesSinceCheckpoint;
+    private int recordsSinceCheckpoint;
+
+    private BlockChangeJournal(Path journalFile, FileChannel channel) {
+        this.journalFile = journalFile;
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.pendingByChunk = new HashMap<>();
+        this.lastFlushTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Opens the journal of a world directory, creating it if needed.
+     * Records already in the file are read back so they can be replayed over loaded chunks.
+     *
+     * @param worldDir The directory of the world
+     * @return The opened journal
+     * @throws IOException If the journal file cannot be opened
+     */
+    public static BlockChangeJournal open(Path worldDir) throws IOException {
+        Path file = worldDir.resolve(JOURNAL_FILE);
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        BlockChangeJournal journal = new BlockChangeJournal(file, channel);
+        try {
+            journal.readExistingRecords();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return journal;
+    }
+
+    /**
+     * Reads all complete records from the journal file into the pending index.
+     * A torn record at the end (from a crash in the middle of a write) is cut off.
+     */
+    private void readExistingRecords() throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            resetFile();
+            return;
+        }
+
+        ByteBuffer data = ByteBuffer.allocate((int) size);
+        channel.read(data, 0);
+        data.flip();
+
+        int magic = data.getInt();
+        boolean legacy = magic == LEGACY_MAGIC;
+        if (magic != MAGIC && !legacy) {
+            System.err.println("Block change journal " + journalFile + " has an unknown header, discarding it");
+            resetFile();
+            return;
+        }
+
+        long validEnd = HEADER_SIZE;
+        while (data.remaining() >= 4) {
+            int length = data.getInt();
+            if (length <= 0 || length > data.remaining()) {
+                break; // Torn or garbage record
+            }
+            byte[] payload = new byte[length];
+            data.get(payload);
+
+            JournalRecord record = JournalRecord.decode(payload, legacy);
+            if (record == null) {
+                break;
+            }
+            index(record);
+            validEnd = data.position();
+        }
+
+        if (validEnd < size) {
+            System.err.println("Block change journal " + journalFile + " was cut off, dropping " + (size - validEnd) + " trailing bytes");
+        }
+        if (legacy) {
+            System.out.println("Converting block change journal " + journalFile + " to the current format");
+            rewrite();
+        } else {
+            if (validEnd < size) {
+                channel.truncate(validEnd);
+            }
+            channel.position(validEnd);
+            bytesSinceCheckpoint = validEnd - HEADER_SIZE;
+        }
+
+        if (recordsSinceCheckpoint > 0) {
+            System.out.println("Block change journal contains " + recordsSinceCheckpoint + " changes in " + pendingByChunk.size() + " chunks to replay");
+        }
+    }
+
+    /**
+     * Truncates the journal file down to an empty journal with just the header.
+     */
+    private void resetFile() throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, 0);
+        }
+        channel.position(HEADER_SIZE);
+        channel.force(false);
+    }
+
+    /**
+     * Replaces the file contents with the pending records in the current format.
+     */
+    private void rewrite() throws IOException {
+        resetFile();
+        bytesSinceCheckpoint = 0;
+        for (Map<Vector4DInt, JournalRecord> records : pendingByChunk.values()) {
+            for (JournalRecord record : records.values()) {
+                write(record.encode());
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Appends a block change to the journal.
+     * The record is buffered and written to disk in the next batch flush.
+     *
+     * @param position The world position of the changed block
+     * @param block The new block at that position
+     */
+    public synchronized void append(Vector4DInt position, Block block) {
+        Material material = (block != null) ? block.getBlockId() : Material.AIR;
+        JournalRecord record = new JournalRecord(position, material.getId(), encodeState(block));
+
+        try {
+            write(record.encode());
+        } catch (IOException e) {
+            System.err.println("Failed to append to block change journal: " + e.getMessage());
+        }
+
+        index(record);
+    }
+
+    /**
+     * Buffers an encoded record behind its length, flushing first if the buffer is full.
+     */
+    private void write(byte[] payload) throws IOException {
+        if (buffer.remaining() < payload.length + 4) {
+            flush();
+        }
+        if (payload.length + 4 > buffer.capacity()) {
+            // Oversized record, write it straight through
+            ByteBuffer direct = ByteBuffer.allocate(payload.length + 4);
+            direct.putInt(payload.length).put(payload).flip();
+            while (direct.hasRemaining()) {
+                channel.write(direct);
+            }
+        } else {
+            buffer.putInt(payload.length).put(payload);
+        }
+        bytesSinceCheckpoint += payload.length + 4;
+    }
+
+    /**
+     * Flushes buffered records if the batch interval has passed.
+     * Called once per world update so edits reach the disk at most a second late.
+     */
+    public synchronized void flushIfDue() {
+        long currentTime = System.currentTimeMillis();
+        if (buffer.position() > 0 && currentTime - lastFlushTime >= FLUSH_INTERVAL_MS) {
+            try {
+                flush();
+            } catch (IOException e) {
+                System.err.println("Failed to flush block change journal: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes all buffered records to the journal file and forces them to disk.
+     *
+     * @throws IOException If writing fails
+     */
+    public synchronized void flush() throws IOException {
+        lastFlushTime = System.currentTimeMillis();
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        channel.force(false);
+    }
+
+    /**
+     * Replays all journaled changes that belong to a chunk into that chunk.
+     * Used whenever a chunk is read from disk or regenerated, so edits made since
+     * the last save survive both crashes and chunk unloading.
+     *
+     * @param chunkPos The chunk position
+     * @param chunk The freshly loaded or generated chunk
+     * @return The number of changes applied
+     */
+    public synchronized int replayInto(Vector4DInt chunkPos, Chunk4D chunk) {
+        Map<Vector4DInt, JournalRecord> records = pendingByChunk.get(chunkPos);
+        if (records == null) {
+            return 0;
+        }
+
+        int applied = 0;
+        for (JournalRecord record : records.values()) {
+            Block block = record.toBlock();
+            if (block == null) {
+                continue;
+            }
+            Vector4DInt position = record.position;
+            chunk.setBlock(
+                Math.floorMod(position.getX(), Chunk4D.CHUNK_SIZE),
+                Math.floorMod(position.getY(), Chunk4D.CHUNK_SIZE),
+                Math.floorMod(position.getZ(), Chunk4D.CHUNK_SIZE),
+                Math.floorMod(position.getW(), Chunk4D.CHUNK_SIZE),
+                block
+            );
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * Gets the positions of all chunks that have journaled changes.
+     *
+     * @return A copy of the set of chunk positions
+     */
+    public synchronized Set<Vector4DInt> getPendingChunkPositions() {
+        return new HashSet<>(pendingByChunk.keySet());
+    }
+
+    /**
+     * Marks the journal as compacted into the chunk files.
+     * Must only be called after every chunk with pending changes has been written.
+     *
+     * @throws IOException If the journal file cannot be truncated
+     */
+    public synchronized void checkpoint() throws IOException {
+        buffer.clear();
+        resetFile();
+        pendingByChunk.clear();
+        bytesSinceCheckpoint = 0;
+        recordsSinceCheckpoint = 0;
+        lastFlushTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Flushes any buffered records and closes the journal file.
+     */
+    public synchronized void close() {
+        try {
+            flush();
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close block change journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the number of records appended or replayed since the last checkpoint.
+     *
+     * @return The record count
+     */
+    public synchronized int getRecordsSinceCheckpoint() {
+        return recordsSinceCheckpoint;
+    }
+
+    /**
+     * Gets the number of journal bytes written since the last checkpoint.
+     *
+     * @return The journal size in bytes, excluding the header
+     */
+    public synchronized long getBytesSinceCheckpoint() {
+        return bytesSinceCheckpoint;
+    }
+
+    /**
+     * Adds a record to the pending index, replacing any older record for the same block.
+     */
+    private void index(JournalRecord record) {
+        Vector4DInt chunkPos = record.position.divide(Chunk4D.CHUNK_SIZE);
+        pendingByChunk.computeIfAbsent(chunkPos, k -> new LinkedHashMap<>()).put(record.position, record);
+        recordsSinceCheckpoint++;
+    }
+
+    /**
+     * Encodes the extra state of blocks that carry any (smelters and water).
+     *
+     * @param block The block to encode
+     * @return The encoded state, or an empty array for stateless blocks
+     */
+    private static byte[] encodeState(Block block) {
+        if (block instanceof Water) {
+            // Flowing water must not come back as a source
+            Water water = (Water) block;
+            return new byte[] {(byte) ((water.isSource() ? WATER_SOURCE_FLAG : 0) | water.getFlowLevel())};
+        }
+        if (!(block instanceof SmelterItem) && !(block instanceof SmelterPoweredItem)) {
+            return new byte[0];
+        }
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(new BlockExtraData(block));
+            oos.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            System.err.println("Failed to encode block state for journal: " + e.getMessage());
+            return new byte[0];
+        }
+    }
+
+    /**
+     * A single journaled block change.
+     */
+    private static class JournalRecord {
+        private final Vector4DInt position;
+        private final String materialId;
+        private final byte[] state;
+
+        JournalRecord(Vector4DInt position, String materialId, byte[] state) {
+            this.position = position;
+            this.materialId = materialId;
+            this.state = state;
+        }
+
+        /**
+         * Encodes the record as: position (4 x 4), material id length (2),
+         * material id (UTF-8), state length (4), state.
+         */
+        byte[] encode() {
+            byte[] id = materialId.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer out = ByteBuffer.allocate(16 + 2 + id.length + 4 + state.length);
+            out.putInt(position.getX());
+            out.putInt(position.getY());
+            out.putInt(position.getZ());
+            out.putInt(position.getW());
+            out.putShort((short) id.length);
+            out.put(id);
+            out.putInt(state.length);
+            out.put(state);
+            return out.array();
+        }
+
+        /**
+         * Decodes a record written by {@link #encode()}, or by the legacy format whose
+         * position is a single long with 16 signed bits per coordinate.
+         *
+         * @param payload The encoded record
+         * @param legacy Whether the record uses the legacy position encoding
+         * @return The record, or null if the payload is malformed
+         */
+        static JournalRecord decode(byte[] payload, boolean legacy) {
+            try {
+                ByteBuffer in = ByteBuffer.wrap(payload);
+                Vector4DInt position;
+                if (legacy) {
+                    long packed = in.getLong();
+                    position = new Vector4DInt((short) (packed >>> 48), (short) (packed >>> 32), (short) (packed >>> 16), (short) packed);
+                } else {
+                    position = new Vector4DInt(in.getInt(), in.getInt(), in.getInt(), in.getInt());
+                }
+                byte[] id = new byte[in.getShort()];
+                in.get(id);
+                byte[] state = new byte[in.getInt()];
+                in.get(state);
+                return new JournalRecord(position, new String(id, StandardCharsets.UTF_8), state);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Recreates the block described by this record.
+         *
+         * @return The block, or null if the material is unknown
+         */
+        Block toBlock() {
+            Material material = Material.fromId(materialId);
+            if (material == null) {
+                System.err.println("Skipping journal record with unknown material: " + materialId);
+                return null;
+            }
+            if (material == Material.WATER && state.length == 1) {
+                return new Water(state[0] & WATER_LEVEL_MASK, (state[0] & WATER_SOURCE_FLAG) != 0);
+            }
+            if (state.length > 0) {
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(state))) {
+                    return ((BlockExtraData) ois.readObject()).toBlock();
+                } catch (Exception e) {
+                    System.err.println("Failed to decode journaled block state, using default block: " + e.getMessage());
+                }
+            }
+            return ItemRegistry.createBlock(material);
+        }
+    }
+}
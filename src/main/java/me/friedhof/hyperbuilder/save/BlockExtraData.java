@@ -0,0 +1,114 @@
+package me.friedhof.hyperbuilder.save;
+
+import me.friedhof.hyperbuilder.computation.modules.ItemRegistry;
+import me.friedhof.hyperbuilder.computation.modules.Material;
+import me.friedhof.hyperbuilder.computation.modules.SmelterInventory;
+import me.friedhof.hyperbuilder.computation.modules.items.BaseItem;
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.Block;
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.SmelterItem;
+import me.friedhof.hyperbuilder.computation.modules.items.blocks.SmelterPoweredItem;
+
+import java.io.Serializable;
+
+/**
+ * Serializable data class for blocks with extra state (like smelters).
+ */
+class BlockExtraData implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    private final Material blockType;
+    private final boolean isProcessing;
+    private final long processingStartTime;
+    private final long powerExpireTime; // For powered smelters
+    private final Material inputItemType;
+    private final int inputItemCount;
+    private final Material outputItemType;
+    private final int outputItemCount;
+    
+    public BlockExtraData(Block block) {
+        this.blockType = block.getBlockId();
+        
+        if (block instanceof SmelterItem) {
+            SmelterItem smelter = (SmelterItem) block;
+            this.isProcessing = smelter.isProcessing();
+            this.processingStartTime = smelter.getProcessingStartTime();
+            this.powerExpireTime = 0; // Regular smelters don't have power
+            
+            SmelterInventory inventory = smelter.getInventory();
+            BaseItem inputItem = inventory.getInputItem();
+            BaseItem outputItem = inventory.getOutputItem();
+            
+            this.inputItemType = (inputItem != null) ? inputItem.getItemId() : null;
+            this.inputItemCount = (inputItem != null) ? inputItem.getCount() : 0;
+            this.outputItemType = (outputItem != null) ? outputItem.getItemId() : null;
+            this.outputItemCount = (outputItem != null) ? outputItem.getCount() : 0;
+        } else if (block instanceof SmelterPoweredItem) {
+            SmelterPoweredItem poweredSmelter = (SmelterPoweredItem) block;
+            this.isProcessing = poweredSmelter.isProcessing();
+            this.processingStartTime = poweredSmelter.getProcessingStartTime();
+            this.powerExpireTime = poweredSmelter.getPowerExpireTime();
+            
+            SmelterInventory inventory = poweredSmelter.getInventory();
+            BaseItem inputItem = inventory.getInputItem();
+            BaseItem outputItem = inventory.getOutputItem();
+            
+            this.inputItemType = (inputItem != null) ? inputItem.getItemId() : null;
+            this.inputItemCount = (inputItem != null) ? inputItem.getCount() : 0;
+            this.outputItemType = (outputItem != null) ? outputItem.getItemId() : null;
+            this.outputItemCount = (outputItem != null) ? outputItem.getCount() : 0;
+        } else {
+            // Default values for non-smelter blocks
+            this.isProcessing = false;
+            this.processingStartTime = 0;
+            this.powerExpireTime = 0;
+            this.inputItemType = null;
+            this.inputItemCount = 0;
+            this.outputItemType = null;
+            this.outputItemCount = 0;
+        }
+    }
+    
+    public Block toBlock() {
+        if (blockType == Material.SMELTER) {
+            // Create regular smelter with saved state
+            SmelterInventory inventory = new SmelterInventory();
+            if (inputItemType != null && inputItemCount > 0) {
+                BaseItem inputItem = ItemRegistry.createItem(inputItemType, inputItemCount);
+                inventory.setInputItem(inputItem);
+            }
+            if (outputItemType != null && outputItemCount > 0) {
+                BaseItem outputItem = ItemRegistry.createItem(outputItemType, outputItemCount);
+                inventory.setOutputItem(outputItem);
+            }
+            
+            SmelterItem smelter = new SmelterItem(1, inventory);
+            if (isProcessing) {
+                smelter.setProcessing(true);
+                smelter.setProcessingStartTime(processingStartTime);
+            }
+            return smelter;
+        } else if (blockType == Material.SMELTER_POWERED) {
+            // Create powered smelter with saved state
+            SmelterInventory inventory = new SmelterInventory();
+            if (inputItemType != null && inputItemCount > 0) {
+                BaseItem inputItem = ItemRegistry.createItem(inputItemType, inputItemCount);
+                inventory.setInputItem(inputItem);
+            }
+            if (outputItemType != null && outputItemCount > 0) {
+                BaseItem outputItem = ItemRegistry.createItem(outputItemType, outputItemCount);
+                inventory.setOutputItem(outputItem);
+            }
+            
+            SmelterPoweredItem poweredSmelter = new SmelterPoweredItem(1, inventory);
+            if (isProcessing) {
+                poweredSmelter.setProcessing(true);
+                poweredSmelter.setProcessingStartTime(processingStartTime);
+            }
+            poweredSmelter.setPowerExpireTime(powerExpireTime);
+            return poweredSmelter;
+        } else {
+            // Fallback to regular block creation
+            return ItemRegistry.createBlock(blockType);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package me.friedhof.hyperbuilder.save;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a save file is structurally damaged, e.g. its payload checksum does not
+ * match or its header is inconsistent with the file size.
+ */
+public class CorruptSaveException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public CorruptSaveException(String message) {
+        super(message);
+    }
+}
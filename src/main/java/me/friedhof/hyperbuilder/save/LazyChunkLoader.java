@@ -2,22 +2,39 @@ package me.friedhof.hyperbuilder.save;
 
 import me.friedhof.hyperbuilder.computation.modules.Chunk4D;
 import me.friedhof.hyperbuilder.computation.modules.Vector4DInt;
+import me.friedhof.hyperbuilder.diagnostics.ChunkReadEvent;
 
-import java.io.ObjectInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.zip.GZIPInputStream;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Handles lazy loading of chunks from disk.
  * Chunks are loaded on-demand when requested by the world.
  */
 public class LazyChunkLoader {
+    public static final String QUARANTINE_DIRECTORY = "quarantine";
+    
     private final Path chunksDirectory;
     private final ConcurrentMap<Vector4DInt, Boolean> chunkExistsCache;
     
+    // Diagnostics
+    private final List<QuarantinedChunk> quarantinedChunks = new CopyOnWriteArrayList<>();
+    private final AtomicLong chunksLoaded = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+    private final AtomicLong verifyNanos = new AtomicLong();
+    
     /**
      * Creates a new LazyChunkLoader for the specified chunks directory.
      * 
@@ -30,9 +47,16 @@ public class LazyChunkLoader {
     
     /**
      * Loads a chunk from disk if it exists.
+     * A chunk file whose content cannot be decoded is damaged: it is moved to the
+     * quarantine directory and treated as missing, so the world generates a replacement.
+     * This covers checksum failures as well as truncated or garbled legacy files, which
+     * have no checksum. Only a failure to read the file itself, such as a permission or
+     * disk error, fails the load and leaves the file where it is, so a later load can
+     * try again.
      * 
      * @param chunkPos The position of the chunk to load
-     * @return The loaded chunk, or null if it doesn't exist on disk
+     * @return The loaded chunk, or null if it doesn't exist on disk or was damaged
+     * @throws UncheckedIOException If the chunk file exists but could not be read
      */
     public Chunk4D loadChunk(Vector4DInt chunkPos) {
         // Check cache first to avoid file system calls
@@ -51,24 +75,125 @@ public class LazyChunkLoader {
             return null;
         }
         
-        try (ObjectInputStream ois = new ObjectInputStream(new GZIPInputStream(Files.newInputStream(chunkFile)))) {
-            ChunkSaveData saveData = (ChunkSaveData) ois.readObject();
-            Chunk4D chunk = saveData.toChunk();
+        long startTime = System.nanoTime();
+        ChunkReadEvent event = new ChunkReadEvent();
+        event.begin();
+        byte[] data;
+        try {
+            data = Files.readAllBytes(chunkFile);
+        } catch (NoSuchFileException e) {
+            // Deleted since the check above
+            chunkExistsCache.put(chunkPos, false);
+            commitChunkRead(event, chunkPos, false);
+            return null;
+        } catch (IOException e) {
+            // The file may be fine, keep it and do not remember the chunk as missing
+            System.err.println("Failed to read chunk file " + chunkFile + ": " + e.getMessage());
+            commitChunkRead(event, chunkPos, true);
+            throw new UncheckedIOException(e);
+        }
+        event.bytes = data.length;
+        
+        // Everything below works on the bytes in memory, so any failure means the content is damaged
+        try {
+            // Header and checksum verification, timed separately to keep its cost visible
+            long verifyStart = System.nanoTime();
+            byte[] payload = SaveFormat.readPayload(data, SaveFormat.PayloadType.CHUNK);
+            verifyNanos.addAndGet(System.nanoTime() - verifyStart);
+            
+            Object saveObject = SaveFormat.deserialize(payload);
+            if (!(saveObject instanceof ChunkSaveData)) {
+                throw new CorruptSaveException("Chunk file contains " + saveObject.getClass().getSimpleName());
+            }
+            Chunk4D chunk = ((ChunkSaveData) saveObject).toChunk();
             
             // Cache that this chunk exists
             chunkExistsCache.put(chunkPos, true);
+            chunksLoaded.incrementAndGet();
+            loadNanos.addAndGet(System.nanoTime() - startTime);
+            commitChunkRead(event, chunkPos, false);
             
             System.out.println("Lazy loaded chunk at " + chunkPos);
             return chunk;
             
-        } catch (Exception e) {
-            System.err.println("Failed to lazy load chunk from " + chunkFile + ": " + e.getMessage());
-            // Cache that this chunk is problematic
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            System.err.println("Failed to lazy load chunk from " + chunkFile + ": " + e);
+            
+            // Move the damaged file aside so the regenerated chunk never overwrites it
+            Path quarantinedFile = quarantine(chunkFile);
+            quarantinedChunks.add(new QuarantinedChunk(chunkPos, quarantinedFile, e.toString(), LocalDateTime.now()));
+            
+            // The chunk file is gone now, let the world generate a replacement
             chunkExistsCache.put(chunkPos, false);
+            commitChunkRead(event, chunkPos, true);
             return null;
         }
     }
     
+    /**
+     * Fills in and commits a chunk read event if it is being recorded.
+     */
+    private static void commitChunkRead(ChunkReadEvent event, Vector4DInt chunkPos, boolean failed) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.chunkX = chunkPos.getX();
+            event.chunkY = chunkPos.getY();
+            event.chunkZ = chunkPos.getZ();
+            event.chunkW = chunkPos.getW();
+            event.failed = failed;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Moves a damaged chunk file into the quarantine directory next to the chunk files.
+     * 
+     * @param chunkFile The damaged chunk file
+     * @return The new location of the file, or the original location if it could not be moved
+     */
+    public static Path quarantine(Path chunkFile) {
+        try {
+            Path quarantineDir = chunkFile.resolveSibling(QUARANTINE_DIRECTORY);
+            Files.createDirectories(quarantineDir);
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            Path target = quarantineDir.resolve(chunkFile.getFileName() + "." + timestamp);
+            Files.move(chunkFile, target, StandardCopyOption.REPLACE_EXISTING);
+            System.err.println("Quarantined damaged chunk file " + chunkFile + " -> " + target);
+            return target;
+        } catch (Exception e) {
+            System.err.println("Failed to quarantine " + chunkFile + ": " + e.getMessage());
+            return chunkFile;
+        }
+    }
+    
+    /**
+     * Gets all chunks that failed to load during this session and were quarantined.
+     * 
+     * @return A copy of the list of quarantined chunks
+     */
+    public List<QuarantinedChunk> getQuarantinedChunks() {
+        return new ArrayList<>(quarantinedChunks);
+    }
+    
+    /**
+     * Gets the number of chunks successfully loaded from disk.
+     * 
+     * @return The loaded chunk count
+     */
+    public long getChunksLoaded() {
+        return chunksLoaded.get();
+    }
+    
+    /**
+     * Gets the fraction of chunk load time spent on checksum verification.
+     * 
+     * @return The overhead from 0.0 to 1.0
+     */
+    public double getChecksumOverhead() {
+        long total = loadNanos.get();
+        return total == 0 ? 0.0 : (double) verifyNanos.get() / total;
+    }
+    
     /**
      * Checks if a chunk exists on disk without loading it.
      * 
@@ -108,4 +233,31 @@ public class LazyChunkLoader {
     public Path getChunksDirectory() {
         return chunksDirectory;
     }
+    
+    /**
+     * Diagnostic record of a chunk file that failed to load and was moved aside.
+     */
+    public static class QuarantinedChunk {
+        private final Vector4DInt chunkPosition;
+        private final Path file;
+        private final String reason;
+        private final LocalDateTime time;
+        
+        public QuarantinedChunk(Vector4DInt chunkPosition, Path file, String reason, LocalDateTime time) {
+            this.chunkPosition = chunkPosition;
+            this.file = file;
+            this.reason = reason;
+            this.time = time;
+        }
+        
+        public Vector4DInt getChunkPosition() { return chunkPosition; }
+        public Path getFile() { return file; }
+        public String getReason() { return reason; }
+        public LocalDateTime getTime() { return time; }
+        
+        @Override
+        public String toString() {
+            return "Chunk " + chunkPosition + " quarantined to " + file + " at " + time + ": " + reason;
+        }
+    }
 }
\ No newline at end of file
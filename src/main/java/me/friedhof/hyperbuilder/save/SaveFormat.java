@@ -0,0 +1,314 @@
+package me.friedhof.hyperbuilder.save;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Versioned container format shared by all persisted save files.
+ *
+ * Every file starts with a fixed header followed by the payload:
+ * <pre>
+ *   int   magic          "HBSV"
+ *   short formatVersion
+ *   byte  payloadType    (see {@link PayloadType})
+ *   byte  flags          (bit 0: payload is GZIP compressed)
+ *   int   payloadLength
+ *   int   payloadChecksum  (CRC32C, since version 3)
+ *   byte[payloadLength]  payload (a serialized save object)
+ * </pre>
+ * Files written before the container existed (format version 1) have no header and are
+ * either a plain or a GZIP compressed object stream. Version 2 files have the header
+ * without a checksum. Both are still read transparently, and {@link WorldMigrator}
+ * upgrades them in place.
+ */
+public final class SaveFormat {
+    public static final int MAGIC = 0x48425356; // "HBSV"
+
+    /** Headerless object streams written before the container format. */
+    public static final int LEGACY_VERSION = 1;
+
+    /** The version written by this build. */
+    public static final int CURRENT_VERSION = 3;
+
+    private static final int HEADER_SIZE_V2 = 4 + 2 + 1 + 1 + 4;
+    public static final int HEADER_SIZE = HEADER_SIZE_V2 + 4;
+
+    private static final int FLAG_GZIP = 1;
+
+    /**
+     * The kind of object stored in a save file.
+     */
+    public enum PayloadType {
+        WORLD_INFO(1), PLAYER(2), CHUNK(3);
+
+        private final int code;
+
+        PayloadType(int code) {
+            this.code = code;
+        }
+
+        public int getCode() {
+            return code;
+        }
+
+        public static PayloadType fromCode(int code) {
+            for (PayloadType type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    private SaveFormat() {
+    }
+
+    /**
+     * Serializes a save object into a complete container (header and payload).
+     *
+     * @param type The payload type
+     * @param object The object to serialize
+     * @param compress Whether to GZIP the payload
+     * @return The encoded container bytes
+     * @throws IOException If serialization fails
+     */
+    public static byte[] encode(PayloadType type, Serializable object, boolean compress) throws IOException {
+        return wrap(type, serialize(object, compress), compress);
+    }
+
+    /**
+     * Wraps an already serialized payload in a container header.
+     *
+     * @param type The payload type
+     * @param payload The serialized payload
+     * @param compressed Whether the payload is GZIP compressed
+     * @return The encoded container bytes
+     * @throws IOException If writing to memory fails
+     */
+    public static byte[] wrap(PayloadType type, byte[] payload, boolean compressed) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + payload.length);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeShort(CURRENT_VERSION);
+            out.writeByte(type.getCode());
+            out.writeByte(compressed ? FLAG_GZIP : 0);
+            out.writeInt(payload.length);
+            out.writeInt((int) checksum(payload));
+            out.write(payload);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Serializes an object into a (optionally GZIP compressed) object stream.
+     *
+     * @param object The object to serialize
+     * @param compress Whether to GZIP the stream
+     * @return The serialized bytes
+     * @throws IOException If serialization fails
+     */
+    public static byte[] serialize(Serializable object, boolean compress) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+        try (ObjectOutputStream oos = new ObjectOutputStream(compress ? new GZIPOutputStream(bytes) : bytes)) {
+            oos.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes a save object to a file in the current format.
+     * The file is written next to the target first and then moved into place.
+     *
+     * @param file The target file
+     * @param type The payload type
+     * @param object The object to save
+     * @param compress Whether to GZIP the payload
+     * @return The number of bytes written
+     * @throws IOException If encoding or writing fails
+     */
+    public static long write(Path file, PayloadType type, Serializable object, boolean compress) throws IOException {
+        byte[] data = encode(type, object, compress);
+        writeAtomically(file, data);
+        return data.length;
+    }
+
+    /**
+     * Replaces a file with the given content via a temporary sibling and a move,
+     * so readers never observe a half-written file.
+     *
+     * @param file The target file
+     * @param data The content to write
+     * @throws IOException If writing or moving fails
+     */
+    public static void writeAtomically(Path file, byte[] data) throws IOException {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(tempFile, data);
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Reads a save object from a file written in any supported format version.
+     *
+     * @param file The file to read
+     * @param type The expected payload type
+     * @param expectedClass The expected class of the stored object
+     * @return The deserialized object
+     * @throws IOException If the file is unreadable or does not contain the expected payload
+     * @throws ClassNotFoundException If the payload references unknown classes
+     */
+    public static <T> T read(Path file, PayloadType type, Class<T> expectedClass) throws IOException, ClassNotFoundException {
+        return decode(Files.readAllBytes(file), type, expectedClass);
+    }
+
+    /**
+     * Decodes a save object from the complete content of a save file.
+     *
+     * @param data The file content
+     * @param type The expected payload type
+     * @param expectedClass The expected class of the stored object
+     * @return The deserialized object
+     * @throws IOException If the content does not contain the expected payload
+     * @throws ClassNotFoundException If the payload references unknown classes
+     */
+    public static <T> T decode(byte[] data, PayloadType type, Class<T> expectedClass) throws IOException, ClassNotFoundException {
+        Object object = deserialize(readPayload(data, type));
+        if (!expectedClass.isInstance(object)) {
+            throw new IOException("Expected " + expectedClass.getSimpleName() + " but found " + object.getClass().getSimpleName());
+        }
+        return expectedClass.cast(object);
+    }
+
+    /**
+     * Extracts the serialized payload from file content, whatever its format version.
+     * For legacy files the whole content is the payload.
+     *
+     * @param data The file content
+     * @param type The expected payload type
+     * @return The payload as a serialized (possibly GZIP compressed) object stream
+     * @throws CorruptSaveException If the header is malformed or the payload checksum does not match
+     * @throws IOException If the payload type does not match the expected type
+     */
+    public static byte[] readPayload(byte[] data, PayloadType type) throws IOException {
+        if (detectVersion(data) == LEGACY_VERSION) {
+            return data;
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        in.readInt(); // magic
+        int version = in.readUnsignedShort();
+        if (version > CURRENT_VERSION) {
+            throw new IOException("Save format version " + version + " is newer than supported version " + CURRENT_VERSION);
+        }
+        PayloadType storedType = PayloadType.fromCode(in.readUnsignedByte());
+        if (storedType != type) {
+            throw new IOException("Expected " + type + " payload but found " + storedType);
+        }
+        in.readUnsignedByte(); // flags, compression is also detected from the stream itself
+        int length = in.readInt();
+        int headerSize = (version >= CURRENT_VERSION) ? HEADER_SIZE : HEADER_SIZE_V2;
+        long storedChecksum = (version >= CURRENT_VERSION) ? (in.readInt() & 0xFFFFFFFFL) : -1;
+        if (length < 0 || length != data.length - headerSize) {
+            throw new CorruptSaveException("Payload length " + length + " does not match file size " + data.length);
+        }
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+
+        if (storedChecksum >= 0) {
+            long actualChecksum = checksum(payload);
+            if (actualChecksum != storedChecksum) {
+                throw new CorruptSaveException(String.format("Checksum mismatch (stored %08x, actual %08x)", storedChecksum, actualChecksum));
+            }
+        }
+        return payload;
+    }
+
+    /**
+     * Checks the header and payload checksum of a save file without deserializing it.
+     *
+     * @param data The file content
+     * @param type The expected payload type
+     * @return true if the file carries a checksum that was verified, false if its format has none
+     * @throws IOException If the header is malformed, the type does not match or the checksum fails
+     */
+    public static boolean verify(byte[] data, PayloadType type) throws IOException {
+        readPayload(data, type);
+        return detectVersion(data) >= CURRENT_VERSION;
+    }
+
+    /**
+     * Computes the CRC32C checksum of a payload (hardware accelerated on current JVMs).
+     *
+     * @param payload The payload bytes
+     * @return The checksum as an unsigned 32 bit value
+     */
+    public static long checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload, 0, payload.length);
+        return crc.getValue();
+    }
+
+    /**
+     * Deserializes a payload, detecting GZIP compression from the stream header.
+     *
+     * @param payload The serialized payload
+     * @return The deserialized object
+     * @throws IOException If the payload cannot be read
+     * @throws ClassNotFoundException If the payload references unknown classes
+     */
+    public static Object deserialize(byte[] payload) throws IOException, ClassNotFoundException {
+        InputStream raw = new ByteArrayInputStream(payload);
+        boolean gzip = payload.length >= 2 && (payload[0] & 0xFF) == 0x1F && (payload[1] & 0xFF) == 0x8B;
+        try (ObjectInputStream ois = new ObjectInputStream(gzip ? new GZIPInputStream(raw) : raw)) {
+            return ois.readObject();
+        }
+    }
+
+    /**
+     * Detects the format version of a save file from its first bytes.
+     *
+     * @param data The file content (at least the header)
+     * @return The format version, {@link #LEGACY_VERSION} for headerless files
+     */
+    public static int detectVersion(byte[] data) {
+        if (data.length < HEADER_SIZE_V2) {
+            return LEGACY_VERSION;
+        }
+        int magic = ((data[0] & 0xFF) << 24) | ((data[1] & 0xFF) << 16) | ((data[2] & 0xFF) << 8) | (data[3] & 0xFF);
+        if (magic != MAGIC) {
+            return LEGACY_VERSION;
+        }
+        return ((data[4] & 0xFF) << 8) | (data[5] & 0xFF);
+    }
+
+    /**
+     * Detects the format version of a save file by reading only its header.
+     *
+     * @param file The file to inspect
+     * @return The format version, {@link #LEGACY_VERSION} for headerless files
+     * @throws IOException If the file cannot be read
+     */
+    public static int detectVersion(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return detectVersion(in.readNBytes(HEADER_SIZE));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package me.friedhof.hyperbuilder.save;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Shared helpers of the offline save tools, {@link WorldVerifier} and {@link WorldMigrator}:
+ * finding the world directory named on the command line and processing every file of
+ * a world in parallel.
+ */
+final class WorldFiles {
+    private static final String SAVES_DIRECTORY = "saves";
+    private static final String WORLD_INFO_FILE = "world.dat";
+    private static final String PLAYER_DATA_FILE = "player.dat";
+    private static final String CHUNKS_DIRECTORY = "chunks";
+
+    private WorldFiles() {
+    }
+
+    /**
+     * Finds a world directory given either as a path or as the name of a world inside
+     * the saves directory.
+     *
+     * @param target The world directory or world name
+     * @return The world directory, or null if neither exists
+     */
+    static Path resolveWorldDirectory(String target) {
+        Path worldDir = Paths.get(target);
+        if (!Files.isDirectory(worldDir)) {
+            worldDir = Paths.get(SAVES_DIRECTORY).resolve(target);
+        }
+        return Files.isDirectory(worldDir) ? worldDir : null;
+    }
+
+    /**
+     * Hands the world info, the player data and every chunk file of a world to a task,
+     * running on a pool of worker threads. Files are submitted as the chunks directory
+     * is streamed, and at most two files per worker are in flight at any time, so memory
+     * use does not grow with the world size. Returns once every submitted file is done.
+     *
+     * @param worldDir The world directory (containing world.dat)
+     * @param parallelism The number of worker threads
+     * @param task Processes one file; must handle its own errors
+     * @throws IOException If the chunks directory cannot be listed
+     * @throws InterruptedException If interrupted while waiting to submit a file; the
+     *         files submitted so far are still finished
+     */
+    static void forEachFile(Path worldDir, int parallelism, BiConsumer<Path, SaveFormat.PayloadType> task)
+            throws IOException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+
+        try {
+            submit(executor, inFlight, worldDir.resolve(WORLD_INFO_FILE), SaveFormat.PayloadType.WORLD_INFO, task);
+            submit(executor, inFlight, worldDir.resolve(PLAYER_DATA_FILE), SaveFormat.PayloadType.PLAYER, task);
+
+            Path chunksDir = worldDir.resolve(CHUNKS_DIRECTORY);
+            if (Files.isDirectory(chunksDir)) {
+                // Stream the directory instead of listing it, worlds can have many thousands of chunks
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(chunksDir, "chunk_*.dat")) {
+                    for (Path chunkFile : stream) {
+                        submit(executor, inFlight, chunkFile, SaveFormat.PayloadType.CHUNK, task);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Queues a single existing file, blocking while too many files are in flight.
+     */
+    private static void submit(ExecutorService executor, Semaphore inFlight, Path file, SaveFormat.PayloadType type,
+                               BiConsumer<Path, SaveFormat.PayloadType> task) throws InterruptedException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        inFlight.acquire();
+        executor.submit(() -> {
+            try {
+                task.accept(file, type);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+}
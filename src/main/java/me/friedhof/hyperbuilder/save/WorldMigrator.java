@@ -0,0 +1,233 @@
+package me.friedhof.hyperbuilder.save;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Upgrades every file of a saved world directory to {@link SaveFormat#CURRENT_VERSION}.
+ *
+ * Files are migrated one at a time per worker, so memory use is bounded by the number of
+ * files in flight rather than by the world size, and no {@code World} is ever created.
+ * Each rewritten file is read back and its payload checksum (CRC32C) compared before it
+ * replaces the original. Completed files are appended to a progress log, so an
+ * interrupted migration resumes where it stopped.
+ *
+ * Usage: {@code java me.friedhof.hyperbuilder.save.WorldMigrator <world directory or world name>}
+ */
+public class WorldMigrator {
+    private static final String PROGRESS_FILE = "migration.progress";
+
+    private final Path worldDir;
+    private final int parallelism;
+
+    // Files (relative to the world directory) finished in this or an earlier run
+    private final Set<String> completed = ConcurrentHashMap.newKeySet();
+
+    private BufferedWriter progressWriter;
+
+    private final AtomicInteger migratedCount = new AtomicInteger();
+    private final AtomicInteger upToDateCount = new AtomicInteger();
+    private final AtomicInteger failedCount = new AtomicInteger();
+
+    /**
+     * Creates a migrator for a world directory using all available cores.
+     *
+     * @param worldDir The world directory (containing world.dat)
+     */
+    public WorldMigrator(Path worldDir) {
+        this(worldDir, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a migrator for a world directory.
+     *
+     * @param worldDir The world directory (containing world.dat)
+     * @param parallelism The number of worker threads
+     */
+    public WorldMigrator(Path worldDir, int parallelism) {
+        this.worldDir = worldDir;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Migrates all files of the world.
+     *
+     * @return true if every file is now in the current format
+     * @throws IOException If the world directory or progress log cannot be accessed
+     */
+    public boolean migrate() throws IOException {
+        long startTime = System.nanoTime();
+        Path progressFile = worldDir.resolve(PROGRESS_FILE);
+
+        // Resume: skip everything a previous run already finished
+        if (Files.exists(progressFile)) {
+            List<String> lines = Files.readAllLines(progressFile, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                int separator = line.lastIndexOf(' ');
+                if (separator > 0) {
+                    completed.add(line.substring(0, separator));
+                }
+            }
+            System.out.println("Resuming migration of " + worldDir + ", " + completed.size() + " files already done");
+        }
+
+        progressWriter = Files.newBufferedWriter(progressFile, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        try {
+            WorldFiles.forEachFile(worldDir, parallelism, this::migrateIfPending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Migration interrupted, run it again to resume");
+        } finally {
+            progressWriter.close();
+        }
+
+        boolean success = failedCount.get() == 0 && !Thread.currentThread().isInterrupted();
+        if (success) {
+            Files.deleteIfExists(progressFile);
+        }
+
+        System.out.println(String.format("Migration of %s finished in %.1f s: %d migrated, %d already current, %d failed",
+            worldDir, (System.nanoTime() - startTime) / 1_000_000_000.0,
+            migratedCount.get(), upToDateCount.get(), failedCount.get()));
+        return success;
+    }
+
+    /**
+     * Migrates a single file unless an earlier run already did, and records a failure.
+     */
+    private void migrateIfPending(Path file, SaveFormat.PayloadType type) {
+        if (completed.contains(relativeName(file))) {
+            return;
+        }
+        try {
+            migrateFile(file, type);
+        } catch (Exception e) {
+            failedCount.incrementAndGet();
+            System.err.println("Failed to migrate " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Upgrades one file to the current format and verifies the result before replacing the original.
+     */
+    private void migrateFile(Path file, SaveFormat.PayloadType type) throws IOException, ClassNotFoundException {
+        byte[] data = Files.readAllBytes(file);
+        int version = SaveFormat.detectVersion(data);
+
+        if (version == SaveFormat.CURRENT_VERSION) {
+            markCompleted(file, checksum(SaveFormat.readPayload(data, type)));
+            upToDateCount.incrementAndGet();
+            return;
+        }
+
+        Object saveObject = upgrade(version, SaveFormat.deserialize(SaveFormat.readPayload(data, type)));
+        boolean compress = type == SaveFormat.PayloadType.CHUNK;
+        byte[] payload = SaveFormat.serialize((Serializable) saveObject, compress);
+        long expectedChecksum = checksum(payload);
+
+        // Write next to the original and verify the written bytes before swapping
+        Path tempFile = file.resolveSibling(file.getFileName() + ".migrating");
+        Files.write(tempFile, SaveFormat.wrap(type, payload, compress));
+
+        byte[] writtenPayload = SaveFormat.readPayload(Files.readAllBytes(tempFile), type);
+        if (checksum(writtenPayload) != expectedChecksum) {
+            Files.deleteIfExists(tempFile);
+            throw new IOException("Checksum mismatch after rewrite");
+        }
+        Object reread = SaveFormat.deserialize(writtenPayload);
+        if (reread.getClass() != saveObject.getClass()) {
+            Files.deleteIfExists(tempFile);
+            throw new IOException("Rewritten file does not decode to " + saveObject.getClass().getSimpleName());
+        }
+
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        markCompleted(file, expectedChecksum);
+        migratedCount.incrementAndGet();
+    }
+
+    /**
+     * Applies the upgrade steps from a file's version to the current version.
+     *
+     * @param fromVersion The version the object was read from
+     * @param saveObject The deserialized save object
+     * @return The upgraded save object
+     */
+    private Object upgrade(int fromVersion, Object saveObject) {
+        for (int version = fromVersion; version < SaveFormat.CURRENT_VERSION; version++) {
+            switch (version) {
+                case 1:
+                    // 1 -> 2 only introduces the container header, the payload is unchanged
+                    break;
+                case 2:
+                    // 2 -> 3 only adds the payload checksum to the header
+                    break;
+                default:
+                    break;
+            }
+        }
+        return saveObject;
+    }
+
+    /**
+     * Appends a finished file to the progress log and flushes it, so it is skipped after a restart.
+     */
+    private synchronized void markCompleted(Path file, long checksum) throws IOException {
+        String name = relativeName(file);
+        progressWriter.write(name + " " + Long.toHexString(checksum));
+        progressWriter.newLine();
+        progressWriter.flush();
+        completed.add(name);
+    }
+
+    private String relativeName(Path file) {
+        return worldDir.relativize(file).toString().replace('\\', '/');
+    }
+
+    private static long checksum(byte[] data) {
+        return SaveFormat.checksum(data);
+    }
+
+    /**
+     * Command line entry point.
+     *
+     * @param args The world directory, or the name of a world inside the saves directory
+     */
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: WorldMigrator <world directory or world name>");
+            System.exit(2);
+        }
+
+        Path worldDir = WorldFiles.resolveWorldDirectory(args[0]);
+        if (worldDir == null) {
+            System.err.println("World directory not found: " + args[0]);
+            System.exit(2);
+        }
+
+        try {
+            boolean success = new WorldMigrator(worldDir).migrate();
+            System.exit(success ? 0 : 1);
+        } catch (IOException e) {
+            System.err.println("Migration failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
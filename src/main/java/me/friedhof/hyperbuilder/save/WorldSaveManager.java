@@ -4,6 +4,7 @@ import me.friedhof.hyperbuilder.computation.modules.World;
 import me.friedhof.hyperbuilder.computation.modules.Player;
 import me.friedhof.hyperbuilder.computation.modules.Chunk4D;
 import me.friedhof.hyperbuilder.computation.modules.Vector4DInt;
+import me.friedhof.hyperbuilder.diagnostics.ChunkSaveEvent;
 
 import java.io.*;
 import java.nio.file.*;
@@ -12,8 +13,6 @@ import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.stream.Collectors;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 /**
  * Manages saving and loading of world data to/from disk.
  * Handles world metadata, chunk data, and player data persistence.
@@ -24,8 +23,19 @@ public class WorldSaveManager {
     private static final String PLAYER_DATA_FILE = "player.dat";
     private static final String CHUNKS_DIRECTORY = "chunks";
     
+    // Shared pool for encoding chunks in parallel during saves
+    private static final ForkJoinPool SAVE_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    
     private final Path savesPath;
     
+    // One lock object per chunk file so concurrent saves never write the same file at once
+    private final Map<Path, Object> fileLocks = new ConcurrentHashMap<>();
+    
+    // Statistics of the most recent chunk save
+    private volatile int lastSaveChunkCount;
+    private volatile long lastSaveBytes;
+    private volatile long lastSaveDurationNanos;
+    
     public WorldSaveManager() {
         this.savesPath = Paths.get(SAVES_DIRECTORY);
         createSavesDirectory();
@@ -132,9 +142,34 @@ public class WorldSaveManager {
             // Save player data
             savePlayerData(player, worldDir.resolve(PLAYER_DATA_FILE));
             
+            // Pull chunks whose only copy of recent edits is the journal back in,
+            // so the checkpoint below can compact them into chunk files
+            BlockChangeJournal journal = world.getBlockChangeJournal();
+            boolean journalCompacted = true;
+            if (journal != null) {
+                journal.flush();
+                for (Vector4DInt chunkPos : journal.getPendingChunkPositions()) {
+                    if (!world.isChunkLoaded(chunkPos) && world.getChunk(chunkPos) == null) {
+                        journalCompacted = false;
+                    }
+                }
+            }
+            
             // Save chunks
             saveChunks(world, worldDir.resolve(CHUNKS_DIRECTORY));
             
+            // Every journaled change is now in a chunk file, start a fresh journal
+            if (journal != null) {
+                if (journalCompacted) {
+                    journal.checkpoint();
+                } else {
+                    // Some chunk files could not be read, keep their edits in the journal
+                    System.err.println("Keeping the block change journal, not every journaled chunk could be loaded");
+                }
+            } else {
+                world.setBlockChangeJournal(BlockChangeJournal.open(worldDir));
+            }
+            
             // Clear lazy loader cache after saving to ensure consistency
             if (world.getChunkLoader() != null) {
                 world.getChunkLoader().clearCache();
@@ -206,6 +241,13 @@ public class WorldSaveManager {
                 world.setChunkLoader(new LazyChunkLoader(chunksDir));
             }
             
+            // Open the block change journal so edits since the last save are replayed onto loaded chunks
+            try {
+                world.setBlockChangeJournal(BlockChangeJournal.open(worldDir));
+            } catch (IOException e) {
+                System.err.println("Failed to open block change journal, recent unsaved edits may be missing: " + e.getMessage());
+            }
+            
             if (progressCallback != null) {
                 progressCallback.onProgress("Loading player data...", 3, 5);
             }
@@ -276,58 +318,147 @@ public class WorldSaveManager {
     }
     
     private void saveWorldInfo(SavedWorldInfo worldInfo, Path file) throws IOException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(file))) {
-            oos.writeObject(worldInfo);
-        }
+        SaveFormat.write(file, SaveFormat.PayloadType.WORLD_INFO, worldInfo, false);
     }
     
     private SavedWorldInfo loadWorldInfo(Path file) throws IOException, ClassNotFoundException {
-        try (ObjectInputStream ois = new ObjectInputStream(Files.newInputStream(file))) {
-            return (SavedWorldInfo) ois.readObject();
-        }
+        return SaveFormat.read(file, SaveFormat.PayloadType.WORLD_INFO, SavedWorldInfo.class);
     }
     
     private void savePlayerData(Player player, Path file) throws IOException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(file))) {
-            oos.writeObject(new PlayerSaveData(player));
-        }
+        SaveFormat.write(file, SaveFormat.PayloadType.PLAYER, new PlayerSaveData(player), false);
     }
     
     private Player loadPlayerData(Path file, World world) throws IOException, ClassNotFoundException {
-        try (ObjectInputStream ois = new ObjectInputStream(Files.newInputStream(file))) {
-            PlayerSaveData saveData = (PlayerSaveData) ois.readObject();
-            return saveData.toPlayer(world);
-        }
+        PlayerSaveData saveData = SaveFormat.read(file, SaveFormat.PayloadType.PLAYER, PlayerSaveData.class);
+        return saveData.toPlayer(world);
     }
     
+    /**
+     * Saves all dirty chunks of a world.
+     * Encoding (RLE + GZIP) is independent CPU work per chunk and runs in parallel on
+     * the save pool; each chunk file is written by exactly one task at a time.
+     * 
+     * @param world The world whose chunks to save
+     * @param chunksDir The directory to write chunk files into
+     * @throws IOException If any chunk could not be saved
+     */
     private void saveChunks(World world, Path chunksDir) throws IOException {
         if (!Files.exists(chunksDir)) {
             Files.createDirectories(chunksDir);
         }
         
+        long startTime = System.nanoTime();
+        ChunkSaveEvent event = new ChunkSaveEvent();
+        event.begin();
+        
         // Sync entities from world to chunks before saving
         world.syncEntitiesToChunks();
         
-        // Get all loaded chunks from the world
+        // Get all loaded chunks from the world, only dirty chunks need saving
         Map<Vector4DInt, Chunk4D> chunks = world.getLoadedChunks();
-        
+        List<Callable<Long>> saveTasks = new ArrayList<>();
         for (Map.Entry<Vector4DInt, Chunk4D> entry : chunks.entrySet()) {
-            Vector4DInt chunkPos = entry.getKey();
-            Chunk4D chunk = entry.getValue();
-            
-            // Only save dirty chunks to improve performance
-            if (chunk.isDirty()) {
-                String chunkFileName = String.format("chunk_%d_%d_%d_%d.dat", 
-                    chunkPos.getX(), chunkPos.getY(), chunkPos.getZ(), chunkPos.getW());
-                Path chunkFile = chunksDir.resolve(chunkFileName);
-                
-                try (ObjectOutputStream oos = new ObjectOutputStream(
-                        new GZIPOutputStream(Files.newOutputStream(chunkFile)))) {
-                    oos.writeObject(new ChunkSaveData(chunk));
-                    chunk.markClean(); // Mark as clean after saving
-                }
+            if (entry.getValue().isDirty()) {
+                saveTasks.add(() -> saveChunk(entry.getKey(), entry.getValue(), chunksDir));
+            }
+        }
+        
+        if (saveTasks.isEmpty()) {
+            return;
+        }
+        
+        long totalBytes = 0;
+        int savedChunks = 0;
+        int failedChunks = 0;
+        for (Future<Long> result : SAVE_POOL.invokeAll(saveTasks)) {
+            try {
+                totalBytes += result.get();
+                savedChunks++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Chunk save interrupted", e);
+            } catch (ExecutionException e) {
+                failedChunks++;
+                System.err.println("Failed to save chunk: " + e.getCause().getMessage());
             }
         }
+        
+        long durationNanos = System.nanoTime() - startTime;
+        event.end();
+        if (event.shouldCommit()) {
+            event.chunks = savedChunks;
+            event.failedChunks = failedChunks;
+            event.bytes = totalBytes;
+            event.threads = SAVE_POOL.getParallelism();
+            event.commit();
+        }
+        lastSaveChunkCount = savedChunks;
+        lastSaveBytes = totalBytes;
+        lastSaveDurationNanos = durationNanos;
+        
+        double seconds = Math.max(durationNanos, 1) / 1_000_000_000.0;
+        System.out.println(String.format("Saved %d chunks (%.2f MB) in %.1f ms: %.0f chunks/s, %.2f MB/s using %d threads",
+            savedChunks, totalBytes / (1024.0 * 1024.0), durationNanos / 1_000_000.0,
+            savedChunks / seconds, totalBytes / (1024.0 * 1024.0) / seconds, SAVE_POOL.getParallelism()));
+        
+        if (failedChunks > 0) {
+            throw new IOException(failedChunks + " chunk(s) could not be saved");
+        }
+    }
+    
+    /**
+     * Encodes and writes a single chunk. The chunk is written to a temporary file first
+     * and then moved over the old file, so an interrupted save never leaves a half-written chunk.
+     * 
+     * @param chunkPos The chunk position
+     * @param chunk The chunk to save
+     * @param chunksDir The directory to write the chunk file into
+     * @return The number of bytes written
+     * @throws IOException If encoding or writing fails
+     */
+    private long saveChunk(Vector4DInt chunkPos, Chunk4D chunk, Path chunksDir) throws IOException {
+        // Encode on the calling pool thread
+        byte[] data = SaveFormat.encode(SaveFormat.PayloadType.CHUNK, new ChunkSaveData(chunk), true);
+        
+        String chunkFileName = String.format("chunk_%d_%d_%d_%d.dat", 
+            chunkPos.getX(), chunkPos.getY(), chunkPos.getZ(), chunkPos.getW());
+        Path chunkFile = chunksDir.resolve(chunkFileName);
+        
+        // Only one writer per chunk file, even if two saves overlap
+        synchronized (fileLocks.computeIfAbsent(chunkFile, k -> new Object())) {
+            SaveFormat.writeAtomically(chunkFile, data);
+        }
+        
+        chunk.markClean(); // Mark as clean after saving
+        return data.length;
+    }
+    
+    /**
+     * Gets the number of chunks written by the most recent save.
+     * 
+     * @return The chunk count
+     */
+    public int getLastSaveChunkCount() {
+        return lastSaveChunkCount;
+    }
+    
+    /**
+     * Gets the number of compressed chunk bytes written by the most recent save.
+     * 
+     * @return The byte count
+     */
+    public long getLastSaveBytes() {
+        return lastSaveBytes;
+    }
+    
+    /**
+     * Gets how long the chunk phase of the most recent save took.
+     * 
+     * @return The duration in nanoseconds
+     */
+    public long getLastSaveDurationNanos() {
+        return lastSaveDurationNanos;
     }
     
     /**
@@ -351,12 +482,9 @@ public class WorldSaveManager {
                             
                             Vector4DInt chunkPos = new Vector4DInt(x, y, z, w);
                             
-                            try (ObjectInputStream ois = new ObjectInputStream(
-                                    new GZIPInputStream(Files.newInputStream(chunkFile)))) {
-                                 ChunkSaveData saveData = (ChunkSaveData) ois.readObject();
-                                 Chunk4D chunk = saveData.toChunk();
-                                 world.setChunk(chunkPos, chunk);
-                            }
+                            ChunkSaveData saveData = SaveFormat.read(chunkFile, SaveFormat.PayloadType.CHUNK, ChunkSaveData.class);
+                            Chunk4D chunk = saveData.toChunk();
+                            world.setChunk(chunkPos, chunk);
                         }
                     } catch (Exception e) {
                         System.err.println("Failed to load chunk from " + chunkFile + ": " + e.getMessage());
@@ -417,20 +545,20 @@ public class WorldSaveManager {
         ExecutorService executor = Executors.newFixedThreadPool(numThreads);
         
         try {
-            List<Future<Void>> futures = new ArrayList<>();
+            List<Future<Chunk4D>> futures = new ArrayList<>();
             
             for (Vector4DInt chunkPos : chunksToLoad) {
-                Future<Void> future = executor.submit(() -> {
-                    loadSingleChunk(world, chunkPos, chunksDir);
-                    return null;
-                });
-                futures.add(future);
+                futures.add(executor.submit(() -> loadSingleChunk(world, chunkPos)));
             }
             
-            // Wait for all chunks to load
-            for (Future<Void> future : futures) {
+            // Wait for all chunks to load, and install them on this thread, which owns the world
+            for (int i = 0; i < futures.size(); i++) {
+                Future<Chunk4D> future = futures.get(i);
                 try {
-                    future.get(5, TimeUnit.SECONDS); // 5 second timeout per chunk
+                    Chunk4D chunk = future.get(5, TimeUnit.SECONDS); // 5 second timeout per chunk
+                    if (chunk != null) {
+                        world.setChunk(chunksToLoad.get(i), chunk);
+                    }
                 } catch (TimeoutException e) {
                     System.err.println("Chunk loading timed out");
                     future.cancel(true);
@@ -457,26 +585,25 @@ public class WorldSaveManager {
     }
     
     /**
-     * Loads a single chunk from disk if it exists.
+     * Reads a single chunk from disk if it exists, without installing it in the world.
      * 
-     * @param world The world to load the chunk into
+     * @param world The world the chunk belongs to
      * @param chunkPos The position of the chunk to load
-     * @param chunksDir The directory containing chunk files
+     * @return The chunk, or null if it is not saved or could not be read
      */
-    private void loadSingleChunk(World world, Vector4DInt chunkPos, Path chunksDir) {
-        String chunkFileName = String.format("chunk_%d_%d_%d_%d.dat", 
-            chunkPos.getX(), chunkPos.getY(), chunkPos.getZ(), chunkPos.getW());
-        Path chunkFile = chunksDir.resolve(chunkFileName);
+    private Chunk4D loadSingleChunk(World world, Vector4DInt chunkPos) {
+        // Go through the world's lazy loader so damaged files are verified and quarantined the same way
+        LazyChunkLoader chunkLoader = world.getChunkLoader();
+        if (chunkLoader == null || !chunkLoader.chunkExists(chunkPos)) {
+            return null;
+        }
         
-        if (Files.exists(chunkFile)) {
-            try (ObjectInputStream ois = new ObjectInputStream(
-                new GZIPInputStream(Files.newInputStream(chunkFile)))) {
-            ChunkSaveData saveData = (ChunkSaveData) ois.readObject();
-            Chunk4D chunk = saveData.toChunk();
-            world.setChunk(chunkPos, chunk);
-        } catch (Exception e) {
-                System.err.println("Failed to load chunk from " + chunkFile + ": " + e.getMessage());
-            }
+        try {
+            return chunkLoader.loadChunk(chunkPos);
+        } catch (UncheckedIOException e) {
+            // Left unloaded, the world reads it again once it is needed
+            System.err.println("Failed to load chunk " + chunkPos + ": " + e.getMessage());
+            return null;
         }
     }
     
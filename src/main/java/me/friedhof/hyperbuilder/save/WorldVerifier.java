@@ -0,0 +1,147 @@
+package me.friedhof.hyperbuilder.save;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Offline integrity check for a saved world directory.
+ *
+ * Every file is checked in parallel across all cores. By default only the container
+ * header and the CRC32C payload checksum are verified, which reads each file once and
+ * never deserializes it. With {@code --deep} the payload is also deserialized, which
+ * catches damage in files that predate checksums. With {@code --quarantine} damaged
+ * chunk files are moved aside exactly as the game does when it meets them.
+ *
+ * Usage: {@code java me.friedhof.hyperbuilder.save.WorldVerifier [--deep] [--quarantine] <world directory or world name>}
+ */
+public class WorldVerifier {
+    private final Path worldDir;
+    private final boolean deep;
+    private final boolean quarantineDamaged;
+    private final int parallelism;
+
+    private final List<String> problems = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger filesChecked = new AtomicInteger();
+    private final AtomicInteger filesWithoutChecksum = new AtomicInteger();
+    private final AtomicLong bytesChecked = new AtomicLong();
+
+    /**
+     * Creates a verifier for a world directory.
+     *
+     * @param worldDir The world directory (containing world.dat)
+     * @param deep Whether to deserialize payloads as well
+     * @param quarantineDamaged Whether to move damaged chunk files into the quarantine directory
+     */
+    public WorldVerifier(Path worldDir, boolean deep, boolean quarantineDamaged) {
+        this.worldDir = worldDir;
+        this.deep = deep;
+        this.quarantineDamaged = quarantineDamaged;
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Verifies all files of the world.
+     *
+     * @return true if no damaged file was found
+     * @throws IOException If the world directory cannot be listed
+     */
+    public boolean verify() throws IOException {
+        long startTime = System.nanoTime();
+        try {
+            WorldFiles.forEachFile(worldDir, parallelism, this::verifyFile);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        double seconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+        System.out.println(String.format("Verified %d files (%.2f MB) in %.2f s, %d damaged, %d without checksum%s",
+            filesChecked.get(), bytesChecked.get() / (1024.0 * 1024.0), seconds, problems.size(),
+            filesWithoutChecksum.get(), filesWithoutChecksum.get() > 0 ? " (run WorldMigrator to add checksums)" : ""));
+        for (String problem : problems) {
+            System.out.println("  " + problem);
+        }
+        return problems.isEmpty();
+    }
+
+    /**
+     * Gets the damaged files found by the last run.
+     *
+     * @return A copy of the problem descriptions
+     */
+    public List<String> getProblems() {
+        synchronized (problems) {
+            return new ArrayList<>(problems);
+        }
+    }
+
+    /**
+     * Verifies one file and records any damage.
+     */
+    private void verifyFile(Path file, SaveFormat.PayloadType type) {
+        try {
+            byte[] data = Files.readAllBytes(file);
+            bytesChecked.addAndGet(data.length);
+
+            boolean checksummed = SaveFormat.verify(data, type);
+            if (!checksummed) {
+                filesWithoutChecksum.incrementAndGet();
+            }
+            if (deep || !checksummed) {
+                SaveFormat.deserialize(SaveFormat.readPayload(data, type));
+            }
+        } catch (Exception e) {
+            String problem = worldDir.relativize(file) + ": " + e;
+            if (quarantineDamaged && type == SaveFormat.PayloadType.CHUNK) {
+                problem += " -> " + LazyChunkLoader.quarantine(file);
+            }
+            problems.add(problem);
+        } finally {
+            filesChecked.incrementAndGet();
+        }
+    }
+
+    /**
+     * Command line entry point.
+     *
+     * @param args Optional flags followed by the world directory or the name of a world inside the saves directory
+     */
+    public static void main(String[] args) {
+        boolean deep = false;
+        boolean quarantine = false;
+        String target = null;
+        for (String arg : args) {
+            if ("--deep".equals(arg)) {
+                deep = true;
+            } else if ("--quarantine".equals(arg)) {
+                quarantine = true;
+            } else {
+                target = arg;
+            }
+        }
+
+        if (target == null) {
+            System.err.println("Usage: WorldVerifier [--deep] [--quarantine] <world directory or world name>");
+            System.exit(2);
+        }
+
+        Path worldDir = WorldFiles.resolveWorldDirectory(target);
+        if (worldDir == null) {
+            System.err.println("World directory not found: " + target);
+            System.exit(2);
+        }
+
+        try {
+            boolean intact = new WorldVerifier(worldDir, deep, quarantine).verify();
+            System.exit(intact ? 0 : 1);
+        } catch (IOException e) {
+            System.err.println("Verification failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}